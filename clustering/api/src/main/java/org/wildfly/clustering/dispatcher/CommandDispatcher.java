@@ -22,7 +22,10 @@
 package org.wildfly.clustering.dispatcher;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import org.wildfly.clustering.group.Node;
 
@@ -84,6 +87,28 @@ public interface CommandDispatcher<C> extends AutoCloseable {
      */
     <R> Map<Node, Future<R>> submitOnCluster(Command<R, ? super C> command, Node... excludedNodes) throws CommandDispatcherException;
 
+    /**
+     * Submits the specified command on all nodes in the group, excluding the specified nodes,
+     * notifying the specified listener of the response of each node as soon as it is received.
+     * Unlike {@link #executeOnCluster(Command, Node...)}, the caller need not wait for the slowest node,
+     * since the returned stage completes as soon as the specified number of responses were received.
+     * If fewer responses were received once the timeout of this dispatcher elapses, the returned stage completes with those.
+     * The listener may be invoked by a transport thread, thus it should neither block nor throw.
+     *
+     * @param <R>           the return value type
+     * @param command       the command to execute
+     * @param responses     the number of responses upon which the returned stage completes, or a non-positive value to await the responses of all nodes
+     * @param listener      the listener to notify of the response of each node
+     * @param excludedNodes the set of nodes to exclude
+     * @return a stage that completes with the command execution results received so far, per node
+     * @throws CommandDispatcherException if the command could not be broadcast
+     */
+    default <R> CompletionStage<Map<Node, CommandResponse<R>>> submitOnCluster(Command<R, ? super C> command, int responses, BiConsumer<Node, CommandResponse<R>> listener, Node... excludedNodes) throws CommandDispatcherException {
+        Map<Node, CommandResponse<R>> results = this.executeOnCluster(command, excludedNodes);
+        results.forEach(listener);
+        return CompletableFuture.completedFuture(results);
+    }
+
     /**
      * Closes any resources used by this dispatcher.
      * Once closed, a dispatcher can no longer execute commands.
@@ -29,11 +29,15 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import org.jgroups.Address;
 import org.jgroups.Message;
@@ -187,6 +191,51 @@ public class ChannelCommandDispatcher<C> implements CommandDispatcher<C> {
         }
     }
 
+    @Override
+    public <R> CompletionStage<Map<Node, CommandResponse<R>>> submitOnCluster(Command<R, ? super C> command, int responses, BiConsumer<Node, CommandResponse<R>> listener, Node... excludedNodes) throws CommandDispatcherException {
+        Map<Node, CommandResponse<R>> results = new ConcurrentHashMap<>();
+        CompletableFuture<Map<Node, CommandResponse<R>>> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger((responses > 0) ? responses : Integer.MAX_VALUE);
+        // Responses are observed via the filter, which is invoked upon receipt of each response
+        RspFilter filter = new RspFilter() {
+            @Override
+            public boolean isAcceptable(Object response, Address sender) {
+                if (response instanceof NoSuchService) return false;
+                Node node = ChannelCommandDispatcher.this.factory.createNode(sender);
+                @SuppressWarnings("unchecked")
+                CommandResponse<R> commandResponse = (response instanceof Throwable) ? new SimpleCommandResponse<>((Throwable) response) : new SimpleCommandResponse<>((R) response);
+                results.put(node, commandResponse);
+                listener.accept(node, commandResponse);
+                remaining.decrementAndGet();
+                return true;
+            }
+
+            @Override
+            public boolean needMoreResponses() {
+                return remaining.get() > 0;
+            }
+        };
+        // Invoked once enough responses were received, or once all nodes responded or were suspected
+        FutureListener<RspList<R>> futureListener = future -> result.complete(results);
+        Message message = this.createMessage(command);
+        RequestOptions options = this.createRequestOptions(excludedNodes).setRspFilter(filter);
+        try {
+            Future<RspList<R>> request = this.dispatcher.castMessageWithFuture(null, message, options, futureListener);
+            if (this.timeout > 0) {
+                // The future of an asynchronous request does not apply the request timeout, so complete with the responses received so far once it elapses
+                Future<?> timeoutFuture = this.dispatcher.getChannel().getProtocolStack().getTransport().getTimer().schedule(() -> {
+                    if (result.complete(new HashMap<>(results))) {
+                        request.cancel(true);
+                    }
+                }, this.timeout, TimeUnit.MILLISECONDS);
+                result.whenComplete((value, exception) -> timeoutFuture.cancel(false));
+            }
+            return result;
+        } catch (Exception e) {
+            throw new CommandDispatcherException(e);
+        }
+    }
+
     @Override
     public <R> CommandResponse<R> executeOnNode(Command<R, ? super C> command, Node node) throws CommandDispatcherException {
         // Bypass MessageDispatcher if target node is local
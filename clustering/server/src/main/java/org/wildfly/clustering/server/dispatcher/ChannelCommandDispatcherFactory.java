@@ -84,9 +84,13 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         return new ClassLoaderThreadFactory(WildFlySecurityManager.doUnchecked(action), targetClass.getClassLoader());
     }
 
+    // Marshalling version as of which commands are written via a CommandExternalizerTable
+    private static final int EXTERNALIZED_COMMAND_VERSION = ChannelCommandDispatcherFactoryBuilder.MarshallingVersion.VERSION_3.ordinal() + 1;
+
     private final ConcurrentMap<Address, Node> members = new ConcurrentHashMap<>();
     // Store execution context using an Optional so we can differentiate an unknown service from a known service with a null context
     private final Map<Object, Optional<Object>> contexts = new ConcurrentHashMap<>();
+    private final Map<Object, CommandExternalizerTable> tables = new ConcurrentHashMap<>();
     private final ServiceExecutor executor = new StampedLockServiceExecutor();
     private final Map<GroupListener, ExecutorService> listeners = new ConcurrentHashMap<>();
     private final AtomicReference<View> view = new AtomicReference<>();
@@ -135,9 +139,10 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
                 unmarshaller.start(Marshalling.createByteInput(input));
                 Object clientId = unmarshaller.readObject();
                 Optional<Object> context = this.contexts.get(clientId);
-                if (context == null) return NoSuchService.INSTANCE;
+                CommandExternalizerTable table = this.tables.get(clientId);
+                if ((context == null) || (table == null)) return NoSuchService.INSTANCE;
                 @SuppressWarnings("unchecked")
-                Command<Object, Object> command = (Command<Object, Object>) unmarshaller.readObject();
+                Command<Object, Object> command = (Command<Object, Object>) ((version < EXTERNALIZED_COMMAND_VERSION) ? unmarshaller.readObject() : table.readCommand(unmarshaller));
                 // Wrap execution result in an Optional, since command execution might return null
                 ExceptionSupplier<Optional<Object>, Exception> task = () -> Optional.ofNullable(command.execute(context.orElse(null)));
                 return this.executor.execute(task).orElse(Optional.of(NoSuchService.INSTANCE)).orElse(null);
@@ -155,11 +160,15 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         if (this.contexts.putIfAbsent(id, Optional.ofNullable(context)) != null) {
             throw ClusteringServerLogger.ROOT_LOGGER.commandDispatcherAlreadyExists(id);
         }
-        CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshallingContext, id);
+        // Externalizers of the commands of this dispatcher are loaded from the module of its execution context
+        CommandExternalizerTable table = (context != null) ? new CommandExternalizerTable(WildFlySecurityManager.getClassLoaderPrivileged(context.getClass())) : new CommandExternalizerTable();
+        this.tables.put(id, table);
+        CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshallingContext, id, table);
         CommandDispatcher<C> localDispatcher = new LocalCommandDispatcher<>(this.getLocalMember(), context);
         return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, this, this.timeout, localDispatcher, () -> {
             localDispatcher.close();
             this.contexts.remove(id);
+            this.tables.remove(id);
         });
     }
 
@@ -82,8 +82,15 @@ public class ChannelCommandDispatcherFactoryBuilder implements CapabilityService
                 return config;
             }
         },
+        // Same configuration as VERSION_2, but commands with an externalizer are written via a CommandExternalizerTable
+        VERSION_3() {
+            @Override
+            public MarshallingConfiguration apply(MarshallingConfigurationContext context) {
+                return VERSION_2.apply(context);
+            }
+        },
         ;
-        static final MarshallingVersion CURRENT = VERSION_2;
+        static final MarshallingVersion CURRENT = VERSION_3;
     }
 
     private final InjectedValue<ModuleLoader> loader = new InjectedValue<>();
@@ -39,10 +39,12 @@ public class CommandDispatcherMarshaller<C> implements CommandMarshaller<C> {
 
     private final MarshallingContext context;
     private final Object id;
+    private final CommandExternalizerTable table;
 
-    public CommandDispatcherMarshaller(MarshallingContext context, Object id) {
+    public CommandDispatcherMarshaller(MarshallingContext context, Object id, CommandExternalizerTable table) {
         this.context = context;
         this.id = id;
+        this.table = table;
     }
 
     @Override
@@ -54,7 +56,7 @@ public class CommandDispatcherMarshaller<C> implements CommandMarshaller<C> {
             try (Marshaller marshaller = this.context.createMarshaller(version)) {
                 marshaller.start(Marshalling.createByteOutput(output));
                 marshaller.writeObject(this.id);
-                marshaller.writeObject(command);
+                this.table.writeCommand(marshaller, command);
                 marshaller.flush();
             }
             return bytes.toByteArray();
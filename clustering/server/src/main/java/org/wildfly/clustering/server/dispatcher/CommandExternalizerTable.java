@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.stream.StreamSupport;
+
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.IndexSerializer;
+import org.wildfly.clustering.marshalling.spi.IntSerializer;
+
+/**
+ * Indexes the {@link Externalizer}s of commands sent by a given command dispatcher, i.e. those externalizers, loaded from the class loader of its command execution context, whose target class is a {@link Command}.
+ * A command with an externalizer is written as its index followed by its externalized form, omitting any class descriptor.
+ * Any other command is written as index 0, followed by the command itself, as written by the marshaller.
+ */
+public class CommandExternalizerTable {
+
+    private final Externalizer<Command<?, ?>>[] externalizers;
+    private final Map<Class<?>, Integer> indexes = new IdentityHashMap<>();
+    private final IntSerializer indexSerializer;
+
+    @SuppressWarnings("unchecked")
+    public CommandExternalizerTable(ClassLoader loader) {
+        this(StreamSupport.stream(ServiceLoader.load(Externalizer.class, loader).spliterator(), false)
+                .filter(externalizer -> Command.class.isAssignableFrom(externalizer.getTargetClass()))
+                .toArray(Externalizer[]::new));
+    }
+
+    @SafeVarargs
+    public CommandExternalizerTable(Externalizer<Command<?, ?>>... externalizers) {
+        this.externalizers = externalizers;
+        // Reserve index 0 for commands without an externalizer
+        this.indexSerializer = IndexSerializer.select(externalizers.length + 1);
+        for (int i = 0; i < externalizers.length; ++i) {
+            this.indexes.putIfAbsent(externalizers[i].getTargetClass(), i + 1);
+        }
+    }
+
+    /**
+     * Writes the specified command to the specified output.
+     * @param output an object output
+     * @param command a command
+     * @throws IOException if the command could not be written
+     */
+    public void writeCommand(ObjectOutput output, Command<?, ?> command) throws IOException {
+        Integer index = this.indexes.get(command.getClass());
+        if (index != null) {
+            this.indexSerializer.writeInt(output, index);
+            this.externalizers[index - 1].writeObject(output, command);
+        } else {
+            this.indexSerializer.writeInt(output, 0);
+            output.writeObject(command);
+        }
+    }
+
+    /**
+     * Reads a command, written via {@link #writeCommand(ObjectOutput, Command)}, from the specified input.
+     * @param input an object input
+     * @return a command
+     * @throws IOException if the command could not be read
+     * @throws ClassNotFoundException if the class of the command could not be resolved
+     */
+    public Command<?, ?> readCommand(ObjectInput input) throws IOException, ClassNotFoundException {
+        int index = this.indexSerializer.readInt(input);
+        if (index > this.externalizers.length) {
+            throw new IllegalStateException();
+        }
+        return (index > 0) ? this.externalizers[index - 1].readObject(input) : (Command<?, ?>) input.readObject();
+    }
+}
@@ -23,7 +23,9 @@
 package org.wildfly.clustering.server.dispatcher;
 
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
@@ -69,6 +71,11 @@ public class ManagedCommandDispatcher<C> implements CommandDispatcher<C> {
         return this.dispatcher.submitOnCluster(command, excludedNodes);
     }
 
+    @Override
+    public <R> CompletionStage<Map<Node, CommandResponse<R>>> submitOnCluster(Command<R, ? super C> command, int responses, BiConsumer<Node, CommandResponse<R>> listener, Node... excludedNodes) throws CommandDispatcherException {
+        return this.dispatcher.submitOnCluster(command, responses, listener, excludedNodes);
+    }
+
     @Override
     public void close() {
         this.closeTask.run();
@@ -22,7 +22,10 @@
 
 package org.wildfly.clustering.server.singleton;
 
+import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.ValueExternalizer;
 
 /**
  * Command to start a singleton service.
@@ -36,4 +39,11 @@ public class StartCommand<T> implements Command<Void, SingletonContext<T>> {
         context.start();
         return null;
     }
+
+    @MetaInfServices(Externalizer.class)
+    public static class StartCommandExternalizer extends ValueExternalizer<StartCommand<Object>> {
+        public StartCommandExternalizer() {
+            super(new StartCommand<>());
+        }
+    }
 }
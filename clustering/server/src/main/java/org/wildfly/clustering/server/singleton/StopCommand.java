@@ -22,7 +22,10 @@
 
 package org.wildfly.clustering.server.singleton;
 
+import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.ValueExternalizer;
 
 /**
  * Command to stop a singleton service.
@@ -36,4 +39,11 @@ public class StopCommand<T> implements Command<Void, SingletonContext<T>> {
         context.stop();
         return null;
     }
+
+    @MetaInfServices(Externalizer.class)
+    public static class StopCommandExternalizer extends ValueExternalizer<StopCommand<Object>> {
+        public StopCommandExternalizer() {
+            super(new StopCommand<>());
+        }
+    }
 }
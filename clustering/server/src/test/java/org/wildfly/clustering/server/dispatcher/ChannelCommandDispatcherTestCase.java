@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jgroups.Address;
+import org.jgroups.Channel;
+import org.jgroups.Message;
+import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RspFilter;
+import org.jgroups.protocols.TP;
+import org.jgroups.stack.ProtocolStack;
+import org.jgroups.util.FutureListener;
+import org.jgroups.util.NotifyingFuture;
+import org.jgroups.util.RspList;
+import org.jgroups.util.TimeScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.dispatcher.CommandResponse;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.spi.NodeFactory;
+
+/**
+ * Unit test for the streaming {@link ChannelCommandDispatcher#submitOnCluster(Command, int, java.util.function.BiConsumer, Node...)}.
+ */
+public class ChannelCommandDispatcherTestCase {
+
+    private static final long TIMEOUT = 1000L;
+
+    private final MessageDispatcher dispatcher = mock(MessageDispatcher.class);
+    private final CommandMarshaller<Object> marshaller = mock(CommandMarshaller.class);
+    private final NodeFactory<Address> factory = mock(NodeFactory.class);
+    private final TimeScheduler timer = mock(TimeScheduler.class);
+    private final Future<?> timeoutFuture = mock(Future.class);
+    private final NotifyingFuture<RspList<String>> request = mock(NotifyingFuture.class);
+    private final Command<String, Object> command = mock(Command.class);
+    private final Address[] addresses = new Address[] { mock(Address.class), mock(Address.class), mock(Address.class) };
+    private final Node[] nodes = new Node[] { mock(Node.class), mock(Node.class), mock(Node.class) };
+    private final Map<Node, CommandResponse<String>> received = new ConcurrentHashMap<>();
+
+    private ChannelCommandDispatcher<Object> subject;
+
+    @Before
+    public void init() throws Exception {
+        Channel channel = mock(Channel.class);
+        ProtocolStack stack = mock(ProtocolStack.class);
+        TP transport = mock(TP.class);
+
+        when(this.dispatcher.getChannel()).thenReturn(channel);
+        when(channel.getAddress()).thenReturn(mock(Address.class));
+        when(channel.getProtocolStack()).thenReturn(stack);
+        when(stack.getTransport()).thenReturn(transport);
+        when(transport.getTimer()).thenReturn(this.timer);
+        doReturn(this.timeoutFuture).when(this.timer).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        doReturn(this.request).when(this.dispatcher).castMessageWithFuture(any(), any(Message.class), any(RequestOptions.class), any(FutureListener.class));
+        when(this.marshaller.marshal(this.command)).thenReturn(new byte[0]);
+        for (int i = 0; i < this.addresses.length; ++i) {
+            when(this.factory.createNode(this.addresses[i])).thenReturn(this.nodes[i]);
+        }
+
+        this.subject = new ChannelCommandDispatcher<>(this.dispatcher, this.marshaller, this.factory, TIMEOUT, mock(CommandDispatcher.class), mock(Runnable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Map<Node, CommandResponse<String>>> submit(int responses, ArgumentCaptor<RequestOptions> options, ArgumentCaptor<FutureListener> listener) throws Exception {
+        CompletableFuture<Map<Node, CommandResponse<String>>> result = this.subject.submitOnCluster(this.command, responses, this.received::put).toCompletableFuture();
+        verify(this.dispatcher).castMessageWithFuture(any(), any(Message.class), options.capture(), listener.capture());
+        return result;
+    }
+
+    @Test
+    public void quorum() throws Exception {
+        ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+        ArgumentCaptor<FutureListener> listener = ArgumentCaptor.forClass(FutureListener.class);
+        CompletableFuture<Map<Node, CommandResponse<String>>> result = this.submit(2, options, listener);
+        RspFilter filter = options.getValue().getRspFilter();
+
+        // nodes on which the service is not installed neither count nor are delivered
+        assertFalse(filter.isAcceptable(NoSuchService.INSTANCE, this.addresses[0]));
+        assertTrue(filter.needMoreResponses());
+        assertTrue(this.received.isEmpty());
+
+        // each response is delivered to the listener upon receipt
+        assertTrue(filter.isAcceptable("response", this.addresses[1]));
+        assertEquals("response", this.received.get(this.nodes[1]).get());
+        assertTrue(filter.needMoreResponses());
+        assertFalse(result.isDone());
+
+        assertTrue(filter.isAcceptable(new IllegalStateException(), this.addresses[2]));
+        assertNotNull(this.received.get(this.nodes[2]));
+        // the quorum is reached, so the request ends without awaiting further responses
+        assertFalse(filter.needMoreResponses());
+
+        listener.getValue().futureDone(this.request);
+
+        Map<Node, CommandResponse<String>> responses = result.getNow(null);
+        assertNotNull(responses);
+        assertEquals(2, responses.size());
+        assertFalse(responses.containsKey(this.nodes[0]));
+        assertEquals("response", responses.get(this.nodes[1]).get());
+        try {
+            responses.get(this.nodes[2]).get();
+            fail("Response should have been an exception");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        // the timeout no longer applies
+        verify(this.timeoutFuture).cancel(false);
+        verify(this.request, never()).cancel(anyBoolean());
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+        ArgumentCaptor<FutureListener> listener = ArgumentCaptor.forClass(FutureListener.class);
+        CompletableFuture<Map<Node, CommandResponse<String>>> result = this.submit(0, options, listener);
+        RspFilter filter = options.getValue().getRspFilter();
+
+        assertTrue(filter.isAcceptable("response", this.addresses[0]));
+        assertTrue(filter.needMoreResponses());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(this.timer).schedule(task.capture(), eq(TIMEOUT), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+
+        // the stage completes with the responses received so far, and the request is abandoned
+        Map<Node, CommandResponse<String>> responses = result.getNow(null);
+        assertNotNull(responses);
+        assertEquals(1, responses.size());
+        assertEquals("response", responses.get(this.nodes[0]).get());
+        verify(this.request).cancel(true);
+    }
+
+    @Test
+    public void failure() throws Exception {
+        doThrow(new IllegalStateException()).when(this.dispatcher).castMessageWithFuture(any(), any(Message.class), any(RequestOptions.class), any(FutureListener.class));
+        try {
+            this.subject.submitOnCluster(this.command, 1, this.received::put);
+            fail("Submission should have failed");
+        } catch (CommandDispatcherException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        verifyZeroInteractions(this.timer);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.server.singleton.StartCommand;
+import org.wildfly.clustering.server.singleton.StopCommand;
+
+/**
+ * Unit test for {@link CommandExternalizerTable}.
+ */
+public class CommandExternalizerTableTestCase {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test() throws IOException, ClassNotFoundException {
+        Externalizer<?> externalizer = new StartCommand.StartCommandExternalizer();
+        CommandExternalizerTable table = new CommandExternalizerTable((Externalizer<Command<?, ?>>) externalizer);
+
+        // Command with an externalizer
+        byte[] externalized = write(table, new StartCommand<>());
+        assertTrue(read(table, externalized) instanceof StartCommand);
+
+        // Command without an externalizer falls back to the object output
+        byte[] serialized = write(table, new StopCommand<>());
+        assertTrue(read(table, serialized) instanceof StopCommand);
+
+        assertTrue(externalized.length < serialized.length);
+    }
+
+    private static byte[] write(CommandExternalizerTable table, Command<?, ?> command) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            table.writeCommand(output, command);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Command<?, ?> read(CommandExternalizerTable table, byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return table.readCommand(input);
+        }
+    }
+}
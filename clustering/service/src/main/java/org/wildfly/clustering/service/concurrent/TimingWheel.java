@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.service.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Schedules the expiration of keys using a hashed timing wheel, whose buckets are swept by a single periodic task.
+ * Scheduling and canceling the expiration of a key are O(1), and all keys expiring within the same tick are expired
+ * as a batch by the sweeping thread. Expiration happens at the first tick after the requested delay, so the tick
+ * duration determines the precision of the expiration.
+ * @param <K> the key type
+ */
+public class TimingWheel<K> implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(TimingWheel.class);
+
+    private final Map<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    private final Bucket<K>[] buckets;
+    private final int mask;
+    private final long tickNanos;
+    private final long start = System.nanoTime();
+    private final Consumer<K> expirationTask;
+    private final Future<?> sweeper;
+    // Held for the duration of a sweep, so that close() can await an in-flight sweep
+    private final Object sweepLock = new Object();
+    private volatile boolean closed = false;
+    // Only accessed by the sweeping thread
+    private long currentTick = 0;
+
+    /**
+     * Creates a timing wheel and starts sweeping its buckets.
+     * @param executor the executor on which buckets are swept
+     * @param tick the tick duration
+     * @param unit the unit of the tick duration
+     * @param size the number of buckets, rounded up to a power of two
+     * @param expirationTask the task to run for each expired key
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(ScheduledExecutorService executor, long tick, TimeUnit unit, int size, Consumer<K> expirationTask) {
+        int buckets = Integer.highestOneBit(Math.max(size, 1));
+        if (buckets < size) {
+            buckets <<= 1;
+        }
+        this.buckets = new Bucket[buckets];
+        for (int i = 0; i < buckets; ++i) {
+            this.buckets[i] = new Bucket<>();
+        }
+        this.mask = buckets - 1;
+        this.tickNanos = Math.max(unit.toNanos(tick), 1L);
+        this.expirationTask = expirationTask;
+        this.sweeper = executor.scheduleAtFixedRate(this::sweep, this.tickNanos, this.tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Schedules the expiration of the specified key, replacing any previously scheduled expiration of that key.
+     * @param key a key
+     * @param delay the time after which the key expires
+     * @param unit the unit of the delay
+     */
+    public void schedule(K key, long delay, TimeUnit unit) {
+        Entry<K> entry = new Entry<>(key);
+        Entry<K> previous = this.entries.put(key, entry);
+        if (previous != null) {
+            previous.unlink();
+        }
+        long deadline = (System.nanoTime() - this.start) + unit.toNanos(delay);
+        // Round up, so that a key never expires before its delay
+        long tick = Math.max((deadline + this.tickNanos - 1) / this.tickNanos, 1L);
+        for (;;) {
+            Bucket<K> bucket = this.buckets[(int) (tick & this.mask)];
+            synchronized (bucket) {
+                if (bucket.sweptTick < tick) {
+                    entry.tick = tick;
+                    bucket.link(entry);
+                    return;
+                }
+                // The sweeping thread already passed this tick, expire on the next one
+                tick = bucket.sweptTick + 1;
+            }
+        }
+    }
+
+    /**
+     * Cancels the scheduled expiration of the specified key.
+     * @param key a key
+     * @return true, if an expiration was canceled, false if none was scheduled or the key already expired
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = this.entries.remove(key);
+        if (entry != null) {
+            entry.unlink();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of keys whose expiration is pending.
+     * @return the number of scheduled expirations
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the keys whose expiration is pending.
+     * @return an unmodifiable view of the scheduled keys
+     */
+    public Set<K> getScheduledKeys() {
+        return Collections.unmodifiableSet(this.entries.keySet());
+    }
+
+    /**
+     * Stops sweeping and cancels all pending expirations.
+     * If a sweep is in progress, this method returns once that sweep completed, so that no key expires afterwards.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.sweeper.cancel(false);
+        // The executor is not owned by this wheel, so wait for an in-flight sweep rather than for the executor to terminate
+        synchronized (this.sweepLock) {
+            for (K key : this.entries.keySet()) {
+                this.cancel(key);
+            }
+        }
+    }
+
+    private void sweep() {
+        synchronized (this.sweepLock) {
+            long now = (System.nanoTime() - this.start) / this.tickNanos;
+            while (!this.closed && (this.currentTick < now)) {
+                this.currentTick += 1;
+                for (K key : this.expire(this.currentTick)) {
+                    // Remaining keys of this tick are left to close()
+                    if (this.closed) return;
+                    try {
+                        this.expirationTask.accept(key);
+                    } catch (RuntimeException e) {
+                        // An escaping exception would silently cancel all subsequent sweeps
+                        LOGGER.warn(e.getLocalizedMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<K> expire(long tick) {
+        Bucket<K> bucket = this.buckets[(int) (tick & this.mask)];
+        List<K> expired = new ArrayList<>();
+        synchronized (bucket) {
+            Entry<K> entry = bucket.head;
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                // Entries of later rounds stay in the bucket
+                if (entry.tick <= tick) {
+                    bucket.unlink(entry);
+                    // Skip entries that were canceled or rescheduled meanwhile
+                    if (this.entries.remove(entry.key, entry)) {
+                        expired.add(entry.key);
+                    }
+                }
+                entry = next;
+            }
+            bucket.sweptTick = tick;
+        }
+        return expired;
+    }
+
+    private static class Bucket<K> {
+        Entry<K> head;
+        long sweptTick = 0;
+
+        void link(Entry<K> entry) {
+            entry.bucket = this;
+            entry.next = this.head;
+            if (this.head != null) {
+                this.head.previous = entry;
+            }
+            this.head = entry;
+        }
+
+        void unlink(Entry<K> entry) {
+            if (entry.previous != null) {
+                entry.previous.next = entry.next;
+            } else {
+                this.head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            }
+            entry.previous = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+    }
+
+    private static class Entry<K> {
+        final K key;
+        long tick;
+        Entry<K> previous;
+        Entry<K> next;
+        volatile Bucket<K> bucket;
+
+        Entry(K key) {
+            this.key = key;
+        }
+
+        void unlink() {
+            Bucket<K> bucket = this.bucket;
+            if (bucket != null) {
+                synchronized (bucket) {
+                    // The entry may have been swept meanwhile
+                    if (this.bucket == bucket) {
+                        bucket.unlink(this);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.service.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheel}.
+ */
+public class TimingWheelTestCase {
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(100);
+        try (TimingWheel<Integer> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 8, key -> {
+            expired.add(key);
+            latch.countDown();
+        })) {
+            // Delays span several rounds of the wheel
+            for (int i = 0; i < 100; ++i) {
+                wheel.schedule(i, i * 2, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(100, expired.size());
+            assertEquals(0, wheel.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNotExpiredEarly() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch latch = new CountDownLatch(1);
+        try (TimingWheel<String> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 4, key -> latch.countDown())) {
+            long start = System.nanoTime();
+            wheel.schedule("key", 200, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        Set<String> expired = ConcurrentHashMap.newKeySet();
+        try (TimingWheel<String> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 8, expired::add)) {
+            wheel.schedule("canceled", 50, TimeUnit.MILLISECONDS);
+            wheel.schedule("expired", 50, TimeUnit.MILLISECONDS);
+            assertEquals(2, wheel.size());
+            assertTrue(wheel.getScheduledKeys().contains("canceled"));
+
+            assertTrue(wheel.cancel("canceled"));
+            assertFalse(wheel.cancel("canceled"));
+            assertEquals(1, wheel.size());
+
+            Thread.sleep(500);
+
+            assertFalse(expired.contains("canceled"));
+            assertTrue(expired.contains("expired"));
+            assertFalse(wheel.cancel("expired"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReschedule() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        Set<String> expired = ConcurrentHashMap.newKeySet();
+        try (TimingWheel<String> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 8, expired::add)) {
+            wheel.schedule("key", 50, TimeUnit.MILLISECONDS);
+            // Replaces the previous expiration
+            wheel.schedule("key", 1, TimeUnit.MINUTES);
+            assertEquals(1, wheel.size());
+
+            Thread.sleep(500);
+
+            assertTrue(expired.isEmpty());
+            assertEquals(1, wheel.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        Set<String> expired = ConcurrentHashMap.newKeySet();
+        try {
+            TimingWheel<String> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 8, expired::add);
+            wheel.schedule("key", 50, TimeUnit.MILLISECONDS);
+            wheel.close();
+            assertEquals(0, wheel.size());
+
+            Thread.sleep(500);
+
+            assertTrue(expired.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCloseAwaitsSweep() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean(false);
+        try {
+            TimingWheel<String> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 8, key -> {
+                started.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.set(true);
+            });
+            wheel.schedule("key", 10, TimeUnit.MILLISECONDS);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            wheel.close();
+            // The expiration in progress must have completed
+            assertTrue(finished.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailingTask() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch latch = new CountDownLatch(1);
+        try (TimingWheel<String> wheel = new TimingWheel<>(executor, 10, TimeUnit.MILLISECONDS, 8, key -> {
+            if (key.equals("failing")) {
+                throw new IllegalStateException();
+            }
+            latch.countDown();
+        })) {
+            wheel.schedule("failing", 10, TimeUnit.MILLISECONDS);
+            wheel.schedule("key", 100, TimeUnit.MILLISECONDS);
+            // Subsequent sweeps must still happen
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
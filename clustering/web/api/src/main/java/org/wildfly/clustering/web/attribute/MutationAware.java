@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.attribute;
+
+/**
+ * Implemented by mutable session attribute values that track their own mutations.
+ * By default, a mutable attribute of a distributed session is replicated whenever it is read, since it may have been mutated in place.
+ * An attribute implementing this interface is only replicated, at the end of the request, if it reports that it was mutated since it was last replicated.
+ */
+public interface MutationAware {
+
+    /**
+     * Indicates whether this object was mutated since it was last replicated.
+     * @return true, if this object was mutated, false otherwise
+     */
+    boolean isMutated();
+
+    /**
+     * Invoked just before this object is replicated, so that subsequent mutations can be tracked.
+     */
+    void replicated();
+
+    /**
+     * Invoked if this object could not be replicated after {@link #replicated()}, so that it is replicated again once accessed by a subsequent request.
+     */
+    void mutated();
+}
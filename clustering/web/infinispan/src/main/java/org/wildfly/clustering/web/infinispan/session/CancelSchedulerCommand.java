@@ -36,6 +36,10 @@ public class CancelSchedulerCommand implements Command<Void, Scheduler> {
         this.id = sessionId;
     }
 
+    String getSessionId() {
+        return this.id;
+    }
+
     @Override
     public Void execute(Scheduler scheduler) {
         scheduler.cancel(this.id);
@@ -226,26 +226,43 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
 
     @Override
     public Set<String> getActiveSessions() {
-        // Omit remote sessions (i.e. when using DIST mode) as well as passivated sessions
-        return this.getSessions(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD);
+        try (Stream<String> sessions = this.streamActiveSessions()) {
+            return sessions.collect(Collectors.toSet());
+        }
     }
 
     @Override
     public Set<String> getLocalSessions() {
+        try (Stream<String> sessions = this.streamLocalSessions()) {
+            return sessions.collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public Stream<String> streamActiveSessions() {
+        // Omit remote sessions (i.e. when using DIST mode) as well as passivated sessions
+        return this.streamSessions(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD);
+    }
+
+    @Override
+    public Stream<String> streamLocalSessions() {
         // Omit remote sessions (i.e. when using DIST mode)
-        return this.getSessions(Flag.CACHE_MODE_LOCAL);
+        return this.streamSessions(Flag.CACHE_MODE_LOCAL);
     }
 
-    private Set<String> getSessions(Flag... flags) {
+    private Stream<String> streamSessions(Flag... flags) {
         Locality locality = new CacheLocality(this.cache);
-        try (Stream<Key<String>> keys = this.cache.getAdvancedCache().withFlags(flags).keySet().stream()) {
-            return keys.filter(this.filter.and(key -> locality.isLocal(key))).map(key -> key.getValue()).collect(Collectors.toSet());
-        }
+        // Closing the resulting stream closes the underlying cache stream
+        Stream<Key<String>> keys = this.cache.getAdvancedCache().withFlags(flags).keySet().stream();
+        return keys.filter(this.filter.and(key -> locality.isLocal(key))).map(key -> key.getValue());
     }
 
     @Override
     public long getActiveSessionCount() {
-        return this.getActiveSessions().size();
+        // Count sessions without collecting their identifiers
+        try (Stream<String> sessions = this.streamActiveSessions()) {
+            return sessions.parallel().count();
+        }
     }
 
     @CacheEntryActivated
@@ -22,6 +22,7 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.security.PrivilegedAction;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -83,6 +84,12 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 @Listener
 public class InfinispanSessionManagerFactory<C extends Marshallability, L> implements SessionManagerFactory<L, TransactionBatch> {
 
+    /**
+     * The interval, in milliseconds, at which updates of the last accessed time of sessions are replicated in bulk.
+     * By default (i.e. 0), the last accessed time of a session is replicated on close of every request.
+     */
+    private static final String ACCESS_WRITE_BEHIND_INTERVAL = "jboss.web.session.access-write-behind-interval";
+
     private static ThreadFactory createThreadFactory() {
         PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup(InfinispanSessionManager.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
         return WildFlySecurityManager.doUnchecked(action);
@@ -99,6 +106,7 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
     private final KeyAffinityServiceFactory affinityFactory;
     private final SessionFactory<InfinispanSessionMetaData<L>, ?, L> factory;
     private final Scheduler scheduler;
+    private final SessionAccessMetaDataWriteBehind writeBehind;
     private final SessionCreationMetaDataKeyFilter filter = new SessionCreationMetaDataKeyFilter();
     private final ExecutorService executor = Executors.newSingleThreadExecutor(createThreadFactory());
     private final AtomicReference<Future<?>> rehashFuture = new AtomicReference<>();
@@ -109,7 +117,9 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
         this.memberFactory = config.getMemberFactory();
         this.batcher = new InfinispanBatcher(this.cache);
         this.properties = new InfinispanCacheProperties(this.cache.getCacheConfiguration());
-        SessionMetaDataFactory<InfinispanSessionMetaData<L>, L> metaDataFactory = new InfinispanSessionMetaDataFactory<>(config.getCache(), this.properties);
+        long writeBehindInterval = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(ACCESS_WRITE_BEHIND_INTERVAL, "0"));
+        this.writeBehind = (writeBehindInterval > 0) ? new SessionAccessMetaDataWriteBehind(this.cache, this.batcher, this.properties, Duration.ofMillis(writeBehindInterval)) : null;
+        SessionMetaDataFactory<InfinispanSessionMetaData<L>, L> metaDataFactory = new InfinispanSessionMetaDataFactory<>(config.getCache(), this.properties, this.writeBehind);
         this.factory = new InfinispanSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getSessionManagerFactoryConfiguration().getLocalContextFactory());
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         ExpiredSessionRemover<?, ?, L> remover = new ExpiredSessionRemover<>(this.factory);
@@ -218,6 +228,9 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        if (this.writeBehind != null) {
+            this.writeBehind.close();
+        }
         this.dispatcher.close();
         this.scheduler.close();
     }
@@ -233,6 +246,10 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
                 future.cancel(true);
             }
             try {
+                if (this.writeBehind != null) {
+                    // Replicate pending access meta data, which the new owners of our sessions use to schedule their expiration
+                    this.executor.submit(() -> this.writeBehind.flush());
+                }
                 this.executor.submit(() -> this.dispatcher.getContext().cancel(newLocality));
             } catch (RejectedExecutionException e) {
                 // Executor was shutdown
@@ -39,13 +39,22 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
     private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> findCreationMetaDataCache;
     private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final CacheProperties properties;
+    private final SessionAccessMetaDataWriteBehind writeBehind;
 
-    @SuppressWarnings("unchecked")
     public InfinispanSessionMetaDataFactory(Cache<? extends Key<String>, ?> cache, CacheProperties properties) {
+        this(cache, properties, null);
+    }
+
+    /**
+     * @param writeBehind replicates updates of session access meta data asynchronously, or null if these are replicated on batch close
+     */
+    @SuppressWarnings("unchecked")
+    public InfinispanSessionMetaDataFactory(Cache<? extends Key<String>, ?> cache, CacheProperties properties, SessionAccessMetaDataWriteBehind writeBehind) {
         this.creationMetaDataCache = (Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>>) cache;
         this.findCreationMetaDataCache = properties.isLockOnRead() ? this.creationMetaDataCache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : this.creationMetaDataCache;
         this.accessMetaDataCache = (Cache<SessionAccessMetaDataKey, SessionAccessMetaData>) cache;
         this.properties = properties;
+        this.writeBehind = writeBehind;
     }
 
     @Override
@@ -90,12 +99,16 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
         SessionCreationMetaData creationMetaData = new MutableSessionCreationMetaData(entry.getCreationMetaData(), creationMutator);
 
         SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
-        Mutator accessMutator = this.properties.isTransactional() && this.accessMetaDataCache.getAdvancedCache().getCacheEntry(accessMetaDataKey).isCreated() ? Mutator.PASSIVE : new CacheEntryMutator<>(this.accessMetaDataCache, accessMetaDataKey, entry.getAccessMetaData());
+        Mutator accessMutator = this.properties.isTransactional() && this.accessMetaDataCache.getAdvancedCache().getCacheEntry(accessMetaDataKey).isCreated() ? Mutator.PASSIVE : this.createAccessMutator(accessMetaDataKey, entry.getAccessMetaData());
         SessionAccessMetaData accessMetaData = new MutableSessionAccessMetaData(entry.getAccessMetaData(), accessMutator);
 
         return new SimpleSessionMetaData(creationMetaData, accessMetaData);
     }
 
+    private Mutator createAccessMutator(SessionAccessMetaDataKey key, SessionAccessMetaData metaData) {
+        return (this.writeBehind != null) ? this.writeBehind.createMutator(key, metaData) : new CacheEntryMutator<>(this.accessMetaDataCache, key, metaData);
+    }
+
     @Override
     public ImmutableSessionMetaData createImmutableSessionMetaData(String id, InfinispanSessionMetaData<L> entry) {
         return new SimpleSessionMetaData(entry.getCreationMetaData(), entry.getAccessMetaData());
@@ -115,7 +128,11 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
         SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
         if (!this.properties.isLockOnWrite() || creationMetaDataCache.getAdvancedCache().withFlags(Flag.ZERO_LOCK_ACQUISITION_TIMEOUT, Flag.FAIL_SILENTLY).lock(key)) {
             creationMetaDataCache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(key);
-            this.accessMetaDataCache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(new SessionAccessMetaDataKey(id));
+            SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+            if (this.writeBehind != null) {
+                this.writeBehind.cancel(accessMetaDataKey);
+            }
+            this.accessMetaDataCache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(accessMetaDataKey);
             return true;
         }
         return false;
@@ -126,7 +143,12 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
         SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
         if (this.findCreationMetaDataCache.getAdvancedCache().withFlags(EVICTION_FLAGS).get(key) != null) {
             this.creationMetaDataCache.evict(key);
-            this.accessMetaDataCache.evict(new SessionAccessMetaDataKey(id));
+            SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+            if (this.writeBehind != null) {
+                // Make sure the most recent last accessed time is not lost
+                this.writeBehind.flush(accessMetaDataKey);
+            }
+            this.accessMetaDataCache.evict(accessMetaDataKey);
             return true;
         }
         return false;
@@ -43,6 +43,14 @@ public class ScheduleSchedulerCommand implements Command<Void, Scheduler> {
         this.metaData = metaData;
     }
 
+    String getSessionId() {
+        return this.sessionId;
+    }
+
+    ImmutableSessionMetaData getMetaData() {
+        return this.metaData;
+    }
+
     @Override
     public Void execute(Scheduler scheduler) {
         scheduler.schedule(this.sessionId, this.metaData);
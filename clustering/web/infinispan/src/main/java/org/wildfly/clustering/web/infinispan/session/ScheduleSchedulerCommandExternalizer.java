@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.kohsuke.MetaInfServices;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.DefaultExternalizer;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * Externalizer for a {@link ScheduleSchedulerCommand}.
+ */
+@MetaInfServices(Externalizer.class)
+public class ScheduleSchedulerCommandExternalizer implements Externalizer<ScheduleSchedulerCommand> {
+
+    @Override
+    public void writeObject(ObjectOutput output, ScheduleSchedulerCommand command) throws IOException {
+        ImmutableSessionMetaData metaData = command.getMetaData();
+        Instant creationTime = metaData.getCreationTime();
+        output.writeUTF(command.getSessionId());
+        DefaultExternalizer.INSTANT.cast(Instant.class).writeObject(output, creationTime);
+        DefaultExternalizer.DURATION.cast(Duration.class).writeObject(output, metaData.getMaxInactiveInterval());
+        DefaultExternalizer.DURATION.cast(Duration.class).writeObject(output, Duration.between(creationTime, metaData.getLastAccessedTime()));
+    }
+
+    @Override
+    public ScheduleSchedulerCommand readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+        String sessionId = input.readUTF();
+        SessionCreationMetaData creationMetaData = new SimpleSessionCreationMetaData(DefaultExternalizer.INSTANT.cast(Instant.class).readObject(input));
+        creationMetaData.setMaxInactiveInterval(DefaultExternalizer.DURATION.cast(Duration.class).readObject(input));
+        SessionAccessMetaData accessMetaData = new SimpleSessionAccessMetaData();
+        accessMetaData.setLastAccessedDuration(DefaultExternalizer.DURATION.cast(Duration.class).readObject(input));
+        return new ScheduleSchedulerCommand(sessionId, new SimpleSessionMetaData(creationMetaData, accessMetaData));
+    }
+
+    @Override
+    public Class<ScheduleSchedulerCommand> getTargetClass() {
+        return ScheduleSchedulerCommand.class;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.infinispan.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.TransactionBatch;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Aggregates updates of session access meta data locally, and replicates them in bulk at a fixed interval.
+ * Only the most recent update of a given session is replicated, so the replicated last accessed time of a session lags behind by at most the flush interval.
+ * Since the expiration of a session is scheduled using the meta data of the request that last accessed it, expiration remains correct
+ * as long as the flush interval is shorter than the max inactive interval of a session.
+ * Updates are replicated using a conditional replace, so that the access meta data of a removed session is never resurrected.
+ * <p>
+ * When the primary owner of a session changes, the new owner schedules its expiration using the replicated access meta data,
+ * which may lag behind by up to the flush interval. Pending updates are therefore flushed as soon as a rehash starts, see {@link #flush()}.
+ * An update received during the rehash may still be replicated after the new owner scheduled the expiration.
+ * In that case the session is not expired prematurely, since its meta data is checked again on expiration, but it remains
+ * unexpired until it is next accessed.
+ */
+public class SessionAccessMetaDataWriteBehind implements AutoCloseable {
+
+    private final ConcurrentMap<SessionAccessMetaDataKey, SessionAccessMetaData> updates = new ConcurrentHashMap<>();
+    private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> cache;
+    private final Batcher<TransactionBatch> batcher;
+    private final CacheProperties properties;
+    private final ScheduledExecutorService executor;
+
+    @SuppressWarnings("unchecked")
+    public SessionAccessMetaDataWriteBehind(Cache<? extends Key<String>, ?> cache, Batcher<TransactionBatch> batcher, CacheProperties properties, Duration interval) {
+        this.cache = (Cache<SessionAccessMetaDataKey, SessionAccessMetaData>) cache;
+        this.batcher = batcher;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadScheduledExecutor(createThreadFactory());
+        long delay = interval.toMillis();
+        this.executor.scheduleWithFixedDelay(this::flush, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup(SessionAccessMetaDataWriteBehind.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
+        return WildFlySecurityManager.doUnchecked(action);
+    }
+
+    /**
+     * Creates a mutator that defers the replication of the specified access meta data to the next flush.
+     * @param key a cache key
+     * @param metaData the access meta data of a session
+     * @return a mutator
+     */
+    public Mutator createMutator(SessionAccessMetaDataKey key, SessionAccessMetaData metaData) {
+        return () -> this.updates.put(key, metaData);
+    }
+
+    /**
+     * Discards any pending update of the specified access meta data, e.g. since its session was removed.
+     * @param key a cache key
+     */
+    public void cancel(SessionAccessMetaDataKey key) {
+        this.updates.remove(key);
+    }
+
+    /**
+     * Replicates any pending update of the specified access meta data immediately, e.g. prior to its eviction.
+     * @param key a cache key
+     */
+    public void flush(SessionAccessMetaDataKey key) {
+        SessionAccessMetaData metaData = this.updates.remove(key);
+        if (metaData != null) {
+            this.replicate(Collections.singletonMap(key, metaData));
+        }
+    }
+
+    /**
+     * Replicates all pending updates.
+     */
+    void flush() {
+        if (this.updates.isEmpty()) return;
+        Map<SessionAccessMetaDataKey, SessionAccessMetaData> updates = new HashMap<>();
+        for (Map.Entry<SessionAccessMetaDataKey, SessionAccessMetaData> entry : this.updates.entrySet()) {
+            // A concurrent update will be replicated by the next flush
+            if (this.updates.remove(entry.getKey(), entry.getValue())) {
+                updates.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.replicate(updates);
+    }
+
+    private void replicate(Map<SessionAccessMetaDataKey, SessionAccessMetaData> updates) {
+        AdvancedCache<SessionAccessMetaDataKey, SessionAccessMetaData> cache = this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY);
+        try {
+            if (this.properties.isTransactional()) {
+                try (Batch batch = this.batcher.createBatch()) {
+                    try {
+                        updates.forEach(cache::replace);
+                    } catch (RuntimeException e) {
+                        batch.discard();
+                        throw e;
+                    }
+                }
+            } else {
+                // Pipeline the replacements, rather than waiting for each in turn
+                List<CompletableFuture<SessionAccessMetaData>> futures = new ArrayList<>(updates.size());
+                updates.forEach((key, metaData) -> futures.add(cache.replaceAsync(key, metaData)));
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+            }
+        } catch (RuntimeException e) {
+            // Must not propagate to the periodic flush, which would otherwise never run again
+            InfinispanWebLogger.ROOT_LOGGER.failedToReplicateSessionAccessMetaData(e, updates.size());
+            // Retry with the next flush, unless superseded by a more recent update
+            updates.forEach(this.updates::putIfAbsent);
+        }
+    }
+
+    /**
+     * Stops the periodic flush, and replicates any pending updates.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(this.cache.getCacheConfiguration().transaction().cacheStopTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+    }
+}
@@ -38,6 +38,10 @@ public class SessionEvictionCommand implements Command<Void, SessionEvictionCont
         this.id = id;
     }
 
+    String getSessionId() {
+        return this.id;
+    }
+
     @Override
     public Void execute(SessionEvictionContext context) throws Exception {
         InfinispanWebLogger.ROOT_LOGGER.tracef("Passivating session %s", this.id);
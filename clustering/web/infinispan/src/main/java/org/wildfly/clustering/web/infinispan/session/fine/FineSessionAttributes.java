@@ -33,11 +33,13 @@ import org.wildfly.clustering.ee.infinispan.CacheProperties;
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.infinispan.CacheEntryMutator;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.attribute.MutationAware;
 import org.wildfly.clustering.web.infinispan.session.SessionAttributes;
 import org.wildfly.clustering.web.session.SessionAttributeImmutability;
 
 /**
  * Exposes session attributes for fine granularity sessions.
+ * Mutable attributes implementing {@link MutationAware} are only replicated on close, and only if they were mutated.
  * @author Paul Ferraro
  */
 public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V> implements SessionAttributes {
@@ -100,9 +102,13 @@ public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V>
         if (attribute != null) {
             // If the object is mutable, we need to indicate that the attribute should be replicated
             if (!SessionAttributeImmutability.INSTANCE.test(attribute)) {
-                Mutator mutator = this.mutations.computeIfAbsent(name, k -> new CacheEntryMutator<>(this.cache, key, value));
+                Mutator mutator = this.mutations.computeIfAbsent(name, k -> {
+                    Mutator entryMutator = new CacheEntryMutator<>(this.cache, key, value);
+                    return (attribute instanceof MutationAware) ? new MutationAwareMutator(entryMutator, (MutationAware) attribute) : entryMutator;
+                });
                 // If cache is not transactional, mutate on close instead.
-                if (this.properties.isTransactional()) {
+                // Mutation aware attributes are always mutated on close, once the request had the chance to mutate them.
+                if (this.properties.isTransactional() && !(mutator instanceof MutationAwareMutator)) {
                     mutator.mutate();
                 }
             }
@@ -112,9 +118,39 @@ public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V>
 
     @Override
     public void close() {
-        if (!this.properties.isTransactional()) {
-            this.mutations.values().forEach(Mutator::mutate);
+        boolean transactional = this.properties.isTransactional();
+        for (Mutator mutator : this.mutations.values()) {
+            if (!transactional || (mutator instanceof MutationAwareMutator)) {
+                mutator.mutate();
+            }
         }
         this.mutations.clear();
     }
+
+    /**
+     * Skips the replication of a {@link MutationAware} attribute that was not mutated.
+     */
+    private static class MutationAwareMutator implements Mutator {
+        private final Mutator mutator;
+        private final MutationAware attribute;
+
+        MutationAwareMutator(Mutator mutator, MutationAware attribute) {
+            this.mutator = mutator;
+            this.attribute = attribute;
+        }
+
+        @Override
+        public void mutate() {
+            if (this.attribute.isMutated()) {
+                // Reset before replicating, so that a concurrent mutation is never lost
+                this.attribute.replicated();
+                try {
+                    this.mutator.mutate();
+                } catch (RuntimeException | Error e) {
+                    this.attribute.mutated();
+                    throw e;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.Address;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+
+/**
+ * Unit test for {@link InfinispanSessionManager}.
+ */
+public class InfinispanSessionManagerTestCase {
+    private final SessionFactory<Object, Object, Object> factory = mock(SessionFactory.class);
+    private final InfinispanSessionManagerConfiguration configuration = mock(InfinispanSessionManagerConfiguration.class);
+    private final AdvancedCache<Key<String>, Object> cache = mock(AdvancedCache.class);
+    private final AdvancedCache<Key<String>, Object> activeCache = mock(AdvancedCache.class);
+    private final AdvancedCache<Key<String>, Object> localCache = mock(AdvancedCache.class);
+    private final CacheSet<Key<String>> activeKeys = mock(CacheSet.class);
+    private final CacheSet<Key<String>> localKeys = mock(CacheSet.class);
+
+    private final Key<String> activeKey = new SessionCreationMetaDataKey("active");
+    private final Key<String> passivatedKey = new SessionCreationMetaDataKey("passivated");
+    // A session whose primary owner is another member, i.e. only backed up locally
+    private final Key<String> remoteKey = new SessionCreationMetaDataKey("remote");
+    // Not a session creation meta data entry, so must not be streamed
+    private final Key<String> accessKey = new SessionAccessMetaDataKey("active");
+
+    private InfinispanSessionManager<Object, Object, Object> manager;
+
+    @Before
+    public void init() {
+        DistributionManager dist = mock(DistributionManager.class);
+        ConsistentHash hash = mock(ConsistentHash.class);
+        EmbeddedCacheManager cacheManager = mock(EmbeddedCacheManager.class);
+        Address localAddress = mock(Address.class);
+        Address remoteAddress = mock(Address.class);
+
+        when(this.configuration.getCache()).thenReturn(this.cache);
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.getCacheManager()).thenReturn(cacheManager);
+        when(this.cache.getDistributionManager()).thenReturn(dist);
+        when(cacheManager.getAddress()).thenReturn(localAddress);
+        when(dist.getConsistentHash()).thenReturn(hash);
+        when(hash.locatePrimaryOwner(any())).thenReturn(localAddress);
+        when(hash.locatePrimaryOwner(this.remoteKey)).thenReturn(remoteAddress);
+
+        // Passivated sessions are only visible when loading from the cache store
+        when(this.cache.withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD)).thenReturn(this.activeCache);
+        when(this.cache.withFlags(Flag.CACHE_MODE_LOCAL)).thenReturn(this.localCache);
+        when(this.activeCache.keySet()).thenReturn(this.activeKeys);
+        when(this.localCache.keySet()).thenReturn(this.localKeys);
+        when(this.activeKeys.stream()).thenAnswer(invocation -> stream(this.activeKey, this.accessKey, this.remoteKey));
+        when(this.localKeys.stream()).thenAnswer(invocation -> stream(this.activeKey, this.accessKey, this.remoteKey, this.passivatedKey));
+
+        this.manager = new InfinispanSessionManager<>(this.factory, this.configuration);
+    }
+
+    @Test
+    public void streamActiveSessions() {
+        try (Stream<String> sessions = this.manager.streamActiveSessions()) {
+            assertEquals(Collections.singleton("active"), sessions.collect(Collectors.toSet()));
+        }
+        assertEquals(Collections.singleton("active"), this.manager.getActiveSessions());
+    }
+
+    @Test
+    public void streamLocalSessions() {
+        Set<String> expected = new HashSet<>(Arrays.asList("active", "passivated"));
+        try (Stream<String> sessions = this.manager.streamLocalSessions()) {
+            assertEquals(expected, sessions.collect(Collectors.toSet()));
+        }
+        assertEquals(expected, this.manager.getLocalSessions());
+    }
+
+    @Test
+    public void getActiveSessionCount() {
+        assertEquals(1L, this.manager.getActiveSessionCount());
+    }
+
+    /**
+     * Creates a cache stream of the specified keys, backed by a sequential stream.
+     */
+    @SafeVarargs
+    private static <K> CacheStream<K> stream(K... keys) {
+        return cacheStream(Stream.of(keys));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> CacheStream<K> cacheStream(Stream<K> stream) {
+        return (CacheStream<K>) Proxy.newProxyInstance(CacheStream.class.getClassLoader(), new Class<?>[] { CacheStream.class }, (proxy, method, args) -> {
+            Method target = (method.getDeclaringClass() == Object.class) ? method : Stream.class.getMethod(method.getName(), method.getParameterTypes());
+            try {
+                Object result = target.invoke(stream, args);
+                return (result instanceof Stream) ? cacheStream((Stream<Object>) result) : result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
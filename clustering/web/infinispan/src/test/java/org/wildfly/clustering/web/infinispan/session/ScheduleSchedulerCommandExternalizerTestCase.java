@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.ExternalizerTester;
+
+/**
+ * Unit test for {@link ScheduleSchedulerCommandExternalizer}, {@link CancelSchedulerCommandExternalizer}, and {@link SessionEvictionCommandExternalizer}.
+ */
+public class ScheduleSchedulerCommandExternalizerTestCase {
+
+    @Test
+    public void test() throws ClassNotFoundException, IOException {
+        SessionCreationMetaData creationMetaData = new SimpleSessionCreationMetaData(Instant.now());
+        creationMetaData.setMaxInactiveInterval(Duration.ofMinutes(30));
+        SessionAccessMetaData accessMetaData = new SimpleSessionAccessMetaData();
+        accessMetaData.setLastAccessedDuration(Duration.ofMillis(1500));
+        ScheduleSchedulerCommand command = new ScheduleSchedulerCommand("ABCDEFGHIJKLMNOPQRSTUVWXYZ", new SimpleSessionMetaData(creationMetaData, accessMetaData));
+
+        new ExternalizerTester<>(new ScheduleSchedulerCommandExternalizer(), ScheduleSchedulerCommandExternalizerTestCase::assertEquals).test(command);
+        new ExternalizerTester<>(new CancelSchedulerCommandExternalizer(), (command1, command2) -> Assert.assertEquals(command1.getSessionId(), command2.getSessionId())).test(new CancelSchedulerCommand("ABCDEFGHIJKLMNOPQRSTUVWXYZ"));
+        new ExternalizerTester<>(new SessionEvictionCommandExternalizer(), (command1, command2) -> Assert.assertEquals(command1.getSessionId(), command2.getSessionId())).test(new SessionEvictionCommand("ABCDEFGHIJKLMNOPQRSTUVWXYZ"));
+    }
+
+    static void assertEquals(ScheduleSchedulerCommand command1, ScheduleSchedulerCommand command2) {
+        Assert.assertEquals(command1.getSessionId(), command2.getSessionId());
+        Assert.assertEquals(command1.getMetaData().getCreationTime(), command2.getMetaData().getCreationTime());
+        Assert.assertEquals(command1.getMetaData().getMaxInactiveInterval(), command2.getMetaData().getMaxInactiveInterval());
+        Assert.assertEquals(command1.getMetaData().getLastAccessedTime(), command2.getMetaData().getLastAccessedTime());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.infinispan.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.TransactionBatch;
+
+/**
+ * Unit test for {@link SessionAccessMetaDataWriteBehind}.
+ */
+public class SessionAccessMetaDataWriteBehindTestCase {
+
+    @Test
+    public void test() {
+        AdvancedCache<SessionAccessMetaDataKey, SessionAccessMetaData> cache = mock(AdvancedCache.class);
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        CacheProperties properties = mock(CacheProperties.class);
+        SessionAccessMetaDataKey updatedKey = new SessionAccessMetaDataKey("updated");
+        SessionAccessMetaDataKey removedKey = new SessionAccessMetaDataKey("removed");
+        SessionAccessMetaDataKey evictedKey = new SessionAccessMetaDataKey("evicted");
+        SessionAccessMetaData updated = mock(SessionAccessMetaData.class);
+        SessionAccessMetaData removed = mock(SessionAccessMetaData.class);
+        SessionAccessMetaData evicted = mock(SessionAccessMetaData.class);
+
+        when(properties.isTransactional()).thenReturn(false);
+        when(cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().build());
+        when(cache.getAdvancedCache()).thenReturn(cache);
+        when(cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(cache);
+        when(cache.replaceAsync(any(SessionAccessMetaDataKey.class), any(SessionAccessMetaData.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Use an interval long enough that updates are only ever flushed explicitly
+        try (SessionAccessMetaDataWriteBehind writeBehind = new SessionAccessMetaDataWriteBehind(cache, batcher, properties, Duration.ofHours(1L))) {
+            Mutator updatedMutator = writeBehind.createMutator(updatedKey, updated);
+            updatedMutator.mutate();
+            updatedMutator.mutate();
+            writeBehind.createMutator(removedKey, removed).mutate();
+            writeBehind.createMutator(evictedKey, evicted).mutate();
+
+            writeBehind.flush(evictedKey);
+
+            verify(cache).replaceAsync(same(evictedKey), same(evicted));
+            verify(cache, never()).replaceAsync(same(updatedKey), same(updated));
+
+            writeBehind.cancel(removedKey);
+            writeBehind.flush();
+
+            // Multiple updates of the same session are replicated only once
+            verify(cache).replaceAsync(same(updatedKey), same(updated));
+
+            updatedMutator.mutate();
+        }
+
+        // Pending updates are replicated on close
+        verify(cache, times(2)).replaceAsync(same(updatedKey), same(updated));
+        verify(cache, times(1)).replaceAsync(same(evictedKey), same(evicted));
+        verify(cache, never()).replaceAsync(same(removedKey), same(removed));
+    }
+
+    @Test
+    public void failedCommit() {
+        AdvancedCache<SessionAccessMetaDataKey, SessionAccessMetaData> cache = mock(AdvancedCache.class);
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        CacheProperties properties = mock(CacheProperties.class);
+        SessionAccessMetaDataKey key = new SessionAccessMetaDataKey("session");
+        SessionAccessMetaData metaData = mock(SessionAccessMetaData.class);
+
+        when(properties.isTransactional()).thenReturn(true);
+        when(cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().build());
+        when(cache.getAdvancedCache()).thenReturn(cache);
+        when(cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(cache);
+        when(batcher.createBatch()).thenReturn(batch);
+        // The first commit fails
+        doThrow(new IllegalStateException()).doNothing().when(batch).close();
+
+        try (SessionAccessMetaDataWriteBehind writeBehind = new SessionAccessMetaDataWriteBehind(cache, batcher, properties, Duration.ofMillis(10L))) {
+            writeBehind.createMutator(key, metaData).mutate();
+
+            // The periodic flush survives the failed commit, and replicates the update again
+            verify(batch, timeout(10000L).times(2)).close();
+            verify(cache, times(2)).replace(same(key), same(metaData));
+        }
+
+        // Nothing left to replicate on close
+        verify(cache, times(2)).replace(same(key), same(metaData));
+    }
+}
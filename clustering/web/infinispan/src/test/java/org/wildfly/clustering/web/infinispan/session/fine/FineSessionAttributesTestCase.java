@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.transaction.TransactionMode;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.infinispan.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.attribute.MutationAware;
+
+/**
+ * Unit test for the replication of mutable attributes by {@link FineSessionAttributes}.
+ */
+public class FineSessionAttributesTestCase {
+
+    static class Counter implements MutationAware {
+        private volatile boolean mutated = false;
+        private int value = 0;
+
+        void increment() {
+            this.value += 1;
+            this.mutated = true;
+        }
+
+        @Override
+        public boolean isMutated() {
+            return this.mutated;
+        }
+
+        @Override
+        public void replicated() {
+            this.mutated = false;
+        }
+
+        @Override
+        public void mutated() {
+            this.mutated = true;
+        }
+    }
+
+    private final AdvancedCache<SessionAttributeKey, Object> cache = mock(AdvancedCache.class);
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final Object value = new Object();
+
+    private FineSessionAttributes<Object> createAttributes(boolean transactional, Object attribute) throws InvalidSerializedFormException {
+        ConcurrentMap<String, Integer> names = new ConcurrentHashMap<>();
+        names.put("attribute", 1);
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().transaction().transactionMode(transactional ? TransactionMode.TRANSACTIONAL : TransactionMode.NON_TRANSACTIONAL).build());
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(this.cache);
+        when(this.cache.get(any(SessionAttributeKey.class))).thenReturn(this.value);
+        when(this.marshaller.read(same(this.value))).thenReturn(attribute);
+        when(this.properties.isTransactional()).thenReturn(transactional);
+        return new FineSessionAttributes<>("session", new AtomicInteger(1), names, mock(Mutator.class), this.cache, this.marshaller, this.properties);
+    }
+
+    @Test
+    public void skipUnmutatedTransactional() throws InvalidSerializedFormException {
+        this.skipUnmutated(true);
+    }
+
+    @Test
+    public void skipUnmutatedNonTransactional() throws InvalidSerializedFormException {
+        this.skipUnmutated(false);
+    }
+
+    private void skipUnmutated(boolean transactional) throws InvalidSerializedFormException {
+        Counter counter = new Counter();
+        FineSessionAttributes<Object> attributes = this.createAttributes(transactional, counter);
+
+        assertSame(counter, attributes.getAttribute("attribute"));
+        attributes.close();
+
+        verify(this.cache, never()).put(any(SessionAttributeKey.class), any());
+    }
+
+    @Test
+    public void replicateMutatedTransactional() throws InvalidSerializedFormException {
+        this.replicateMutated(true);
+    }
+
+    @Test
+    public void replicateMutatedNonTransactional() throws InvalidSerializedFormException {
+        this.replicateMutated(false);
+    }
+
+    private void replicateMutated(boolean transactional) throws InvalidSerializedFormException {
+        Counter counter = new Counter();
+        FineSessionAttributes<Object> attributes = this.createAttributes(transactional, counter);
+
+        Counter attribute = (Counter) attributes.getAttribute("attribute");
+        attribute.increment();
+        // replication is deferred until the request had the chance to mutate the attribute
+        verify(this.cache, never()).put(any(SessionAttributeKey.class), any());
+
+        attributes.close();
+
+        verify(this.cache).put(any(SessionAttributeKey.class), same(this.value));
+        assertFalse(counter.isMutated());
+    }
+
+    @Test
+    public void replicateMutableTransactional() throws InvalidSerializedFormException {
+        StringBuilder attribute = new StringBuilder();
+        FineSessionAttributes<Object> attributes = this.createAttributes(true, attribute);
+
+        // a mutable attribute that does not track its mutations is replicated as soon as it is read
+        assertSame(attribute, attributes.getAttribute("attribute"));
+        verify(this.cache).put(any(SessionAttributeKey.class), same(this.value));
+
+        attributes.close();
+
+        verify(this.cache).put(any(SessionAttributeKey.class), same(this.value));
+    }
+
+    @Test
+    public void replicateMutableNonTransactional() throws InvalidSerializedFormException {
+        StringBuilder attribute = new StringBuilder();
+        FineSessionAttributes<Object> attributes = this.createAttributes(false, attribute);
+
+        assertSame(attribute, attributes.getAttribute("attribute"));
+        verify(this.cache, never()).put(any(SessionAttributeKey.class), any());
+
+        attributes.close();
+
+        verify(this.cache).put(any(SessionAttributeKey.class), same(this.value));
+    }
+
+    @Test
+    public void failedReplication() throws InvalidSerializedFormException {
+        Counter counter = new Counter();
+        FineSessionAttributes<Object> attributes = this.createAttributes(false, counter);
+        doThrow(new IllegalStateException()).when(this.cache).put(any(SessionAttributeKey.class), any());
+
+        ((Counter) attributes.getAttribute("attribute")).increment();
+        try {
+            attributes.close();
+            fail("Replication should have failed");
+        } catch (IllegalStateException e) {
+            // the mutation is not lost, but replicated by a subsequent request
+            assertTrue(counter.isMutated());
+        }
+    }
+}
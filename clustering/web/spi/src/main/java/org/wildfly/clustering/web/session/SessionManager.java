@@ -23,6 +23,7 @@ package org.wildfly.clustering.web.session;
 
 import java.time.Duration;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
@@ -78,6 +79,20 @@ public interface SessionManager<L, B extends Batch> extends IdentifierFactory<St
      */
     Set<String> getLocalSessions();
 
+    /**
+     * Streams the identifiers of those sessions that are active on this node.
+     * Unlike {@link #getActiveSessions()}, session identifiers are not collected up front, thus the returned stream must be closed.
+     * @return a stream of session identifiers.
+     */
+    Stream<String> streamActiveSessions();
+
+    /**
+     * Streams the identifiers of all sessions on this node, including both active and passive sessions.
+     * Unlike {@link #getLocalSessions()}, session identifiers are not collected up front, thus the returned stream must be closed.
+     * @return a stream of session identifiers.
+     */
+    Stream<String> streamLocalSessions();
+
     /**
      * Returns a read-only view of the session with the specified identifier.
      * This method is intended to be invoked within the context of a batch
@@ -46,9 +46,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.web.session.ActiveSessionStatistics;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+import org.wildfly.clustering.web.session.InactiveSessionStatistics;
 import org.wildfly.clustering.web.session.Session;
 import org.wildfly.clustering.web.session.SessionManager;
 
@@ -297,6 +299,23 @@ public class DistributableSessionManagerTestCase {
         assertSame(expected, result.iterator().next());
     }
 
+    @Test
+    public void getActiveSessionCount() {
+        ActiveSessionStatistics activeSessionStatistics = mock(ActiveSessionStatistics.class);
+        InactiveSessionStatistics inactiveSessionStatistics = mock(InactiveSessionStatistics.class);
+        DistributableSessionManager adapter = new DistributableSessionManager(this.deploymentName, this.manager, this.listeners, new DistributableSessionManagerStatistics(activeSessionStatistics, inactiveSessionStatistics, -1));
+
+        when(activeSessionStatistics.getActiveSessionCount()).thenReturn(2L);
+
+        long result = adapter.getStatistics().getActiveSessionCount();
+
+        assertEquals(2L, result);
+
+        // Counting the active sessions must not collect their identifiers
+        verify(this.manager, never()).getActiveSessions();
+        verify(this.manager, never()).streamActiveSessions();
+    }
+
     @Test
     public void getSessionByIdentifier() {
         Batcher<Batch> batcher = mock(Batcher.class);
@@ -94,6 +94,14 @@ public interface Cache<K, V extends Identifiable<K>> extends AffinitySupport<K>,
 
     int getTotalSize();
 
+    /**
+     * Returns the number of released objects whose expiration is scheduled but has not yet happened.
+     * @return the number of pending expirations
+     */
+    default int getPendingExpirationCount() {
+        return 0;
+    }
+
     /**
      * Checks whether the supplied {@link Throwable} is remotable meaning it can be safely sent to the client over the wire.
      */
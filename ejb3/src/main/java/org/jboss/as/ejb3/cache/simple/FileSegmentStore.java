@@ -0,0 +1,233 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores byte arrays off-heap, in fixed size segment files.
+ * <p/>
+ * Each segment is filled sequentially. Space is not reclaimed per entry, but a segment is reused as a whole once
+ * all of its entries were removed. Once the maximum number of segments is in use, further entries are refused.
+ * Segments are accessed via positional reads and writes rather than memory-mapped, so that closing the store releases
+ * its files immediately, rather than once a mapping is garbage collected.
+ */
+class FileSegmentStore<K> implements AutoCloseable {
+
+    private final File directory;
+    private final String prefix;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Map<K, Slot> slots = new HashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment current;
+
+    /**
+     * @param directory the directory of the segment files
+     * @param prefix the prefix of the segment file names
+     * @param segmentSize the size, in bytes, of a segment
+     * @param maxSegments the maximum number of segments
+     */
+    FileSegmentStore(File directory, String prefix, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Stores the specified bytes, replacing any bytes previously stored for the same key.
+     *
+     * @param key a key
+     * @param bytes the bytes to store
+     * @return true, if the bytes were stored, false if no segment has room for them
+     * @throws IOException if a new segment could not be created, or the bytes could not be written
+     */
+    synchronized boolean store(K key, byte[] bytes) throws IOException {
+        Segment segment = this.allocate(bytes.length);
+        if (segment == null) return false;
+        int offset = segment.write(bytes);
+        Slot previous = this.slots.put(key, new Slot(segment, offset, bytes.length));
+        if (previous != null) {
+            this.free(previous);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the bytes stored for the specified key.
+     *
+     * @param key a key
+     * @return the stored bytes, or null if none were stored for this key
+     * @throws IOException if the stored bytes could not be read, in which case they are removed nonetheless
+     */
+    synchronized byte[] remove(K key) throws IOException {
+        Slot slot = this.slots.remove(key);
+        if (slot == null) return null;
+        try {
+            return slot.segment.read(slot.offset, slot.length);
+        } finally {
+            this.free(slot);
+        }
+    }
+
+    /**
+     * Removes the bytes stored for the specified key, without reading them.
+     *
+     * @param key a key
+     * @return true, if bytes were stored for this key, false otherwise
+     */
+    synchronized boolean discard(K key) {
+        Slot slot = this.slots.remove(key);
+        if (slot == null) return false;
+        this.free(slot);
+        return true;
+    }
+
+    synchronized boolean contains(K key) {
+        return this.slots.containsKey(key);
+    }
+
+    synchronized int size() {
+        return this.slots.size();
+    }
+
+    /**
+     * Returns the number of segments.
+     */
+    synchronized int getSegmentCount() {
+        return this.segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        this.slots.clear();
+        this.current = null;
+        for (Segment segment : this.segments) {
+            segment.close();
+        }
+        this.segments.clear();
+    }
+
+    private Segment allocate(int length) throws IOException {
+        if (length > this.segmentSize) return null;
+        Segment current = this.current;
+        if ((current != null) && current.fits(length)) {
+            return current;
+        }
+        for (Segment segment : this.segments) {
+            if (segment.fits(length)) {
+                this.current = segment;
+                return segment;
+            }
+        }
+        if (this.segments.size() >= this.maxSegments) return null;
+        Segment segment = new Segment(File.createTempFile(this.prefix, ".segment", this.directory), this.segmentSize);
+        this.segments.add(segment);
+        this.current = segment;
+        return segment;
+    }
+
+    private void free(Slot slot) {
+        Segment segment = slot.segment;
+        segment.entries -= 1;
+        if (segment.entries == 0) {
+            // all entries are gone, so the segment can be filled again from the start
+            segment.position = 0;
+        }
+    }
+
+    private static class Segment {
+        final File file;
+        final FileChannel channel;
+        final int size;
+        int position = 0;
+        int entries = 0;
+
+        Segment(File file, int size) throws IOException {
+            this.file = file;
+            this.size = size;
+            try {
+                this.channel = new RandomAccessFile(file, "rw").getChannel();
+            } catch (IOException | RuntimeException e) {
+                file.delete();
+                throw e;
+            }
+        }
+
+        boolean fits(int length) {
+            return this.position + length <= this.size;
+        }
+
+        int write(byte[] bytes) throws IOException {
+            int offset = this.position;
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer, offset + buffer.position());
+            }
+            this.position = offset + bytes.length;
+            this.entries += 1;
+            return offset;
+        }
+
+        byte[] read(int offset, int length) throws IOException {
+            byte[] bytes = new byte[length];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException(this.file.getPath());
+                }
+            }
+            return bytes;
+        }
+
+        void close() {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                // the file is deleted regardless
+            }
+            this.file.delete();
+        }
+    }
+
+    private static class Slot {
+        final Segment segment;
+        final int offset;
+        final int length;
+
+        Slot(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Passivates the least recently released beans of a {@link SimpleCache} into a {@link FileSegmentStore}, once the
+ * number of beans held on heap exceeds a maximum size.
+ * Beans are marshalled using the versioned marshalling configuration of their deployment, i.e. the same as used by
+ * distributable caches.
+ */
+class OffHeapPassivation<K, V> implements AutoCloseable {
+
+    static final String PASSIVATE = "passivate";
+    static final String ACTIVATE = "activate";
+
+    private final FileSegmentStore<K> store;
+    private final MarshallingContext context;
+    private final PassivationListener<V> listener;
+    private final InvocationMetrics metrics;
+    private final int maxSize;
+    // Released beans, in the order of their release
+    private final Set<K> idle = new LinkedHashSet<>();
+
+    OffHeapPassivation(FileSegmentStore<K> store, MarshallingContext context, PassivationListener<V> listener, InvocationMetrics metrics, int maxSize) {
+        this.store = store;
+        this.context = context;
+        this.listener = listener;
+        this.metrics = metrics;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the maximum number of beans held on heap.
+     */
+    int getMaxSize() {
+        return this.maxSize;
+    }
+
+    int getPassivatedCount() {
+        return this.store.size();
+    }
+
+    boolean contains(K key) {
+        return this.store.contains(key);
+    }
+
+    /**
+     * Marks the specified bean as the most recently released bean.
+     */
+    void released(K key) {
+        synchronized (this.idle) {
+            this.idle.remove(key);
+            this.idle.add(key);
+        }
+    }
+
+    /**
+     * Removes the specified bean from the released beans, i.e. as it is either in use or gone.
+     */
+    void acquired(K key) {
+        synchronized (this.idle) {
+            this.idle.remove(key);
+        }
+    }
+
+    /**
+     * Removes and returns the least recently released bean, or null if there is none.
+     */
+    K eldest() {
+        synchronized (this.idle) {
+            Iterator<K> keys = this.idle.iterator();
+            if (!keys.hasNext()) return null;
+            K key = keys.next();
+            keys.remove();
+            return key;
+        }
+    }
+
+    /**
+     * Passivates the specified bean.
+     *
+     * @return true, if the bean was passivated, false if it must remain on heap
+     */
+    boolean passivate(K key, V bean) {
+        long start = System.nanoTime();
+        this.listener.prePassivate(bean);
+        try {
+            if (this.store.store(key, this.marshal(bean))) {
+                this.metrics.finishPassivationEvent(PASSIVATE, System.nanoTime() - start);
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            EjbLogger.ROOT_LOGGER.failedToPassivateBean(key, e);
+        }
+        this.listener.postActivate(bean);
+        return false;
+    }
+
+    /**
+     * Activates the specified bean, if it is passivated.
+     *
+     * @return the activated bean, or null if it was not passivated or could not be activated
+     */
+    V activate(K key) {
+        long start = System.nanoTime();
+        V bean;
+        try {
+            byte[] bytes = this.store.remove(key);
+            if (bytes == null) return null;
+            bean = this.unmarshal(bytes);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            EjbLogger.ROOT_LOGGER.failedToActivateBean(key, e);
+            return null;
+        }
+        this.listener.postActivate(bean);
+        this.metrics.finishPassivationEvent(ACTIVATE, System.nanoTime() - start);
+        return bean;
+    }
+
+    /**
+     * Discards the passivated state of the specified bean, without activating it.
+     *
+     * @return true, if the bean was passivated, false otherwise
+     */
+    boolean discard(K key) {
+        this.acquired(key);
+        return this.store.discard(key);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.idle) {
+            this.idle.clear();
+        }
+        this.store.close();
+    }
+
+    private byte[] marshal(V bean) throws IOException {
+        int version = this.context.getCurrentVersion();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(this.context.getClassLoader());
+        try (DataOutputStream data = new DataOutputStream(output)) {
+            data.writeInt(version);
+            try (Marshaller marshaller = this.context.createMarshaller(version)) {
+                marshaller.start(Marshalling.createByteOutput(data));
+                marshaller.writeObject(bean);
+                marshaller.finish();
+            }
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+        return output.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unmarshal(byte[] bytes) throws IOException, ClassNotFoundException {
+        ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(this.context.getClassLoader());
+        try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int version = data.readInt();
+            try (Unmarshaller unmarshaller = this.context.createUnmarshaller(version)) {
+                unmarshaller.start(Marshalling.createByteInput(data));
+                V bean = (V) unmarshaller.readObject();
+                unmarshaller.finish();
+                return bean;
+            }
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+    }
+}
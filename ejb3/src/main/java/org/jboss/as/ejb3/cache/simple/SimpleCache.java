@@ -24,11 +24,9 @@ package org.jboss.as.ejb3.cache.simple;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.ejb3.cache.Cache;
 import org.jboss.as.ejb3.cache.Identifiable;
@@ -39,9 +37,12 @@ import org.jboss.as.server.ServerEnvironment;
 import org.jboss.ejb.client.Affinity;
 import org.jboss.ejb.client.NodeAffinity;
 import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.service.concurrent.TimingWheel;
 
 /**
  * Simple {@link Cache} implementation using in-memory storage and eager expiration.
+ * Expiration of released beans is scheduled on a {@link TimingWheel}, so beans are expired in batches at most one tick after their timeout.
+ * Optionally, released beans in excess of a maximum size are passivated off-heap, see {@link OffHeapPassivation}.
  *
  * @author Paul Ferraro
  *
@@ -50,48 +51,72 @@ import org.wildfly.clustering.ejb.IdentifierFactory;
  */
 public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
 
-    final Map<K, Future<?>> expirationFutures = new ConcurrentHashMap<>();
+    /**
+     * The default expiration tick, in milliseconds.
+     */
+    public static final long DEFAULT_EXPIRATION_TICK = 100;
+    private static final int EXPIRATION_WHEEL_SIZE = 512;
+
     private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
     private final StatefulObjectFactory<V> factory;
     private final IdentifierFactory<K> identifierFactory;
     private final StatefulTimeoutInfo timeout;
     private final ServerEnvironment environment;
     private final ScheduledExecutorService executor;
+    private final long expirationTick;
+    private final OffHeapPassivation<K, V> passivation;
+    private final AtomicBoolean passivating = new AtomicBoolean(false);
+    private volatile TimingWheel<K> expiration;
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, ScheduledExecutorService executor) {
+        this(factory, identifierFactory, timeout, environment, executor, DEFAULT_EXPIRATION_TICK);
+    }
+
+    /**
+     * @param expirationTick the granularity, in milliseconds, with which released beans are expired
+     */
+    public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, ScheduledExecutorService executor, long expirationTick) {
+        this(factory, identifierFactory, timeout, environment, executor, expirationTick, null);
+    }
+
+    /**
+     * @param expirationTick the granularity, in milliseconds, with which released beans are expired
+     * @param passivation passivates released beans in excess of its maximum size, or null if beans are never passivated
+     */
+    SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, ScheduledExecutorService executor, long expirationTick, OffHeapPassivation<K, V> passivation) {
+        this.passivation = passivation;
         this.factory = factory;
         this.identifierFactory = identifierFactory;
         this.timeout = timeout;
         this.environment = environment;
         this.executor = executor;
+        this.expirationTick = expirationTick;
     }
 
     @Override
     public void start() {
-        // Do nothing
+        if ((this.timeout != null) && (this.timeout.getValue() > 0)) {
+            this.expiration = new TimingWheel<>(this.executor, this.expirationTick, TimeUnit.MILLISECONDS, EXPIRATION_WHEEL_SIZE, this::expire);
+        }
     }
 
     @Override
     public void stop() {
-        for (Future<?> future: this.expirationFutures.values()) {
-            future.cancel(true);
+        TimingWheel<K> expiration = this.expiration;
+        if (expiration != null) {
+            expiration.close();
+            this.expiration = null;
         }
-        for (Future<?> future: this.expirationFutures.values()) {
-            if (!future.isCancelled() && !future.isDone()) {
-                try {
-                    future.get();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                } catch (ExecutionException e) {
-                    // Ignore
-                }
+        for(Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            // An in-flight sweep may have destroyed this entry already, or a concurrent passivation moved it off-heap
+            if (entry.getValue().remove() && this.entries.remove(entry.getKey(), entry.getValue())) {
+                this.factory.destroyInstance(entry.getValue().getValue());
             }
         }
-        for(Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
-            this.factory.destroyInstance(entry.getValue().getValue());
+        if (this.passivation != null) {
+            // Passivated beans are discarded without being activated
+            this.passivation.close();
         }
-        this.expirationFutures.clear();
-        this.entries.clear();
     }
 
     @Override
@@ -123,31 +148,85 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
     @Override
     public void discard(V value) {
         this.entries.remove(value.getId());
+        if (this.passivation != null) {
+            this.passivation.acquired(value.getId());
+        }
     }
 
     @Override
     public void remove(K key) {
-        Entry<V> entry = this.entries.remove(key);
-        if (entry != null) {
-            this.factory.destroyInstance(entry.getValue());
+        if (this.passivation != null) {
+            this.passivation.acquired(key);
+            // A passivated bean is activated, so that it can be destroyed
+            Entry<V> entry = this.activate(key);
+            while ((entry != null) && !entry.remove()) {
+                // The bean was passivated or removed concurrently
+                this.entries.remove(key, entry);
+                entry = this.activate(key);
+            }
+            if ((entry != null) && this.entries.remove(key, entry)) {
+                this.factory.destroyInstance(entry.getValue());
+            }
+        } else {
+            Entry<V> entry = this.entries.remove(key);
+            if (entry != null) {
+                this.factory.destroyInstance(entry.getValue());
+            }
         }
     }
 
+    /**
+     * Returns the entry of the specified bean, activating the bean if it is passivated.
+     * The bean is activated outside of any map operation: a pending entry claims the key, so that concurrent lookups
+     * wait for the activation, rather than blocking the other keys of the same map bin.
+     *
+     * @return the entry of the bean, which may still be pending another thread's activation or passivation, or null if there is no such bean
+     */
+    private Entry<V> activate(K key) {
+        Entry<V> entry = this.entries.get(key);
+        if (entry != null) return entry;
+        Entry<V> pending = new Entry<>();
+        entry = this.entries.putIfAbsent(key, pending);
+        if (entry != null) return entry;
+        V bean = this.passivation.activate(key);
+        if (bean == null) {
+            this.entries.remove(key, pending);
+            pending.removed();
+            return null;
+        }
+        pending.activated(bean);
+        return pending;
+    }
+
     @Override
     public V get(K key) {
-        Future<?> future = this.expirationFutures.get(key);
-        if (future != null) {
-            future.cancel(true);
+        TimingWheel<K> expiration = this.expiration;
+        if (expiration != null) {
+            expiration.cancel(key);
+        }
+        if (this.passivation != null) {
+            return this.getOrActivate(key);
         }
         Entry<V> entry = this.entries.get(key);
-        if (entry == null) return null;
-        entry.use();
+        if ((entry == null) || !entry.use()) return null;
         return entry.getValue();
     }
 
+    private V getOrActivate(K key) {
+        this.passivation.acquired(key);
+        Entry<V> entry = this.activate(key);
+        // Marking the entry as used prevents its passivation
+        while ((entry != null) && !entry.use()) {
+            // The bean was passivated or removed concurrently
+            this.entries.remove(key, entry);
+            entry = this.activate(key);
+        }
+        return (entry != null) ? entry.getValue() : null;
+    }
+
     @Override
     public boolean contains(K key) {
-        return this.entries.containsKey(key);
+        return this.entries.containsKey(key) || ((this.passivation != null) && this.passivation.contains(key));
     }
 
     @Override
@@ -155,15 +234,23 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
         K id = bean.getId();
         Entry<V> entry = this.entries.get(id);
         if ((entry != null) && entry.done()) {
+            if (this.passivation != null) {
+                this.passivation.released(id);
+                if ((this.entries.size() > this.passivation.getMaxSize()) && this.passivating.compareAndSet(false, true)) {
+                    this.executor.execute(() -> {
+                        try {
+                            this.passivate();
+                        } finally {
+                            this.passivating.set(false);
+                        }
+                    });
+                }
+            }
             if (this.timeout != null) {
                 long value = this.timeout.getValue();
-                if (value > 0) {
-                    TimeUnit unit = this.timeout.getTimeUnit();
-                    RemoveTask task = new RemoveTask(id);
-                    // Make sure the expiration future map insertion happens before map removal (during task execution).
-                    synchronized (task) {
-                        this.expirationFutures.put(id, this.executor.schedule(task, value, unit));
-                    }
+                TimingWheel<K> expiration = this.expiration;
+                if ((value > 0) && (expiration != null)) {
+                    expiration.schedule(id, value, this.timeout.getTimeUnit());
                 } else if (value == 0) {
                     // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
                     // However, removing it directly is faster than scheduling it for immediate removal.
@@ -180,48 +267,185 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
 
     @Override
     public int getPassivatedCount() {
-        return 0;
+        return (this.passivation != null) ? this.passivation.getPassivatedCount() : 0;
     }
 
     @Override
     public int getTotalSize() {
-        return this.getCacheSize();
+        return this.getCacheSize() + this.getPassivatedCount();
     }
 
-    class RemoveTask implements Runnable {
-        private final K key;
+    @Override
+    public int getPendingExpirationCount() {
+        TimingWheel<K> expiration = this.expiration;
+        return (expiration != null) ? expiration.size() : 0;
+    }
 
-        RemoveTask(K key) {
-            this.key = key;
+    void expire(K key) {
+        Entry<V> entry = this.entries.get(key);
+        // Skip beans that were looked up again after their expiration was swept
+        if ((entry != null) && entry.expire() && this.entries.remove(key, entry)) {
+            if (this.passivation != null) {
+                this.passivation.acquired(key);
+            }
+            this.factory.destroyInstance(entry.getValue());
+        } else if (((entry == null) || entry.isRemoved()) && (this.passivation != null)) {
+            // The EJB specification does not require a bean that times out while passivated to be activated for removal
+            this.passivation.discard(key);
         }
+    }
 
-        @Override
-        public synchronized void run() {
-            if (!Thread.currentThread().isInterrupted()) {
-                SimpleCache.this.remove(this.key);
+    /**
+     * Passivates the least recently released beans, until no more than the maximum number of beans remain on heap.
+     * A bean is claimed for passivation via the state of its entry, and is only removed from the map once it was stored,
+     * so that the marshalling happens outside of any map operation.
+     */
+    void passivate() {
+        while (this.entries.size() > this.passivation.getMaxSize()) {
+            K key = this.passivation.eldest();
+            if (key == null) return;
+            Entry<V> entry = this.entries.get(key);
+            if ((entry != null) && entry.passivating()) {
+                if (this.passivation.passivate(key, entry.getValue())) {
+                    this.entries.remove(key, entry);
+                    // Threads waiting for this entry activate the bean again
+                    entry.removed();
+                } else {
+                    entry.available();
+                }
             }
-            SimpleCache.this.expirationFutures.remove(this.key);
         }
     }
 
+    /**
+     * The on-heap entry of a bean.
+     * While a bean is activated or passivated, its entry is pending, and threads looking it up wait for the outcome.
+     */
     static class Entry<V> {
-        private final V value;
-        private final AtomicInteger usage = new AtomicInteger();
+        private enum State { AVAILABLE, ACTIVATING, PASSIVATING, REMOVED }
+
+        private V value;
+        private int usage = 0;
+        private State state;
 
         Entry(V value) {
             this.value = value;
+            this.state = State.AVAILABLE;
+        }
+
+        /**
+         * Creates a pending entry, for a bean that is about to be activated.
+         */
+        Entry() {
+            this.state = State.ACTIVATING;
+        }
+
+        /**
+         * Marks the bean as used, waiting for a pending activation or passivation.
+         *
+         * @return true, if the bean was marked as used, false if this entry was removed
+         */
+        synchronized boolean use() {
+            if (!this.await()) return false;
+            this.usage += 1;
+            return true;
+        }
+
+        synchronized boolean done() {
+            this.usage -= 1;
+            return this.usage == 0;
+        }
+
+        synchronized boolean isInUse() {
+            return this.usage > 0;
+        }
+
+        synchronized boolean isRemoved() {
+            return this.state == State.REMOVED;
+        }
+
+        /**
+         * Claims the unused bean for passivation.
+         *
+         * @return true, if the bean was claimed, false if it is in use or pending
+         */
+        synchronized boolean passivating() {
+            if ((this.state != State.AVAILABLE) || (this.usage > 0)) return false;
+            this.state = State.PASSIVATING;
+            return true;
         }
 
-        void use() {
-            this.usage.incrementAndGet();
+        /**
+         * Publishes the activated bean of this pending entry.
+         */
+        synchronized void activated(V value) {
+            this.value = value;
+            this.transition(State.AVAILABLE);
         }
 
-        boolean done() {
-            return this.usage.decrementAndGet() == 0;
+        /**
+         * Makes the bean available again, after it could not be passivated.
+         */
+        synchronized void available() {
+            this.transition(State.AVAILABLE);
         }
 
-        V getValue() {
+        /**
+         * Marks this entry as removed, i.e. as its bean was passivated, could not be activated, or was destroyed.
+         */
+        synchronized void removed() {
+            this.transition(State.REMOVED);
+        }
+
+        /**
+         * Marks this entry as removed, waiting for a pending activation or passivation.
+         *
+         * @return true, if this entry was removed by this invocation, false if it was removed already
+         */
+        synchronized boolean remove() {
+            if (!this.await()) return false;
+            this.transition(State.REMOVED);
+            return true;
+        }
+
+        /**
+         * Marks this entry as removed, unless its bean is in use, waiting for a pending activation or passivation.
+         *
+         * @return true, if this entry was removed by this invocation, false if it is in use or was removed already
+         */
+        synchronized boolean expire() {
+            if (!this.await() || (this.usage > 0)) return false;
+            this.transition(State.REMOVED);
+            return true;
+        }
+
+        synchronized V getValue() {
             return this.value;
         }
+
+        private void transition(State state) {
+            this.state = state;
+            this.notifyAll();
+        }
+
+        /**
+         * Waits until this entry is no longer pending.
+         *
+         * @return true, if the bean is available, false if this entry was removed
+         */
+        private boolean await() {
+            boolean interrupted = false;
+            while ((this.state == State.ACTIVATING) || (this.state == State.PASSIVATING)) {
+                try {
+                    this.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return this.state == State.AVAILABLE;
+        }
     }
 }
@@ -57,10 +57,24 @@ public class SimpleCacheFactoryBuilderService<K, V extends Identifiable<K>> exte
     });
 
     private final String name;
+    private final long expirationTick;
+    private final int passivationMaxSize;
+    private final int passivationSegmentSize;
+    private final int passivationMaxSegments;
 
-    public SimpleCacheFactoryBuilderService(String name) {
+    /**
+     * @param expirationTick the granularity, in milliseconds, with which released beans are expired
+     * @param passivationMaxSize the maximum number of passivation capable beans per component held on heap, or 0 if beans are never passivated
+     * @param passivationSegmentSize the size, in bytes, of a segment of passivated beans
+     * @param passivationMaxSegments the maximum number of segments of passivated beans per component
+     */
+    public SimpleCacheFactoryBuilderService(String name, long expirationTick, int passivationMaxSize, int passivationSegmentSize, int passivationMaxSegments) {
         super(name);
         this.name = name;
+        this.expirationTick = expirationTick;
+        this.passivationMaxSize = passivationMaxSize;
+        this.passivationSegmentSize = passivationSegmentSize;
+        this.passivationMaxSegments = passivationMaxSegments;
     }
 
     @Override
@@ -75,11 +89,11 @@ public class SimpleCacheFactoryBuilderService<K, V extends Identifiable<K>> exte
 
     @Override
     public ServiceBuilder<? extends CacheFactory<K, V>> build(ServiceTarget target, ServiceName name, BeanContext context, StatefulTimeoutInfo timeout) {
-        return SimpleCacheFactoryService.build(this.name, target, name, context, timeout);
+        return SimpleCacheFactoryService.build(this.name, target, name, context, timeout, this.expirationTick, this.passivationMaxSize, this.passivationSegmentSize, this.passivationMaxSegments);
     }
 
     @Override
     public boolean supportsPassivation() {
-        return false;
+        return this.passivationMaxSize > 0;
     }
 }
@@ -27,6 +27,8 @@ import org.jboss.as.ejb3.cache.Cache;
 import org.jboss.as.ejb3.cache.CacheFactory;
 import org.jboss.as.ejb3.cache.Identifiable;
 import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.MarshallingConfigurationRepositoryValue;
+import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.ServerEnvironmentService;
@@ -38,6 +40,9 @@ import org.jboss.msc.value.InjectedValue;
 import org.wildfly.clustering.ejb.BeanContext;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContextFactory;
 
 /**
  * Service that provides a simple {@link CacheFactory}.
@@ -49,20 +54,38 @@ import org.wildfly.clustering.ejb.PassivationListener;
  */
 public class SimpleCacheFactoryService<K, V extends Identifiable<K>> extends AbstractService<CacheFactory<K, V>> implements CacheFactory<K, V> {
 
-    public static <K, V extends Identifiable<K>> ServiceBuilder<CacheFactory<K, V>> build(String name, ServiceTarget target, ServiceName serviceName, BeanContext context, StatefulTimeoutInfo timeout) {
-        SimpleCacheFactoryService<K, V> service = new SimpleCacheFactoryService<>(timeout);
-        return target.addService(serviceName, service)
+    public static final int DEFAULT_PASSIVATION_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final int DEFAULT_PASSIVATION_MAX_SEGMENTS = 64;
+
+    public static <K, V extends Identifiable<K>> ServiceBuilder<CacheFactory<K, V>> build(String name, ServiceTarget target, ServiceName serviceName, BeanContext context, StatefulTimeoutInfo timeout, long expirationTick, int passivationMaxSize, int passivationSegmentSize, int passivationMaxSegments) {
+        SimpleCacheFactoryService<K, V> service = new SimpleCacheFactoryService<>(context, timeout, expirationTick, passivationMaxSize, passivationSegmentSize, passivationMaxSegments);
+        ServiceBuilder<CacheFactory<K, V>> builder = target.addService(serviceName, service)
                 .addDependency(ServerEnvironmentService.SERVICE_NAME, ServerEnvironment.class, service.environment)
                 .addDependency(context.getDeploymentUnitServiceName().append(name, "expiration"), ScheduledExecutorService.class, service.executor)
         ;
+        if (service.passivationMaxSize > 0) {
+            builder.addDependency(MarshallingConfigurationRepositoryValue.getServiceName(context.getDeploymentUnitServiceName()), MarshallingConfigurationRepository.class, service.repository);
+        }
+        return builder;
     }
 
     private final InjectedValue<ServerEnvironment> environment = new InjectedValue<>();
     private final InjectedValue<ScheduledExecutorService> executor = new InjectedValue<>();
+    private final InjectedValue<MarshallingConfigurationRepository> repository = new InjectedValue<>();
+    private final BeanContext context;
     private final StatefulTimeoutInfo timeout;
+    private final long expirationTick;
+    private final int passivationMaxSize;
+    private final int passivationSegmentSize;
+    private final int passivationMaxSegments;
 
-    private SimpleCacheFactoryService(StatefulTimeoutInfo timeout) {
+    private SimpleCacheFactoryService(BeanContext context, StatefulTimeoutInfo timeout, long expirationTick, int passivationMaxSize, int passivationSegmentSize, int passivationMaxSegments) {
+        this.context = context;
         this.timeout = timeout;
+        this.expirationTick = expirationTick;
+        this.passivationMaxSize = passivationMaxSize;
+        this.passivationSegmentSize = passivationSegmentSize;
+        this.passivationMaxSegments = passivationMaxSegments;
     }
 
     @Override
@@ -72,6 +95,17 @@ public class SimpleCacheFactoryService<K, V extends Identifiable<K>> extends Abs
 
     @Override
     public Cache<K, V> createCache(IdentifierFactory<K> identifierFactory, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
-        return new SimpleCache<>(factory, identifierFactory, this.timeout, this.environment.getValue(), this.executor.getValue());
+        return new SimpleCache<>(factory, identifierFactory, this.timeout, this.environment.getValue(), this.executor.getValue(), this.expirationTick, this.createPassivation(passivationListener));
+    }
+
+    private OffHeapPassivation<K, V> createPassivation(PassivationListener<V> passivationListener) {
+        // Beans that are not passivation capable share the same cache factories, see @Stateful(passivationCapable = false)
+        if ((this.passivationMaxSize <= 0) || !(passivationListener instanceof StatefulSessionComponent) || !((StatefulSessionComponent) passivationListener).isPassivationCapable()) {
+            return null;
+        }
+        StatefulSessionComponent component = (StatefulSessionComponent) passivationListener;
+        FileSegmentStore<K> store = new FileSegmentStore<>(this.environment.getValue().getServerTempDir(), "passivation-" + this.context.getBeanName().replaceAll("[^\\w.-]", "_"), this.passivationSegmentSize, this.passivationMaxSegments);
+        MarshallingContext marshallingContext = new SimpleMarshallingContextFactory().createMarshallingContext(this.repository.getValue(), this.context.getClassLoader());
+        return new OffHeapPassivation<>(store, marshallingContext, passivationListener, component.getInvocationMetrics(), this.passivationMaxSize);
     }
 }
@@ -83,6 +83,7 @@ import org.jboss.as.ejb3.deployment.EjbJarDescription;
 import org.jboss.as.ejb3.deployment.ModuleDeployment;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.remote.EJBRemoteTransactionsViewConfigurator;
+import org.jboss.as.ejb3.remote.LocalInvocationCloner;
 import org.jboss.as.ejb3.security.ApplicationSecurityDomainConfig;
 import org.jboss.as.ejb3.security.EJBMethodSecurityAttribute;
 import org.jboss.as.ejb3.security.EJBSecurityViewConfigurator;
@@ -113,6 +114,7 @@ import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
 import org.jboss.metadata.ejb.spec.EnterpriseBeanMetaData;
 import org.jboss.metadata.javaee.spec.SecurityRolesMetaData;
 import org.jboss.msc.service.Service;
@@ -500,6 +502,15 @@ public abstract class EJBComponentDescription extends ComponentDescription {
                     }
                 });
             }
+            // plan the cloning of in-VM invocations on the view up front, the cloner lives as long as the deployment
+            view.getConfigurators().add(new ViewConfigurator() {
+                @Override
+                public void configure(final DeploymentPhaseContext context, final ComponentConfiguration componentConfiguration, final ViewDescription description, final ViewConfiguration configuration) throws DeploymentUnitProcessingException {
+                    final LocalInvocationCloner cloner = new LocalInvocationCloner(new ClassLoaderClassCloner(componentConfiguration.getModuleClassLoader()));
+                    cloner.prepare(configuration.getViewClass().getMethods());
+                    configuration.putPrivateData(LocalInvocationCloner.class, cloner);
+                }
+            });
             // add the remote tx propagating interceptor
             view.getConfigurators().add(new EJBRemoteTransactionsViewConfigurator());
         }
@@ -21,8 +21,11 @@
  */
 package org.jboss.as.ejb3.component.invocationmetrics;
 
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.interceptors.AbstractEJBInterceptor;
+import org.jboss.as.ejb3.pool.WaitTimeListener;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
@@ -39,16 +42,23 @@ public class ExecutionTimeInterceptor extends AbstractEJBInterceptor {
     @Override
     public Object processInvocation(final InterceptorContext context) throws Exception {
         final EJBComponent component = getComponent(context, EJBComponent.class);
-        if (!component.isStatisticsEnabled())
+        final WaitTimeListener listener = WaitTimeInterceptor.getWaitTimeListener(component);
+        final boolean statisticsEnabled = component.isStatisticsEnabled();
+        if (!statisticsEnabled && listener == null)
             return context.proceed();
         final Long startWaitTime = (Long) context.getPrivateData(WaitTimeInterceptor.START_WAIT_TIME);
-        final long waitTime = startWaitTime != null && startWaitTime != 0L ? System.currentTimeMillis() - startWaitTime : 0L;
+        // Measured on the monotonic clock, so that wall clock adjustments cannot distort the wait time observed by the pool
+        final long waitTime = startWaitTime != null ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startWaitTime) : 0L;
+        if (listener != null)
+            listener.recordWaitTime(waitTime);
+        if (!statisticsEnabled)
+            return context.proceed();
         component.getInvocationMetrics().startInvocation();
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         try {
             return context.proceed();
         } finally {
-            final long executionTime = System.currentTimeMillis() - start;
+            final long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             component.getInvocationMetrics().finishInvocation(context.getMethod(), waitTime, executionTime);
         }
     }
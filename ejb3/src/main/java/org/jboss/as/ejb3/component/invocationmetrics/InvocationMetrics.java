@@ -22,17 +22,23 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Invocation metrics of a component, in total and per method, along with the time spent cloning the parameters and
+ * results of in-VM invocations on its remote views and waiting for container managed concurrency locks.
+ * <p/>
+ * Recording an invocation only increments striped counters and a fixed-bucket {@link LatencyHistogram} of the
+ * method, so it neither allocates nor retries under contention. {@link Values} are snapshots taken on read.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -40,11 +46,17 @@ public class InvocationMetrics {
         final long invocations;
         final long executionTime;
         final long waitTime;
+        final long executionTime50;
+        final long executionTime99;
+        final long executionTime999;
 
-        private Values(final long invocations, final long waitTime, final long executionTime) {
+        private Values(final long invocations, final long waitTime, final long executionTime, final long[] executionTimes) {
             this.invocations = invocations;
             this.executionTime = executionTime;
             this.waitTime = waitTime;
+            this.executionTime50 = LatencyHistogram.percentile(executionTimes, 0.5);
+            this.executionTime99 = LatencyHistogram.percentile(executionTimes, 0.99);
+            this.executionTime999 = LatencyHistogram.percentile(executionTimes, 0.999);
         }
 
         public long getExecutionTime() {
@@ -58,40 +70,233 @@ public class InvocationMetrics {
         public long getWaitTime() {
             return waitTime;
         }
+
+        /**
+         * @return the median execution time of a single invocation
+         */
+        public long getExecutionTime50() {
+            return executionTime50;
+        }
+
+        /**
+         * @return the 99th percentile of the execution time of a single invocation
+         */
+        public long getExecutionTime99() {
+            return executionTime99;
+        }
+
+        /**
+         * @return the 99.9th percentile of the execution time of a single invocation
+         */
+        public long getExecutionTime999() {
+            return executionTime999;
+        }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    /**
+     * Metrics of a timed activity other than an invocation, e.g. cloning or waiting for a lock, in microseconds.
+     */
+    public static class TimeValues {
+        final long count;
+        final long time;
+        final long time50;
+        final long time99;
+
+        private TimeValues(final long count, final long time, final long[] times) {
+            this.count = count;
+            this.time = time;
+            this.time50 = LatencyHistogram.percentile(times, 0.5);
+            this.time99 = LatencyHistogram.percentile(times, 0.99);
+        }
+
+        /**
+         * @return the number of recorded activities
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the total time spent, in microseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * @return the median time of a single activity, in microseconds
+         */
+        public long getTime50() {
+            return time50;
+        }
+
+        /**
+         * @return the 99th percentile of the time of a single activity, in microseconds
+         */
+        public long getTime99() {
+            return time99;
+        }
+    }
+
+    private static class TimeAccumulator {
+        final LongAdder count = new LongAdder();
+        final LongAdder time = new LongAdder();
+        final LatencyHistogram times = new LatencyHistogram();
+
+        void record(final long nanos) {
+            // these activities usually take well below a millisecond, so the histogram counts microseconds instead
+            final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            count.increment();
+            time.add(micros);
+            times.record(micros);
+        }
+
+        TimeValues toValues() {
+            final long[] counts = new long[LatencyHistogram.size()];
+            times.addTo(counts);
+            return new TimeValues(count.sum(), time.sum(), counts);
+        }
+    }
+
+    private static class Accumulator {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+        final LatencyHistogram executionTimes = new LatencyHistogram();
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+            executionTimes.record(invocationExecutionTime);
+        }
+    }
+
+    /**
+     * Sums the accumulators of one or more methods into a {@link Values} snapshot.
+     */
+    private static class Collector {
+        long invocations;
+        long executionTime;
+        long waitTime;
+        final long[] executionTimes = new long[LatencyHistogram.size()];
+
+        void add(final Accumulator accumulator) {
+            invocations += accumulator.invocations.sum();
+            executionTime += accumulator.executionTime.sum();
+            waitTime += accumulator.waitTime.sum();
+            accumulator.executionTimes.addTo(executionTimes);
+        }
+
+        Values toValues() {
+            return new Values(invocations, waitTime, executionTime, executionTimes);
+        }
+    }
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder executionTime = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    private final ConcurrentMap<Method, Accumulator> methods = new ConcurrentHashMap<Method, Accumulator>();
+    private final ConcurrentMap<String, TimeAccumulator> clones = new ConcurrentHashMap<String, TimeAccumulator>();
+    private final ConcurrentMap<String, TimeAccumulator> lockWaits = new ConcurrentHashMap<String, TimeAccumulator>();
+    private final ConcurrentMap<String, TimeAccumulator> passivationEvents = new ConcurrentHashMap<String, TimeAccumulator>();
 
     void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
+        invocations.increment();
+        waitTime.add(invocationWaitTime);
+        executionTime.add(invocationExecutionTime);
+        accumulator(method).record(invocationWaitTime, invocationExecutionTime);
+    }
+
+    private Accumulator accumulator(final Method method) {
+        Accumulator accumulator = methods.get(method);
+        if (accumulator == null) {
+            accumulator = new Accumulator();
+            final Accumulator previous = methods.putIfAbsent(method, accumulator);
+            if (previous != null)
+                accumulator = previous;
         }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        return accumulator;
+    }
+
+    /**
+     * Records the time spent cloning the parameters, the result or the exception of an in-VM invocation on a remote view.
+     *
+     * @param viewClassName the class name of the invoked view
+     * @param cloneTime the time spent cloning, in nanoseconds
+     */
+    public void finishClone(final String viewClassName, final long cloneTime) {
+        accumulator(clones, viewClassName).record(cloneTime);
+    }
+
+    /**
+     * Returns a snapshot of the clone metrics per remote view.
+     *
+     * @return metric values keyed by view class name
+     */
+    public Map<String, TimeValues> getCloneTimes() {
+        return toTimeValues(clones);
+    }
+
+    /**
+     * Records the time an invocation waited to obtain a container managed concurrency lock.
+     *
+     * @param lockType the name of the lock type, i.e. READ or WRITE
+     * @param waitTime the time spent waiting, in nanoseconds
+     */
+    public void finishLockWait(final String lockType, final long waitTime) {
+        accumulator(lockWaits, lockType).record(waitTime);
+    }
+
+    /**
+     * Returns a snapshot of the lock wait metrics per lock type.
+     *
+     * @return metric values keyed by lock type
+     */
+    public Map<String, TimeValues> getLockWaitTimes() {
+        return toTimeValues(lockWaits);
+    }
+
+    /**
+     * Records the time spent passivating or activating a stateful session bean, including its marshalling.
+     *
+     * @param event the name of the event, i.e. passivate or activate
+     * @param eventTime the time spent, in nanoseconds
+     */
+    public void finishPassivationEvent(final String event, final long eventTime) {
+        accumulator(passivationEvents, event).record(eventTime);
+    }
+
+    /**
+     * Returns a snapshot of the passivation metrics per event.
+     *
+     * @return metric values keyed by event name
+     */
+    public Map<String, TimeValues> getPassivationTimes() {
+        return toTimeValues(passivationEvents);
+    }
+
+    private static TimeAccumulator accumulator(final ConcurrentMap<String, TimeAccumulator> accumulators, final String key) {
+        TimeAccumulator accumulator = accumulators.get(key);
+        if (accumulator == null) {
+            accumulator = new TimeAccumulator();
+            final TimeAccumulator previous = accumulators.putIfAbsent(key, accumulator);
+            if (previous != null)
+                accumulator = previous;
         }
+        return accumulator;
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    private static Map<String, TimeValues> toTimeValues(final ConcurrentMap<String, TimeAccumulator> accumulators) {
+        final Map<String, TimeValues> result = new TreeMap<String, TimeValues>();
+        for (final Map.Entry<String, TimeAccumulator> entry : accumulators.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toValues());
         }
-        return ref;
+        return Collections.unmodifiableMap(result);
     }
 
     public long getConcurrent() {
@@ -99,62 +304,57 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return executionTime.sum();
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return invocations.sum();
     }
 
+    /**
+     * Returns a snapshot of the metrics per method name, i.e. overloaded methods are summed up.
+     *
+     * @return metric values keyed by method name
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        final Map<String, Collector> collectors = new HashMap<String, Collector>();
+        for (final Map.Entry<Method, Accumulator> entry : methods.entrySet()) {
+            collectors.computeIfAbsent(entry.getKey().getName(), name -> new Collector()).add(entry.getValue());
+        }
+        return toValues(collectors);
+    }
+
+    /**
+     * Returns a snapshot of the metrics per method signature, e.g. {@code doIt(java.lang.String,int)}.
+     *
+     * @return metric values keyed by method signature
+     */
+    public Map<String, Values> getMethodSignatures() {
+        final Map<String, Collector> collectors = new HashMap<String, Collector>();
+        for (final Map.Entry<Method, Accumulator> entry : methods.entrySet()) {
+            // methods of different view classes may share a signature
+            collectors.computeIfAbsent(signature(entry.getKey()), name -> new Collector()).add(entry.getValue());
+        }
+        return toValues(collectors);
+    }
+
+    private static Map<String, Values> toValues(final Map<String, Collector> collectors) {
+        final Map<String, Values> result = new TreeMap<String, Values>();
+        for (final Map.Entry<String, Collector> entry : collectors.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toValues());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    static String signature(final Method method) {
+        final StringBuilder builder = new StringBuilder(method.getName()).append('(');
+        final Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0)
+                builder.append(',');
+            builder.append(types[i].getTypeName());
+        }
+        return builder.append(')').toString();
     }
 
     public long getPeakConcurrent() {
@@ -162,7 +362,7 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return waitTime.sum();
     }
 
     void startInvocation() {
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear histogram of latencies in milliseconds.
+ * <p/>
+ * Values below 32 are counted exactly. Larger values fall into buckets of 16 sub-buckets per power of two, which
+ * bounds the relative error to ~6%. Values beyond ~70 minutes are counted in the last bucket.
+ * Recording a value is a single atomic increment and never allocates.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final long MAX_VALUE = (1L << 22) - 1;
+    private static final int BUCKET_COUNT = index(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (value > 0) ? (int) value : 0;
+        }
+        long clamped = Math.min(value, MAX_VALUE);
+        int shift = (63 - Long.numberOfLeadingZeros(clamped)) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (clamped >>> shift);
+    }
+
+    /**
+     * Returns the highest value that is counted in the bucket with the specified index.
+     */
+    static long highestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) >>> SUB_BUCKET_BITS;
+        long subBucket = index - (shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    void record(long value) {
+        this.counts.incrementAndGet(index(value));
+    }
+
+    /**
+     * Adds the counts of this histogram to the specified array, which must have {@link #size()} elements.
+     */
+    void addTo(long[] counts) {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] += this.counts.get(i);
+        }
+    }
+
+    static int size() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * Returns the value below which the specified fraction of the counted values fall.
+     *
+     * @param counts bucket counts, as collected by {@link #addTo(long[])}
+     * @param fraction the fraction, e.g. 0.99 for the 99th percentile
+     * @return the highest value of the bucket containing the percentile, or 0 if nothing was counted
+     */
+    static long percentile(long[] counts, double fraction) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(fraction * total), 1L);
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(counts.length - 1);
+    }
+}
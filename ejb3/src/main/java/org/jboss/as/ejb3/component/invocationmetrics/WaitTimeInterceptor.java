@@ -23,6 +23,9 @@ package org.jboss.as.ejb3.component.invocationmetrics;
 
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.interceptors.AbstractEJBInterceptor;
+import org.jboss.as.ejb3.component.pool.PooledComponent;
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.WaitTimeListener;
 import org.jboss.invocation.ImmediateInterceptorFactory;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
@@ -41,9 +44,22 @@ public class WaitTimeInterceptor extends AbstractEJBInterceptor {
     @Override
     public Object processInvocation(final InterceptorContext context) throws Exception {
         final EJBComponent component = getComponent(context, EJBComponent.class);
-        if (component.isStatisticsEnabled()) {
-            context.putPrivateData(START_WAIT_TIME, System.currentTimeMillis());
+        if (component.isStatisticsEnabled() || getWaitTimeListener(component) != null) {
+            context.putPrivateData(START_WAIT_TIME, System.nanoTime());
         }
         return context.proceed();
     }
+
+    /**
+     * Returns the pool of the specified component, if it needs to observe the wait time of invocations.
+     */
+    static WaitTimeListener getWaitTimeListener(final EJBComponent component) {
+        if (component instanceof PooledComponent) {
+            final Pool<?> pool = ((PooledComponent<?>) component).getPool();
+            if (pool instanceof WaitTimeListener) {
+                return (WaitTimeListener) pool;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.adaptive.AdaptivePool;
+
+/**
+ * Configuration of an {@link AdaptivePool}, whose max pool size is the upper bound of the adaptive target size.
+ */
+public class AdaptivePoolConfig extends StrictMaxPoolConfig {
+
+    public static final int DEFAULT_MIN_POOL_SIZE = 1;
+
+    public static final long DEFAULT_TARGET_WAIT_TIME = 10;
+
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    public static final long DEFAULT_ADJUSTMENT_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private volatile int minPoolSize;
+
+    private volatile long targetWaitTime;
+
+    private volatile long idleTimeout;
+
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * @param targetWaitTime the average invocation wait time, in milliseconds, above which pools grow
+     * @param idleTimeout the time, in milliseconds, after which idle instances are destroyed
+     */
+    public AdaptivePoolConfig(final String poolName, int minSize, int maxSize, long targetWaitTime, long idleTimeout, long timeout, TimeUnit timeUnit) {
+        super(poolName, maxSize, timeout, timeUnit);
+        this.minPoolSize = minSize;
+        this.targetWaitTime = targetWaitTime;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
+        return new AdaptivePool<T>(statelessObjectFactory, this.minPoolSize, this.getMaxPoolSize(), this.targetWaitTime, this.idleTimeout, this.getTimeout(), this.getTimeoutUnit(), this.executor, DEFAULT_ADJUSTMENT_INTERVAL);
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(int minPoolSize) {
+        this.minPoolSize = minPoolSize;
+    }
+
+    public long getTargetWaitTime() {
+        return targetWaitTime;
+    }
+
+    public void setTargetWaitTime(long targetWaitTime) {
+        this.targetWaitTime = targetWaitTime;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    void setExecutor(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePoolConfig{" +
+                "name=" + this.poolName +
+                ", minPoolSize=" + minPoolSize +
+                ", maxPoolSize=" + this.getMaxPoolSize() +
+                ", targetWaitTime=" + targetWaitTime +
+                ", idleTimeout=" + idleTimeout +
+                ", timeoutUnit=" + this.getTimeoutUnit() +
+                ", timeout=" + this.getTimeout() +
+                '}';
+    }
+}
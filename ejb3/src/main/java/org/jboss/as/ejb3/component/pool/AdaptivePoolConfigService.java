@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.pool;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.pool.adaptive.AdaptivePool;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Service providing an {@link AdaptivePoolConfig}, along with the executor on which the pools created from it
+ * schedule their adjustments. The executor is shared by all adaptive pool configurations; its daemon thread
+ * terminates while no adjustment is scheduled.
+ */
+public class AdaptivePoolConfigService extends StrictMaxPoolConfigService {
+
+    private static final ThreadFactory THREAD_FACTORY = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+        @Override
+        public JBossThreadFactory run() {
+            return new JBossThreadFactory(new ThreadGroup(AdaptivePool.class.getSimpleName()), Boolean.TRUE, null, "%G - %t", null, null);
+        }
+    });
+    private static final ScheduledExecutorService EXECUTOR = createExecutor();
+
+    private static ScheduledExecutorService createExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private final AdaptivePoolConfig poolConfig;
+
+    public AdaptivePoolConfigService(final AdaptivePoolConfig poolConfig, Derive derive) {
+        super(poolConfig, derive);
+        this.poolConfig = poolConfig;
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        super.start(context);
+        this.poolConfig.setExecutor(EXECUTOR);
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        // Pools cancel their own adjustments when stopped, the shared executor is never shut down
+        this.poolConfig.setExecutor(null);
+        super.stop(context);
+    }
+
+    public void setMinPoolSize(int minPoolSize) {
+        this.poolConfig.setMinPoolSize(minPoolSize);
+    }
+
+    public void setTargetWaitTime(long targetWaitTime) {
+        this.poolConfig.setTargetWaitTime(targetWaitTime);
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.poolConfig.setIdleTimeout(idleTimeout);
+    }
+}
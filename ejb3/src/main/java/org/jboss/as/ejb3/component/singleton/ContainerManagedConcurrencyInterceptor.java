@@ -71,7 +71,8 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
             invokedMethod = method;
         }
         // get the Lock applicable for this method
-        Lock lock = getLock(lockableComponent, invokedMethod);
+        LockType lockType = lockableComponent.getLockType(invokedMethod);
+        Lock lock = getLock(lockableComponent, lockType, invokedMethod);
         // the default access timeout (will be used in the absence of any explicit access timeout value for the invoked method)
         AccessTimeoutDetails defaultAccessTimeout = lockableComponent.getDefaultAccessTimeout();
         // set to the default values
@@ -96,10 +97,14 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
                 unit = accessTimeoutOnMethod.getTimeUnit();
             }
         }
-        // try getting the lock
-        boolean success = lock.tryLock(time, unit);
-        if (!success) {
-            throw EjbLogger.ROOT_LOGGER.concurrentAccessTimeoutException(lockableComponent.getComponentName(), time + unit.name());
+        // try getting the lock, only contended acquisitions are timed
+        if (!lock.tryLock()) {
+            long start = System.nanoTime();
+            boolean success = lock.tryLock(time, unit);
+            lockableComponent.getInvocationMetrics().finishLockWait(lockType.name(), System.nanoTime() - start);
+            if (!success) {
+                throw EjbLogger.ROOT_LOGGER.concurrentAccessTimeoutException(lockableComponent.getComponentName(), time + unit.name());
+            }
         }
         try {
             // lock obtained. now proceed!
@@ -109,8 +114,7 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
         }
     }
 
-    private Lock getLock(SingletonComponent lockableComponent, Method method) {
-        LockType lockType = lockableComponent.getLockType(method);
+    private Lock getLock(SingletonComponent lockableComponent, LockType lockType, Method method) {
         switch (lockType) {
             case READ:
                 return lockableComponent.getLock().readLock();
@@ -74,9 +74,9 @@ public class SingletonComponent extends SessionBeanComponent {
     private final Object creationLock = new Object();
 
     /**
-     * A spec compliant {@link EJBReadWriteLock}
+     * A spec compliant {@link EJBReadWriteLock} or {@link StripedEJBReadWriteLock}
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock;
 
     /**
      * Construct a new instance.
@@ -94,6 +94,13 @@ public class SingletonComponent extends SessionBeanComponent {
         this.methodLockTypes = singletonComponentCreateService.getMethodApplicableLockTypes();
         this.methodAccessTimeouts = singletonComponentCreateService.getMethodApplicableAccessTimeouts();
         this.defaultAccessTimeoutProvider = singletonComponentCreateService.getDefaultAccessTimeoutService();
+        this.readWriteLock = createLock(singletonComponentCreateService.getLockMode(), this.beanLevelLockType, this.methodLockTypes);
+    }
+
+    private static ReadWriteLock createLock(final SingletonLockMode lockMode, final Map<String, LockType> beanLevelLockType, final Map<EJBBusinessMethod, LockType> methodLockTypes) {
+        // the striped lock only pays off for beans with read locked methods
+        final boolean read = beanLevelLockType.containsValue(LockType.READ) || methodLockTypes.containsValue(LockType.READ);
+        return read ? lockMode.createLock() : new EJBReadWriteLock();
     }
 
     @Override
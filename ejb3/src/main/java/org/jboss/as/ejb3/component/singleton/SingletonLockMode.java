@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * The container managed concurrency lock of singletons with read locked methods.
+ * Singletons without read locked methods always use a {@link EJBReadWriteLock}.
+ */
+public enum SingletonLockMode {
+    /**
+     * A {@link EJBReadWriteLock}, whose readers share a single counter.
+     */
+    STANDARD("standard") {
+        @Override
+        ReadWriteLock createLock() {
+            return new EJBReadWriteLock();
+        }
+    },
+    /**
+     * A {@link StripedEJBReadWriteLock} with a non-fair policy.
+     */
+    STRIPED("striped") {
+        @Override
+        ReadWriteLock createLock() {
+            return new StripedEJBReadWriteLock(false);
+        }
+    },
+    /**
+     * A {@link StripedEJBReadWriteLock} with a fair policy.
+     */
+    STRIPED_FAIR("striped-fair") {
+        @Override
+        ReadWriteLock createLock() {
+            return new StripedEJBReadWriteLock(true);
+        }
+    },
+    ;
+
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "singleton", "lock-mode");
+
+    private final String name;
+
+    SingletonLockMode(String name) {
+        this.name = name;
+    }
+
+    abstract ReadWriteLock createLock();
+
+    public static SingletonLockMode forName(String name) {
+        for (SingletonLockMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} for read-mostly singletons, whose read lock scales with the number of concurrent readers.
+ * <p/>
+ * Readers announce themselves by incrementing one of a number of striped counters, each on its own cache line, rather
+ * than a single shared reader count. A writer first takes a mutex, which excludes other writers, then flags itself as
+ * pending and waits for the sum of the reader counters to drop to zero. Readers that find a writer pending withdraw and
+ * queue on the mutex, so a steady stream of readers cannot starve writers. A thread that already holds the read lock is
+ * never queued behind a pending writer, since that writer would wait for it.
+ * <p/>
+ * With a fair policy, readers also queue on the mutex while any thread is waiting for it, and the mutex hands out the
+ * lock in arrival order.
+ * <p/>
+ * As with {@link EJBReadWriteLock}, a thread holding a read lock gets an {@link javax.ejb.IllegalLoopbackException}
+ * when it requests the write lock.
+ */
+public class StripedEJBReadWriteLock implements ReadWriteLock {
+
+    /**
+     * Distance between two reader counters, in longs, so that each stripe occupies its own cache line.
+     */
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray readers;
+    private final int mask;
+    private final boolean fair;
+    private final ReentrantLock mutex;
+    private final ThreadLocal<int[]> readHolds = ThreadLocal.withInitial(() -> new int[1]);
+    private volatile boolean writerPending;
+    private volatile Thread writer;
+
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    /**
+     * Creates a lock with one reader counter per available processor.
+     *
+     * @param fair whether readers and writers are granted the lock in arrival order once a writer is involved
+     */
+    public StripedEJBReadWriteLock(boolean fair) {
+        this(Runtime.getRuntime().availableProcessors(), fair);
+    }
+
+    /**
+     * Creates a lock.
+     *
+     * @param stripeCount the requested number of reader counters, rounded up to a power of two
+     * @param fair whether readers and writers are granted the lock in arrival order once a writer is involved
+     */
+    public StripedEJBReadWriteLock(int stripeCount, boolean fair) {
+        int count = Integer.highestOneBit(Math.max(stripeCount, 1));
+        if (count < stripeCount) {
+            count <<= 1;
+        }
+        this.mask = count - 1;
+        this.readers = new AtomicLongArray(count * PADDING);
+        this.fair = fair;
+        this.mutex = new ReentrantLock(fair);
+    }
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    private int index() {
+        long id = Thread.currentThread().getId();
+        // spread the bits, thread ids are usually allocated sequentially
+        int hash = (int) (id ^ (id >>> 32));
+        hash ^= (hash >>> 16);
+        return (hash & this.mask) * PADDING;
+    }
+
+    private long readerCount() {
+        long count = 0;
+        for (int i = 0; i < this.readers.length(); i += PADDING) {
+            count += this.readers.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Registers the current thread as reader unless a writer is pending, or queued in fair mode.
+     */
+    private boolean tryAcquireShared(int index) {
+        if (this.writerPending || (this.fair && this.mutex.hasQueuedThreads())) {
+            return false;
+        }
+        this.readers.incrementAndGet(index);
+        // the writer sets its flag before summing the counters, so either it sees this reader or this reader sees the flag
+        if (this.writerPending) {
+            this.releaseShared(index);
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseShared(int index) {
+        this.readers.decrementAndGet(index);
+        if (this.writerPending) {
+            Thread writer = this.writer;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
+    /**
+     * Waits for the active readers to leave, the current thread must hold the mutex and be flagged as pending writer.
+     *
+     * @param deadline the deadline as per {@link System#nanoTime()}, ignored unless {@code timed}
+     */
+    private boolean awaitReaders(boolean timed, long deadline, boolean interruptible) throws InterruptedException {
+        boolean interrupted = false;
+        try {
+            while (this.readerCount() != 0) {
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    if (interruptible) {
+                        throw new InterruptedException();
+                    }
+                    interrupted = true;
+                }
+            }
+            return true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link javax.ejb.IllegalLoopbackException}.
+     */
+    private void checkLoopback() {
+        if (this.readHolds.get()[0] > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+    }
+
+    public class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            int[] holds = readHolds.get();
+            int index = index();
+            if (holds[0] > 0) {
+                // a pending writer waits for this thread, so it must not queue behind the writer
+                readers.incrementAndGet(index);
+            } else if (!tryAcquireShared(index)) {
+                // a writer holds or waits for the lock, queue behind it
+                mutex.lock();
+                try {
+                    readers.incrementAndGet(index);
+                } finally {
+                    mutex.unlock();
+                }
+            }
+            holds[0] += 1;
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            int[] holds = readHolds.get();
+            int index = index();
+            if (holds[0] > 0) {
+                readers.incrementAndGet(index);
+            } else if (!tryAcquireShared(index)) {
+                mutex.lockInterruptibly();
+                try {
+                    readers.incrementAndGet(index);
+                } finally {
+                    mutex.unlock();
+                }
+            }
+            holds[0] += 1;
+        }
+
+        @Override
+        public boolean tryLock() {
+            int[] holds = readHolds.get();
+            int index = index();
+            if (holds[0] > 0) {
+                readers.incrementAndGet(index);
+            } else if (!tryAcquireShared(index)) {
+                if (!mutex.tryLock()) {
+                    return false;
+                }
+                try {
+                    readers.incrementAndGet(index);
+                } finally {
+                    mutex.unlock();
+                }
+            }
+            holds[0] += 1;
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            int[] holds = readHolds.get();
+            int index = index();
+            if (holds[0] > 0) {
+                readers.incrementAndGet(index);
+            } else if (!tryAcquireShared(index)) {
+                if (!mutex.tryLock(time, unit)) {
+                    return false;
+                }
+                try {
+                    readers.incrementAndGet(index);
+                } finally {
+                    mutex.unlock();
+                }
+            }
+            holds[0] += 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            int[] holds = readHolds.get();
+            if (holds[0] == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds[0] -= 1;
+            releaseShared(index());
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            checkLoopback();
+            mutex.lock();
+            try {
+                this.acquire(false, 0L, false);
+            } catch (InterruptedException e) {
+                // cannot happen, the wait is not interruptible
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            checkLoopback();
+            mutex.lockInterruptibly();
+            this.acquire(false, 0L, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            checkLoopback();
+            if (!mutex.tryLock()) {
+                return false;
+            }
+            try {
+                return this.acquire(true, System.nanoTime(), false);
+            } catch (InterruptedException e) {
+                // cannot happen, the wait is not interruptible
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            checkLoopback();
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            if (!mutex.tryLock(time, unit)) {
+                return false;
+            }
+            return this.acquire(true, deadline, true);
+        }
+
+        /**
+         * Completes the acquisition of the write lock once the mutex is held, releasing the mutex on failure.
+         */
+        private boolean acquire(boolean timed, long deadline, boolean interruptible) throws InterruptedException {
+            if (mutex.getHoldCount() > 1) {
+                // reentrant acquisition, the readers are already gone
+                return true;
+            }
+            writer = Thread.currentThread();
+            writerPending = true;
+            boolean acquired = false;
+            try {
+                acquired = awaitReaders(timed, deadline, interruptible);
+                return acquired;
+            } finally {
+                if (!acquired) {
+                    this.unlock();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            if (mutex.getHoldCount() == 1) {
+                writerPending = false;
+                writer = null;
+            }
+            mutex.unlock();
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -108,6 +108,8 @@ public class StatefulSessionComponent extends SessionBeanComponent implements St
 
     private final TimerService timerService;
 
+    private final boolean passivationCapable;
+
     /**
      * Construct a new instance.
      *
@@ -130,6 +132,7 @@ public class StatefulSessionComponent extends SessionBeanComponent implements St
         this.serialiableInterceptorContextKeys = ejbComponentCreateService.getSerializableInterceptorContextKeys();
         this.timerService = ejbComponentCreateService.getTimerService();
         this.cacheFactory = ejbComponentCreateService.getCacheFactory();
+        this.passivationCapable = ejbComponentCreateService.isPassivationCapable();
     }
 
     @Override
@@ -333,6 +336,15 @@ public class StatefulSessionComponent extends SessionBeanComponent implements St
         return this.ejb2XRemoveMethodInterceptor;
     }
 
+    /**
+     * Indicates whether instances of this component may be passivated.
+     *
+     * @return false, if passivation was disabled for this bean, true otherwise
+     */
+    public boolean isPassivationCapable() {
+        return this.passivationCapable;
+    }
+
     @Override
     public void init() {
         super.init();
@@ -3139,4 +3139,38 @@ public interface EjbLogger extends BasicLogger {
 
     @Message(id = 499, value = "Cannot read derived size - service %s unreachable")
     OperationFailedException cannotReadStrictMaxPoolDerivedSize(ServiceName serviceName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 500, value = "Failed to write %d timer updates to the database, they will be retried")
+    void failedToWriteTimerUpdates(int count, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 501, value = "Discarded %d bytes of incomplete or corrupt records at the end of timer journal %s")
+    void discardedTimerJournalTail(long bytes, File journal);
+
+    @LogMessage(level = INFO)
+    @Message(id = 502, value = "Migrated %d persistent timers of %s from XML files to timer journal %s")
+    void migratedTimersToJournal(int count, String timedObjectId, File journal);
+
+    @Message(id = 503, value = "%s is not a timer journal")
+    IOException invalidTimerJournal(File journal);
+
+    @LogMessage(level = WARN)
+    @Message(id = 504, value = "Failed to passivate stateful session bean %s, it will remain in memory")
+    void failedToPassivateBean(Object id, @Cause Throwable cause);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 505, value = "Failed to activate stateful session bean %s")
+    void failedToActivateBean(Object id, @Cause Throwable cause);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 506, value = "Failed to write the state of timer %s of %s to the database while stopping, this update is lost")
+    void lostTimerUpdate(String timerId, String timedObjectId, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 507, value = "Timer file %s was not migrated to timer journal %s, it is left in place but no longer read")
+    void timerFileNotMigrated(File timerFile, File journal);
+
+    @Message(id = 508, value = "Failed to load the persistent timers of %s from timer journal %s")
+    IllegalStateException failedToLoadTimerJournal(String timedObjectId, File journal, @Cause Throwable cause);
 }
@@ -0,0 +1,318 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.adaptive;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.WaitTimeListener;
+
+/**
+ * A pool whose permit budget, the target size, is adjusted at runtime between a minimum and a maximum size.
+ * <p/>
+ * The wait time of invocations is reported to the pool via {@link #recordWaitTime(long)}. On every adjustment, if the
+ * average wait time exceeded the target wait time while all permits were in use, the target size is doubled (capped
+ * at the max size). If some permits remained unused, the target size shrinks half the way towards the peak number of
+ * instances in use (bounded by the min size). Instances that stay idle for longer than the idle timeout are destroyed,
+ * as long as the pool holds more than min size instances.
+ * <p/>
+ * Adjustments are scheduled on the executor passed to the constructor, if any; otherwise {@link #adjust()} has to
+ * be triggered explicitly.
+ */
+public class AdaptivePool<T> extends AbstractPool<T> implements WaitTimeListener {
+
+    private final ResizableSemaphore semaphore;
+    private final Deque<Entry<T>> idle = new ConcurrentLinkedDeque<>();
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder invocations = new LongAdder();
+    private final AtomicInteger peakInUse = new AtomicInteger(0);
+    private final int minSize;
+    private final long targetWaitTime;
+    private final long idleTimeout;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private final ScheduledExecutorService executor;
+    private final long adjustmentInterval;
+
+    private volatile int maxSize;
+    private volatile int targetSize;
+    private volatile ScheduledFuture<?> adjustment;
+
+    /**
+     * Creates an adaptive pool.
+     *
+     * @param factory the factory of pooled instances
+     * @param minSize the minimum target size, which is also the initial target size
+     * @param maxSize the maximum target size
+     * @param targetWaitTime the average wait time, in milliseconds, above which the pool grows
+     * @param idleTimeout the time, in milliseconds, after which an idle instance is destroyed, or a non-positive value to keep idle instances
+     * @param timeout the time to wait for an instance
+     * @param timeUnit the unit of {@code timeout}
+     * @param executor the executor on which adjustments are scheduled, or null if {@link #adjust()} is triggered externally
+     * @param adjustmentInterval the interval, in milliseconds, between two adjustments
+     */
+    public AdaptivePool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long targetWaitTime, long idleTimeout, long timeout, TimeUnit timeUnit, ScheduledExecutorService executor, long adjustmentInterval) {
+        super(factory);
+        this.maxSize = Math.max(maxSize, 1);
+        this.minSize = Math.min(Math.max(minSize, 1), this.maxSize);
+        this.targetSize = this.minSize;
+        this.targetWaitTime = targetWaitTime;
+        this.idleTimeout = idleTimeout;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        this.executor = executor;
+        this.adjustmentInterval = adjustmentInterval;
+        this.semaphore = new ResizableSemaphore(this.targetSize);
+    }
+
+    @Override
+    public T get() {
+        try {
+            boolean acquired = this.semaphore.tryAcquire(this.timeout, this.timeUnit);
+            if (!acquired) {
+                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        }
+        this.recordInUse();
+
+        Entry<T> entry = this.idle.pollFirst();
+        if (entry != null) {
+            return entry.instance;
+        }
+
+        T bean = null;
+        try {
+            bean = this.create();
+        } finally {
+            if (bean == null) {
+                this.semaphore.release();
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.getAvailableCount(), this.targetSize, this);
+        }
+        try {
+            // Do not retain more instances than the target size, e.g. after the pool shrunk
+            if (this.getCurrentSize() > this.targetSize) {
+                this.destroy(obj);
+            } else {
+                // Most recently used first, so that the least recently used instances age at the tail
+                this.idle.offerFirst(new Entry<>(obj, System.nanoTime()));
+            }
+        } finally {
+            this.semaphore.release();
+        }
+    }
+
+    @Override
+    public void discard(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, obj);
+        }
+        this.semaphore.release();
+        this.doRemove(obj);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, obj);
+        }
+        this.semaphore.release();
+        this.doRemove(obj);
+    }
+
+    @Override
+    public void recordWaitTime(long waitTime) {
+        this.waitTime.add(waitTime);
+        this.invocations.increment();
+    }
+
+    private void recordInUse() {
+        int inUse = this.targetSize - this.semaphore.availablePermits();
+        int peak = this.peakInUse.get();
+        while ((inUse > peak) && !this.peakInUse.compareAndSet(peak, inUse)) {
+            peak = this.peakInUse.get();
+        }
+    }
+
+    /**
+     * Adjusts the target size to the wait time and usage observed since the previous adjustment,
+     * and destroys the instances that have been idle for too long.
+     */
+    public synchronized void adjust() {
+        long invocations = this.invocations.sumThenReset();
+        long waitTime = this.waitTime.sumThenReset();
+        int peak = this.peakInUse.getAndSet(0);
+        int target = this.targetSize;
+        if (peak >= target) {
+            if ((invocations > 0) && ((waitTime / invocations) > this.targetWaitTime)) {
+                // The pool was exhausted and invocations waited too long
+                this.resize(Math.min(target * 2, this.maxSize));
+            }
+        } else {
+            // Part of the permit budget remained unused
+            this.resize(Math.max(target - Math.max((target - peak) / 2, 1), this.minSize));
+        }
+        this.reap();
+    }
+
+    private synchronized void resize(int size) {
+        int delta = size - this.targetSize;
+        if (delta == 0) {
+            return;
+        }
+        if (ROOT_LOGGER.isDebugEnabled()) {
+            ROOT_LOGGER.debugf("Adjusting target size of %s from %d to %d", this, this.targetSize, size);
+        }
+        this.targetSize = size;
+        if (delta > 0) {
+            this.semaphore.release(delta);
+        } else {
+            // Instances in use will give back the reduced permits when released
+            this.semaphore.reducePermits(-delta);
+            while (this.getCurrentSize() > size) {
+                Entry<T> entry = this.idle.pollLast();
+                if (entry == null) {
+                    break;
+                }
+                this.destroy(entry.instance);
+            }
+        }
+    }
+
+    private void reap() {
+        if (this.idleTimeout <= 0L) {
+            return;
+        }
+        long threshold = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(this.idleTimeout);
+        Entry<T> entry = this.idle.peekLast();
+        while ((entry != null) && ((entry.timestamp - threshold) <= 0L) && (this.getCurrentSize() > this.minSize)) {
+            // Another thread may have taken the entry meanwhile
+            if (this.idle.removeLastOccurrence(entry)) {
+                this.destroy(entry.instance);
+            }
+            entry = this.idle.peekLast();
+        }
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return Math.max(this.semaphore.availablePermits(), 0);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(maxSize, this.minSize);
+        if (this.targetSize > this.maxSize) {
+            this.resize(this.maxSize);
+        }
+    }
+
+    public int getMinSize() {
+        return this.minSize;
+    }
+
+    /**
+     * Returns the current permit budget of this pool, i.e. the number of instances that may be in use at this time.
+     *
+     * @return the current target size
+     */
+    public int getTargetSize() {
+        return this.targetSize;
+    }
+
+    @Override
+    public void start() {
+        if (this.executor != null) {
+            this.adjustment = this.executor.scheduleWithFixedDelay(this::adjust, this.adjustmentInterval, this.adjustmentInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> adjustment = this.adjustment;
+        if (adjustment != null) {
+            adjustment.cancel(false);
+            this.adjustment = null;
+        }
+        for (Entry<T> entry = this.idle.pollFirst(); entry != null; entry = this.idle.pollFirst()) {
+            this.destroy(entry.instance);
+        }
+    }
+
+    private static class Entry<T> {
+        final T instance;
+        final long timestamp;
+
+        Entry(T instance, long timestamp) {
+            this.instance = instance;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Exposes {@link Semaphore#reducePermits(int)}, so that the permit budget can shrink while permits are in use.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = -3386183066014813405L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, false);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
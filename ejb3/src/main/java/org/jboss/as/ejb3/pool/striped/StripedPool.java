@@ -0,0 +1,300 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a strict maximum size, whose permits and idle instances are split across a number of stripes.
+ * <p/>
+ * A thread is mapped to a stripe by its id, so in the common case a get/release pair only touches the
+ * permit counter and instance queue of a single stripe. When the local stripe has no permit or no idle
+ * instance left, the other stripes are scanned and their permits or instances are stolen. Only when no permit
+ * is available anywhere does a caller fall back to blocking on a shared lock, until a permit is released or
+ * the instance acquisition timeout expires.
+ * <p/>
+ * The sum of all stripe permits never exceeds the configured max size, so the pool enforces the same global
+ * limit as {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}.
+ */
+public class StripedPool<T> extends AbstractPool<T> {
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    private final int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    /**
+     * Slow path used by callers that could not find a permit in any stripe.
+     * Only ever touched when the pool is exhausted.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = this.lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger(0);
+
+    /**
+     * Creates a striped pool.
+     *
+     * @param factory the factory of pooled instances
+     * @param maxSize the maximum number of instances that may be in use at any point in time
+     * @param stripeCount the requested number of stripes, rounded up to a power of two and capped at {@code maxSize}
+     * @param timeout the time to wait for an instance
+     * @param timeUnit the unit of {@code timeout}
+     */
+    @SuppressWarnings("unchecked")
+    public StripedPool(StatelessObjectFactory<T> factory, int maxSize, int stripeCount, long timeout, TimeUnit timeUnit) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        int count = stripeCount(Math.min(Math.max(stripeCount, 1), maxSize));
+        this.mask = count - 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; ++i) {
+            // distribute the permits as evenly as possible, the first stripes get the remainder
+            this.stripes[i] = new Stripe<>((maxSize / count) + ((i < (maxSize % count)) ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns the smallest power of two that is greater or equal to the specified value.
+     */
+    private static int stripeCount(int value) {
+        int result = Integer.highestOneBit(value);
+        return (result == value) ? result : result << 1;
+    }
+
+    /**
+     * Returns the default number of stripes, i.e. the number of available processors.
+     *
+     * @return the default number of stripes
+     */
+    public static int defaultStripeCount() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private int index() {
+        long id = Thread.currentThread().getId();
+        // spread the bits, thread ids are usually allocated sequentially
+        int hash = (int) (id ^ (id >>> 32));
+        hash ^= (hash >>> 16);
+        return hash & this.mask;
+    }
+
+    @Override
+    public T get() {
+        int index = this.index();
+        if (!this.tryAcquire(index)) {
+            this.acquire(index);
+        }
+
+        T bean = this.poll(index);
+        if (bean != null) {
+            return bean;
+        }
+
+        try {
+            // No idle instance in any stripe, create an instance
+            bean = this.create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit(index);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        int index = this.index();
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.getAvailableCount(), this.maxSize, this);
+        }
+        // A stolen instance may have been created while an idle instance was in flight, never retain more than maxSize
+        if (this.getCurrentSize() > this.maxSize) {
+            this.releasePermit(index);
+            this.destroy(obj);
+            return;
+        }
+        // The instance must be visible before the permit, so that a thread holding a permit will find it
+        this.stripes[index].instances.add(obj);
+        this.releasePermit(index);
+    }
+
+    @Override
+    public void discard(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, obj);
+        }
+        this.releasePermit(this.index());
+        this.doRemove(obj);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, obj);
+        }
+        this.releasePermit(this.index());
+        this.doRemove(obj);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        int count = 0;
+        for (Stripe<T> stripe : this.stripes) {
+            count += stripe.permits.get();
+        }
+        return count;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    /**
+     * Returns the number of stripes of this pool.
+     *
+     * @return the number of stripes
+     */
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start
+    }
+
+    @Override
+    public void stop() {
+        for (Stripe<T> stripe : this.stripes) {
+            for (T obj = stripe.instances.poll(); obj != null; obj = stripe.instances.poll()) {
+                this.destroy(obj);
+            }
+        }
+    }
+
+    /**
+     * Attempts to take a permit, starting with the specified stripe and stealing from the others.
+     */
+    private boolean tryAcquire(int index) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            if (this.stripes[(index + i) & this.mask].tryAcquire()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void acquire(int index) {
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        this.lock.lock();
+        try {
+            // Announce ourselves before re-checking, so that a concurrent release will signal us
+            this.waiters.incrementAndGet();
+            try {
+                while (!this.tryAcquire(index)) {
+                    if (remaining <= 0L) {
+                        throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                    }
+                    remaining = this.permitReleased.awaitNanos(remaining);
+                }
+            } finally {
+                this.waiters.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void releasePermit(int index) {
+        this.stripes[index].permits.incrementAndGet();
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.permitReleased.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Polls an idle instance, starting with the specified stripe and stealing from the others.
+     */
+    private T poll(int index) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            T bean = this.stripes[(index + i) & this.mask].instances.poll();
+            if (bean != null) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private static class Stripe<T> {
+        final AtomicInteger permits;
+        final Queue<T> instances = new ConcurrentLinkedQueue<>();
+
+        Stripe(int permits) {
+            this.permits = new AtomicInteger(permits);
+        }
+
+        boolean tryAcquire() {
+            int current = this.permits.get();
+            while (current > 0) {
+                if (this.permits.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+                current = this.permits.get();
+            }
+            return false;
+        }
+    }
+}
@@ -81,6 +81,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:tadamski@redhat.com">Tomasz Adamski</a>
@@ -91,6 +92,7 @@ final class AssociationImpl implements Association, AutoCloseable {
     private final ClusterTopologyRegistrar clusterTopologyRegistrar;
     private final Registry<String, List<ClientMapping>> clientMappingRegistry;
     private volatile Executor executor;
+    private final AtomicInteger queuedInvocations = new AtomicInteger();
 
     AssociationImpl(final DeploymentRepository deploymentRepository, final Registry<String, List<ClientMapping>> clientMappingRegistry) {
         this.deploymentRepository = deploymentRepository;
@@ -272,10 +274,17 @@ final class AssociationImpl implements Association, AutoCloseable {
         if (request.getProtocol().equals("local") && ! isAsync) {
             task.run();
         } else {
-            if(executor != null) {
-                executor.execute(task);
-            } else {
-                request.getRequestExecutor().execute(task);
+            final Runnable queuedTask = () -> {
+                this.queuedInvocations.decrementAndGet();
+                task.run();
+            };
+            final Executor executor = (this.executor != null) ? this.executor : request.getRequestExecutor();
+            this.queuedInvocations.incrementAndGet();
+            try {
+                executor.execute(queuedTask);
+            } catch (RuntimeException | Error e) {
+                this.queuedInvocations.decrementAndGet();
+                throw e;
             }
         }
     }
@@ -580,6 +589,13 @@ final class AssociationImpl implements Association, AutoCloseable {
         return group != null && !group.isSingleton() ? new ClusterAffinity(group.getName()) : null;
     }
 
+    /**
+     * Returns the number of requests waiting for a thread of the executor.
+     */
+    int getQueuedInvocations() {
+        return this.queuedInvocations.get();
+    }
+
     Executor getExecutor() {
         return executor;
     }
@@ -72,7 +72,7 @@ public final class AssociationService implements Service<AssociationService> {
 
     private final MutableDiscoveryProvider mutableDiscoveryProvider = new MutableDiscoveryProvider();
 
-    private AssociationImpl value;
+    private volatile AssociationImpl value;
     private ListenerHandle moduleAvailabilityListener;
 
     @Override
@@ -190,6 +190,14 @@ public final class AssociationService implements Service<AssociationService> {
         return value;
     }
 
+    /**
+     * Returns the number of remote invocations waiting for a thread to be executed on.
+     */
+    public int getQueuedInvocations() {
+        AssociationImpl value = this.value;
+        return (value != null) ? value.getQueuedInvocations() : 0;
+    }
+
     void setExecutor(Executor executor) {
         if(value != null) {
             value.setExecutor(executor);
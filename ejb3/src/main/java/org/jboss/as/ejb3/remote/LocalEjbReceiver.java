@@ -28,6 +28,7 @@ import org.jboss.as.ee.component.deployers.StartupCountdown;
 import org.jboss.as.ee.utils.DescriptorUtils;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.deployment.DeploymentModuleIdentifier;
@@ -48,9 +49,6 @@ import org.jboss.ejb.client.StatelessEJBLocator;
 import org.jboss.ejb.client.TransactionID;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
-import org.jboss.marshalling.cloner.ClonerConfiguration;
-import org.jboss.marshalling.cloner.ObjectCloner;
-import org.jboss.marshalling.cloner.ObjectCloners;
 import org.jboss.security.SecurityContext;
 import org.jboss.security.SecurityContextAssociation;
 import org.wildfly.security.auth.server.SecurityDomain;
@@ -79,6 +77,13 @@ public class LocalEjbReceiver extends EJBReceiver {
     private static final Object[] EMPTY_OBJECT_ARRAY = {};
     private static final EJBReceiverInvocationContext.ResultProducer.Immediate NULL_RESULT = new EJBReceiverInvocationContext.ResultProducer.Immediate(null);
     private static final AttachmentKey<CancellationFlag> CANCELLATION_FLAG_ATTACHMENT_KEY = new AttachmentKey<>();
+    // results are cloned into the class loader of the proxy, the cloner is cached for as long as the proxy class lives
+    private static final ClassValue<LocalInvocationCloner> RESULT_CLONERS = new ClassValue<LocalInvocationCloner>() {
+        @Override
+        protected LocalInvocationCloner computeValue(final Class<?> proxyClass) {
+            return new LocalInvocationCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(proxyClass)));
+        }
+    };
 
     private final DeploymentRepository deploymentRepository;
 
@@ -105,9 +110,12 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (!ejb.isRemoteView(viewClass.getName())) {
             throw EjbLogger.ROOT_LOGGER.viewNotFound(viewClass.getName(), ejb.getEjbName());
         }
-        final ClonerConfiguration paramConfig = new ClonerConfiguration();
-        paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
-        final ObjectCloner parameterCloner = createCloner(paramConfig);
+        LocalInvocationCloner parameterCloner = view.getPrivateData(LocalInvocationCloner.class);
+        if (parameterCloner == null) {
+            parameterCloner = new LocalInvocationCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
+        }
+        final InvocationMetrics metrics = ejbComponent.getInvocationMetrics();
+        final String viewClassName = viewClass.getName();
         //TODO: this is not very efficient
         final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
 
@@ -117,10 +125,9 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (invocation.getParameters() == null) {
             parameters = EMPTY_OBJECT_ARRAY;
         } else {
-            parameters = new Object[invocation.getParameters().length];
-            for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
-            }
+            final long start = System.nanoTime();
+            parameters = parameterCloner.clone(method.getParameterTypes(), invocation.getParameters(), allowPassByReference);
+            metrics.finishClone(viewClassName, System.nanoTime() - start);
         }
 
         final InterceptorContext interceptorContext = new InterceptorContext();
@@ -165,9 +172,7 @@ public class LocalEjbReceiver extends EJBReceiver {
             throw EjbLogger.ROOT_LOGGER.ejbNotFoundInDeployment(locator);
         }
 
-        final ClonerConfiguration config = new ClonerConfiguration();
-        config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
-        final ObjectCloner resultCloner = createCloner(config);
+        final LocalInvocationCloner resultCloner = RESULT_CLONERS.get(invocation.getInvokedProxy().getClass());
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
                 final CancellationFlag flag = new CancellationFlag();
@@ -204,7 +209,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                             result = view.invoke(interceptorContext);
                         } catch (Exception e) {
                             // WFLY-4331 - clone the exception of an async task
-                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e));
+                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, metrics, viewClassName));
                             return;
                         }
                         // if the result is null, there is no cloning needed
@@ -225,7 +230,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                                     intr = true;
                                 } catch (ExecutionException e) {
                                     // WFLY-4331 - clone the exception of an async task
-                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e));
+                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, metrics, viewClassName));
                                     return;
                                 }
                             } finally {
@@ -236,10 +241,10 @@ public class LocalEjbReceiver extends EJBReceiver {
                                 receiverContext.resultReady(NULL_RESULT);
                                 return;
                             }
-                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference));
+                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference, metrics, viewClassName));
                             return;
                         }
-                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference, metrics, viewClassName));
                     } finally {
                         StartupCountdown.restore(null);
                         clearSecurityContextOnAssociation();
@@ -267,10 +272,10 @@ public class LocalEjbReceiver extends EJBReceiver {
             } catch (Exception e) {
                 //we even have to clone the exception type
                 //to make sure it matches
-                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e));
+                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, metrics, viewClassName));
                 return;
             }
-            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference, metrics, viewClassName));
 
             for(Map.Entry<String, Object> entry : interceptorContext.getContextData().entrySet()) {
                 if (entry.getValue() instanceof Serializable) {
@@ -287,19 +292,29 @@ public class LocalEjbReceiver extends EJBReceiver {
 
     static final class CloningResultProducer implements EJBReceiverInvocationContext.ResultProducer {
         private final EJBClientInvocationContext invocation;
-        private final ObjectCloner resultCloner;
+        private final LocalInvocationCloner resultCloner;
         private final Object result;
         private final boolean allowPassByReference;
+        private final InvocationMetrics metrics;
+        private final String viewClassName;
 
-        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference) {
+        CloningResultProducer(final EJBClientInvocationContext invocation, final LocalInvocationCloner resultCloner, final Object result, final boolean allowPassByReference, final InvocationMetrics metrics, final String viewClassName) {
             this.invocation = invocation;
             this.resultCloner = resultCloner;
             this.result = result;
             this.allowPassByReference = allowPassByReference;
+            this.metrics = metrics;
+            this.viewClassName = viewClassName;
         }
 
         public Object getResult() throws Exception {
-            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            if (result == null) {
+                return null;
+            }
+            final long start = System.nanoTime();
+            final Object clone = resultCloner.clone(invocation.getInvokedMethod().getReturnType(), result, allowPassByReference);
+            metrics.finishClone(viewClassName, System.nanoTime() - start);
+            return clone;
         }
 
         public void discardResult() {
@@ -307,34 +322,29 @@ public class LocalEjbReceiver extends EJBReceiver {
     }
 
     static final class CloningExceptionProducer implements EJBReceiverInvocationContext.ResultProducer {
-        private final ObjectCloner resultCloner;
+        private final LocalInvocationCloner resultCloner;
         private final Exception exception;
+        private final InvocationMetrics metrics;
+        private final String viewClassName;
 
-        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception) {
+        CloningExceptionProducer(final LocalInvocationCloner resultCloner, final Exception exception, final InvocationMetrics metrics, final String viewClassName) {
             this.resultCloner = resultCloner;
             this.exception = exception;
+            this.metrics = metrics;
+            this.viewClassName = viewClassName;
         }
 
         public Object getResult() throws Exception {
-            throw (Exception) LocalEjbReceiver.clone(resultCloner, exception);
+            final long start = System.nanoTime();
+            final Exception clone = (Exception) resultCloner.clone(exception);
+            metrics.finishClone(viewClassName, System.nanoTime() - start);
+            throw clone;
         }
 
         public void discardResult() {
         }
     }
 
-
-
-    private ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
-        ObjectCloner parameterCloner;
-        if(WildFlySecurityManager.isChecking()) {
-            parameterCloner = WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig));
-        } else {
-            parameterCloner = ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig);
-        }
-        return parameterCloner;
-    }
-
     protected SessionID createSession(final EJBReceiverSessionCreationContext receiverContext) throws Exception {
         final StatelessEJBLocator<?> statelessLocator = receiverContext.getClientInvocationContext().getLocator().asStateless();
         final EjbDeploymentInformation ejbInfo = findBean(statelessLocator);
@@ -346,43 +356,6 @@ public class LocalEjbReceiver extends EJBReceiver {
         return ((StatefulSessionComponent) component).createSession();
     }
 
-    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
-        if (object == null) {
-            return null;
-        }
-        // don't clone primitives
-        if (target.isPrimitive()) {
-            return object;
-        }
-        if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
-            return object;
-        }
-        return clone(cloner, object);
-    }
-
-    private static Object clone(final ObjectCloner cloner, final Object object) {
-        if (object == null) {
-            return null;
-        }
-
-        if(WildFlySecurityManager.isChecking()) {
-            return AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
-                try {
-                    return cloner.clone(object);
-                } catch (Exception e) {
-                    throw EjbLogger.ROOT_LOGGER.failedToMarshalEjbParameters(e);
-                }
-            });
-        } else {
-            try {
-                return cloner.clone(object);
-            } catch (Exception e) {
-                throw EjbLogger.ROOT_LOGGER.failedToMarshalEjbParameters(e);
-            }
-        }
-    }
-
-
     private EjbDeploymentInformation findBean(final EJBLocator<?> locator) {
         final String appName = locator.getAppName();
         final String moduleName = locator.getModuleName();
@@ -0,0 +1,290 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.marshalling.cloner.ClassCloner;
+import org.jboss.marshalling.cloner.ClonerConfiguration;
+import org.jboss.marshalling.cloner.ObjectCloner;
+import org.jboss.marshalling.cloner.ObjectCloners;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Clones the parameters, results and exceptions of invocations on a remote view within the same JVM, into the class
+ * loader of the receiving side.
+ * <p/>
+ * Whether the instances of a class need to be copied is decided once per class. Instances of immutable classes that
+ * resolve to the very same class on the receiving side are passed as is: strings, boxed primitives, enums, the
+ * {@code java.time} value types, and serializable final classes without serialization hooks whose fields are all final
+ * and immutable themselves. Any other value is copied by a serializing {@link ObjectCloner}, which preserves references
+ * shared within and between the cloned values. These cloners are pooled instead of being created per invocation.
+ *
+ * Instances are thread safe, and are meant to be cached for as long as the receiving class loader lives.
+ */
+public class LocalInvocationCloner {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Byte.class, Character.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class, URI.class, Locale.class,
+            Instant.class, Duration.class, Period.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+            OffsetTime.class, OffsetDateTime.class, ZonedDateTime.class, ZoneOffset.class, Year.class, YearMonth.class, MonthDay.class));
+
+    private static final Set<String> SERIALIZATION_HOOKS = new HashSet<>(Arrays.asList(
+            "writeReplace", "readResolve", "writeObject", "readObject", "readObjectNoData"));
+
+    private final ClassCloner classCloner;
+    private final Queue<ObjectCloner> cloners = new ConcurrentLinkedQueue<>();
+    private final ClassValue<Boolean> shareable = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            if (WildFlySecurityManager.isChecking()) {
+                return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> isShareable(type, new HashSet<>()));
+            }
+            return isShareable(type, new HashSet<>());
+        }
+    };
+
+    /**
+     * @param classCloner resolves the classes of the copied values on the receiving side
+     */
+    public LocalInvocationCloner(final ClassCloner classCloner) {
+        this.classCloner = classCloner;
+    }
+
+    /**
+     * Decides ahead of time how the parameters and return values of the specified methods are cloned.
+     *
+     * @param methods the methods of a view
+     */
+    public void prepare(final Method[] methods) {
+        for (Method method : methods) {
+            prepare(method.getReturnType());
+            for (Class<?> type : method.getParameterTypes()) {
+                prepare(type);
+            }
+        }
+    }
+
+    private void prepare(final Class<?> type) {
+        // only the exact class of a value is looked up, so a plan of a non final type would never be used
+        if (!type.isPrimitive() && Modifier.isFinal(type.getModifiers())) {
+            shareable.get(type);
+        }
+    }
+
+    /**
+     * Clones the specified values, preserving the references they share.
+     *
+     * @param types the declared types of the values
+     * @param values the values to clone
+     * @param allowPassByReference whether values assignable to their declared type on the receiving side may be passed as is
+     * @return the cloned values
+     */
+    public Object[] clone(final Class<?>[] types, final Object[] values, final boolean allowPassByReference) {
+        final Object[] result = new Object[values.length];
+        ObjectCloner cloner = null;
+        for (int i = 0; i < values.length; ++i) {
+            if (isPassable(types[i], values[i], allowPassByReference)) {
+                result[i] = values[i];
+            } else {
+                if (cloner == null) {
+                    cloner = acquire();
+                }
+                result[i] = clone(cloner, values[i]);
+            }
+        }
+        if (cloner != null) {
+            release(cloner);
+        }
+        return result;
+    }
+
+    /**
+     * Clones the specified value.
+     *
+     * @param type the declared type of the value
+     * @param value the value to clone
+     * @param allowPassByReference whether the value may be passed as is if it is assignable to its declared type on the receiving side
+     * @return the cloned value
+     */
+    public Object clone(final Class<?> type, final Object value, final boolean allowPassByReference) {
+        return isPassable(type, value, allowPassByReference) ? value : clone(value);
+    }
+
+    /**
+     * Clones the specified value.
+     *
+     * @param value the value to clone
+     * @return the cloned value
+     */
+    public Object clone(final Object value) {
+        if ((value == null) || shareable.get(value.getClass())) {
+            return value;
+        }
+        final ObjectCloner cloner = acquire();
+        final Object result = clone(cloner, value);
+        release(cloner);
+        return result;
+    }
+
+    private boolean isPassable(final Class<?> type, final Object value, final boolean allowPassByReference) {
+        // don't clone primitives
+        if ((value == null) || type.isPrimitive()) {
+            return true;
+        }
+        if (allowPassByReference && type.isAssignableFrom(value.getClass())) {
+            return true;
+        }
+        return shareable.get(value.getClass());
+    }
+
+    private ObjectCloner acquire() {
+        final ObjectCloner cloner = cloners.poll();
+        if (cloner != null) {
+            return cloner;
+        }
+        final ClonerConfiguration config = new ClonerConfiguration();
+        config.setClassCloner(classCloner);
+        if (WildFlySecurityManager.isChecking()) {
+            return WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(config));
+        }
+        return ObjectCloners.getSerializingObjectClonerFactory().createCloner(config);
+    }
+
+    private void release(final ObjectCloner cloner) {
+        cloner.reset();
+        cloners.offer(cloner);
+    }
+
+    // a cloner that failed is not released, it is left to the garbage collector along with its state
+    private static Object clone(final ObjectCloner cloner, final Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (WildFlySecurityManager.isChecking()) {
+            return AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+                try {
+                    return cloner.clone(value);
+                } catch (Exception e) {
+                    throw EjbLogger.ROOT_LOGGER.failedToMarshalEjbParameters(e);
+                }
+            });
+        }
+        try {
+            return cloner.clone(value);
+        } catch (Exception e) {
+            throw EjbLogger.ROOT_LOGGER.failedToMarshalEjbParameters(e);
+        }
+    }
+
+    /**
+     * Determines whether instances of the specified class are immutable, and resolve to the same class on the receiving side.
+     *
+     * @param type the exact class of a value
+     * @param visiting the classes whose analysis is in progress
+     */
+    private boolean isShareable(final Class<?> type, final Set<Class<?>> visiting) {
+        if (type.isPrimitive() || IMMUTABLE_TYPES.contains(type)) {
+            return true;
+        }
+        if (type.isArray() || type.isInterface() || !isResolvedAsIs(type)) {
+            return false;
+        }
+        if (Enum.class.isAssignableFrom(type)) {
+            return true;
+        }
+        if (!Modifier.isFinal(type.getModifiers()) || !Serializable.class.isAssignableFrom(type) || Externalizable.class.isAssignableFrom(type)) {
+            return false;
+        }
+        if (!visiting.add(type)) {
+            // a recursive reference, the outermost analysis of this class decides
+            return true;
+        }
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            // the state of a non serializable super class would be reset by serialization
+            if (!Serializable.class.isAssignableFrom(current)) {
+                return false;
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (!Modifier.isStatic(method.getModifiers()) && SERIALIZATION_HOOKS.contains(method.getName())) {
+                    return false;
+                }
+            }
+            for (Field field : current.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)) {
+                    continue;
+                }
+                if (!Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)) {
+                    return false;
+                }
+                // the declared type must be final, otherwise the field may reference an instance of a mutable sub class
+                final Class<?> fieldType = field.getType();
+                if (!fieldType.isPrimitive() && !(Modifier.isFinal(fieldType.getModifiers()) && isShareable(fieldType, visiting))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isResolvedAsIs(final Class<?> type) {
+        try {
+            return classCloner.clone(type) == type;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            return false;
+        }
+    }
+}
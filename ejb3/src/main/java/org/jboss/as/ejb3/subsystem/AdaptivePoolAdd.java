@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfig;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfigService;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Adds an adaptive-pool to the EJB3 subsystem's bean-instance-pools. The {#performRuntime runtime action}
+ * will create and install an {@link AdaptivePoolConfigService}.
+ */
+public class AdaptivePoolAdd extends AbstractAddStepHandler {
+
+    public static final AdaptivePoolAdd INSTANCE = new AdaptivePoolAdd();
+
+    @Override
+    protected void populateModel(ModelNode operation, ModelNode adaptivePoolModel) throws OperationFailedException {
+        for (AttributeDefinition attr : AdaptivePoolResourceDefinition.ATTRIBUTES.values()) {
+            attr.validateAndSet(operation, adaptivePoolModel);
+        }
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode adaptivePoolModel) throws OperationFailedException {
+
+        final String poolName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.ADDRESS)).getLastElement().getValue();
+        final int minPoolSize = AdaptivePoolResourceDefinition.MIN_POOL_SIZE.resolveModelAttribute(context, adaptivePoolModel).asInt();
+        final int maxPoolSize = StrictMaxPoolResourceDefinition.MAX_POOL_SIZE.resolveModelAttribute(context, adaptivePoolModel).asInt();
+        final StrictMaxPoolConfigService.Derive derive = StrictMaxPoolResourceDefinition.parseDeriveSize(context, adaptivePoolModel);
+        final long timeout = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.resolveModelAttribute(context, adaptivePoolModel).asLong();
+        final String unit = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, adaptivePoolModel).asString();
+        final long targetWaitTime = AdaptivePoolResourceDefinition.TARGET_WAIT_TIME.resolveModelAttribute(context, adaptivePoolModel).asLong();
+        final long idleTimeout = AdaptivePoolResourceDefinition.INSTANCE_IDLE_TIMEOUT.resolveModelAttribute(context, adaptivePoolModel).asLong();
+        // create and install the service
+        final AdaptivePoolConfig poolConfig = new AdaptivePoolConfig(poolName, minPoolSize, maxPoolSize, targetWaitTime, idleTimeout, timeout, TimeUnit.valueOf(unit));
+        final AdaptivePoolConfigService poolConfigService = new AdaptivePoolConfigService(poolConfig, derive);
+
+        final ServiceName serviceName = StrictMaxPoolConfigService.EJB_POOL_CONFIG_BASE_SERVICE_NAME.append(poolName);
+        ServiceBuilder<StrictMaxPoolConfig> svcBuilder = context.getServiceTarget().addService(serviceName, poolConfigService);
+
+        if (context.hasOptionalCapability(StrictMaxPoolAdd.IO_MAX_THREADS_RUNTIME_CAPABILITY_NAME, null, null)) {
+            ServiceName name = context.getCapabilityServiceName(StrictMaxPoolAdd.IO_MAX_THREADS_RUNTIME_CAPABILITY_NAME, Integer.class);
+            svcBuilder.addDependency(name, Integer.class, poolConfigService.getMaxThreadsInjector());
+        }
+
+        svcBuilder.install();
+    }
+}
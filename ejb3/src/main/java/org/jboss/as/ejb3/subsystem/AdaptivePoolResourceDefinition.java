@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ServiceRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfig;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for the adaptive-bean-instance-pool resource.
+ * <p/>
+ * The max-pool-size (or derive-size) of an adaptive pool is the upper bound of a target size, which each pool adjusts
+ * at runtime between min-pool-size and that bound, according to the wait time of the invocations.
+ */
+public class AdaptivePoolResourceDefinition extends SimpleResourceDefinition {
+
+    public static final AdaptivePoolResourceDefinition INSTANCE = new AdaptivePoolResourceDefinition();
+
+    public static final SimpleAttributeDefinition MIN_POOL_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MIN_POOL_SIZE, ModelType.INT, true)
+                    .setDefaultValue(new ModelNode().set(AdaptivePoolConfig.DEFAULT_MIN_POOL_SIZE))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+    public static final SimpleAttributeDefinition TARGET_WAIT_TIME =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.TARGET_WAIT_TIME, ModelType.LONG, true)
+                    .setDefaultValue(new ModelNode().set(AdaptivePoolConfig.DEFAULT_TARGET_WAIT_TIME))
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+    public static final SimpleAttributeDefinition INSTANCE_IDLE_TIMEOUT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.INSTANCE_IDLE_TIMEOUT, ModelType.LONG, true)
+                    .setDefaultValue(new ModelNode().set(AdaptivePoolConfig.DEFAULT_IDLE_TIMEOUT))
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+
+    public static final Map<String, AttributeDefinition> ATTRIBUTES;
+
+    static {
+        Map<String, AttributeDefinition> map = new LinkedHashMap<String, AttributeDefinition>();
+        map.put(MIN_POOL_SIZE.getName(), MIN_POOL_SIZE);
+        map.putAll(StrictMaxPoolResourceDefinition.ATTRIBUTES);
+        map.put(TARGET_WAIT_TIME.getName(), TARGET_WAIT_TIME);
+        map.put(INSTANCE_IDLE_TIMEOUT.getName(), INSTANCE_IDLE_TIMEOUT);
+
+        ATTRIBUTES = Collections.unmodifiableMap(map);
+    }
+
+    private AdaptivePoolResourceDefinition() {
+        super(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL),
+                EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL),
+                AdaptivePoolAdd.INSTANCE, new ServiceRemoveStepHandler(StrictMaxPoolConfigService.EJB_POOL_CONFIG_BASE_SERVICE_NAME, AdaptivePoolAdd.INSTANCE),
+                OperationEntry.Flag.RESTART_NONE, OperationEntry.Flag.RESTART_RESOURCE_SERVICES);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        Collection<AttributeDefinition> ads = ATTRIBUTES.values();
+        OperationStepHandler osh = new StrictMaxPoolWriteHandler(ads);
+        for (AttributeDefinition attr : ads) {
+            resourceRegistration.registerReadWriteAttribute(attr, null, osh);
+        }
+
+        resourceRegistration.registerReadOnlyAttribute(StrictMaxPoolResourceDefinition.DERIVED_SIZE, new StrictMaxPoolDerivedSizeReadHandler());
+    }
+}
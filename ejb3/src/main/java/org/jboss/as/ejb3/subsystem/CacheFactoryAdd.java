@@ -69,16 +69,20 @@ public class CacheFactoryAdd extends AbstractAddStepHandler {
         final Collection<String> unwrappedAliasValues = CacheFactoryResourceDefinition.ALIASES.unwrap(context,model);
         final Set<String> aliases = unwrappedAliasValues != null ? new HashSet<>(unwrappedAliasValues) : Collections.<String>emptySet();
         ServiceTarget target = context.getServiceTarget();
-        ServiceBuilder<?> builder = buildCacheFactoryBuilder(target, name, passivationStore);
+        long expirationTick = CacheFactoryResourceDefinition.EXPIRATION_TICK.resolveModelAttribute(context, model).asLong();
+        int passivationMaxSize = CacheFactoryResourceDefinition.MAX_SIZE.resolveModelAttribute(context, model).asInt();
+        int passivationSegmentSize = CacheFactoryResourceDefinition.SEGMENT_SIZE.resolveModelAttribute(context, model).asInt();
+        int passivationMaxSegments = CacheFactoryResourceDefinition.MAX_SEGMENTS.resolveModelAttribute(context, model).asInt();
+        ServiceBuilder<?> builder = buildCacheFactoryBuilder(target, name, passivationStore, expirationTick, passivationMaxSize, passivationSegmentSize, passivationMaxSegments);
         for (String alias: aliases) {
             builder.addAliases(CacheFactoryBuilderService.getServiceName(alias));
         }
         builder.install();
     }
 
-    private static ServiceBuilder<?> buildCacheFactoryBuilder(ServiceTarget target, String name, String passivationStore) {
+    private static ServiceBuilder<?> buildCacheFactoryBuilder(ServiceTarget target, String name, String passivationStore, long expirationTick, int passivationMaxSize, int passivationSegmentSize, int passivationMaxSegments) {
         if (passivationStore == null) {
-            return new SimpleCacheFactoryBuilderService<>(name).build(target);
+            return new SimpleCacheFactoryBuilderService<>(name, expirationTick, passivationMaxSize, passivationSegmentSize, passivationMaxSegments).build(target);
         }
         return new DelegateCacheFactoryBuilderService<>(name, DistributableCacheFactoryBuilderService.getServiceName(passivationStore)).build(target);
     }
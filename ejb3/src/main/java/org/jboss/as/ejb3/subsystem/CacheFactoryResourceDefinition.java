@@ -28,9 +28,14 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.ejb3.cache.simple.SimpleCache;
+import org.jboss.as.ejb3.cache.simple.SimpleCacheFactoryService;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -50,7 +55,43 @@ public class CacheFactoryResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = { ALIASES, PASSIVATION_STORE };
+    public static final SimpleAttributeDefinition EXPIRATION_TICK =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.EXPIRATION_TICK, ModelType.LONG, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.EXPIRATION_TICK.getLocalName())
+                    .setDefaultValue(new ModelNode(SimpleCache.DEFAULT_EXPIRATION_TICK))
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    public static final SimpleAttributeDefinition MAX_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_SIZE, ModelType.INT, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.MAX_SIZE.getLocalName())
+                    .setDefaultValue(new ModelNode(0))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    public static final SimpleAttributeDefinition SEGMENT_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.SEGMENT_SIZE, ModelType.INT, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.SEGMENT_SIZE.getLocalName())
+                    .setDefaultValue(new ModelNode(SimpleCacheFactoryService.DEFAULT_PASSIVATION_SEGMENT_SIZE))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    public static final SimpleAttributeDefinition MAX_SEGMENTS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_SEGMENTS, ModelType.INT, true)
+                    .setXmlName(EJB3SubsystemXMLAttribute.MAX_SEGMENTS.getLocalName())
+                    .setDefaultValue(new ModelNode(SimpleCacheFactoryService.DEFAULT_PASSIVATION_MAX_SEGMENTS))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = { ALIASES, PASSIVATION_STORE, EXPIRATION_TICK, MAX_SIZE, SEGMENT_SIZE, MAX_SEGMENTS };
     private static final CacheFactoryAdd ADD_HANDLER = new CacheFactoryAdd(ATTRIBUTES);
     private static final CacheFactoryRemove REMOVE_HANDLER = new CacheFactoryRemove(ADD_HANDLER);
 
@@ -25,8 +25,12 @@ package org.jboss.as.ejb3.subsystem;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
@@ -37,7 +41,9 @@ import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.dmr.ModelNode;
+import org.jboss.as.ejb3.remote.AssociationService;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 import org.wildfly.clustering.ejb.BeanManagerFactoryBuilderConfiguration;
 
 /**
@@ -78,6 +84,12 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
                     .build();
 
+    static final SimpleAttributeDefinition QUEUED_INVOCATIONS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.QUEUED_INVOCATIONS, ModelType.INT)
+                    .setUndefinedMetricValue(new ModelNode(0))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
     private static final Map<String, AttributeDefinition> ATTRIBUTES;
 
     static {
@@ -105,6 +117,7 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
             // TODO: Make this read-write attribute
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        resourceRegistration.registerMetric(QUEUED_INVOCATIONS, new AssociationMetricsHandler(association -> new ModelNode(association.getQueuedInvocations())));
     }
 
     @Override
@@ -114,6 +127,29 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(new RemoteConnectorChannelCreationOptionResource());
     }
 
+    /**
+     * Reads a metric of the remote invocations dispatched by the {@link AssociationService}.
+     */
+    private static class AssociationMetricsHandler implements OperationStepHandler {
+        private final Function<AssociationService, ModelNode> metric;
+
+        AssociationMetricsHandler(Function<AssociationService, ModelNode> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.isDefaultRequiresRuntime()) {
+                context.addStep((ctx, op) -> {
+                    ServiceController<?> controller = ctx.getServiceRegistry(false).getService(AssociationService.SERVICE_NAME);
+                    if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                        ctx.getResult().set(this.metric.apply((AssociationService) controller.getValue()));
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+        }
+    }
+
     @Override
     public void registerCapabilities(ManagementResourceRegistration registration) {
         registration.registerCapability(EJB_REMOTE_CAPABILITY);
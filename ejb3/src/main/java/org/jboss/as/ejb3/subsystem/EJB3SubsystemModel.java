@@ -69,12 +69,20 @@ public interface EJB3SubsystemModel {
     String STATISTICS_ENABLED = "statistics-enabled";
 
     String FILE_DATA_STORE = "file-data-store";
+    String FORMAT = "format";
+    String JOURNAL_SYNC = "journal-sync";
 
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
+    String STRIPED_BEAN_INSTANCE_POOL = "striped-bean-instance-pool";
+    String STRIPE_COUNT = "stripe-count";
+    String ADAPTIVE_BEAN_INSTANCE_POOL = "adaptive-bean-instance-pool";
+    String MIN_POOL_SIZE = "min-pool-size";
+    String TARGET_WAIT_TIME = "target-wait-time";
+    String INSTANCE_IDLE_TIMEOUT = "instance-idle-timeout";
 
     String MAX_THREADS = "max-threads";
     String KEEPALIVE_TIME = "keepalive-time";
@@ -83,6 +91,7 @@ public interface EJB3SubsystemModel {
     String PATH = "path";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
+    String SINGLETON_BEAN_LOCK_MODE = "singleton-bean-lock-mode";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
     String DEFAULT_DATA_STORE = "default-data-store";
 
@@ -107,7 +116,10 @@ public interface EJB3SubsystemModel {
     String ENABLE_BY_DEFAULT = "enable-by-default";
 
     String CACHE = "cache";
+    String EXPIRATION_TICK = "expiration-tick";
+    String MAX_SEGMENTS = "max-segments";
     String PASSIVATION_STORE = "passivation-store";
+    String SEGMENT_SIZE = "segment-size";
 
     String MDB_DELIVERY_GROUP="mdb-delivery-group";
     String MDB_DELVIERY_GROUP_ACTIVE = "active";
@@ -135,6 +147,7 @@ public interface EJB3SubsystemModel {
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
     String ALLOW_EXECUTION = "allow-execution";
+    String WRITE_BEHIND_INTERVAL = "write-behind-interval";
 
     String STATIC_URLS = "static-urls";
 
@@ -149,6 +162,7 @@ public interface EJB3SubsystemModel {
 
     ServiceName BASE_THREAD_POOL_SERVICE_NAME = ThreadsServices.EXECUTOR.append("ejb3");
     String EXECUTE_IN_WORKER = "execute-in-worker";
+    String QUEUED_INVOCATIONS = "queued-invocations";
 
     // Elytron integration
     String APPLICATION_SECURITY_DOMAIN = "application-security-domain";
@@ -54,6 +54,9 @@ public enum EJB3SubsystemXMLAttribute {
     ENABLED("enabled"),
     ENABLE_BY_DEFAULT("enable-by-default"),
     EXCLUDE_LOCAL_RECEIVER("exclude-local-receiver"),
+    EXPIRATION_TICK("expiration-tick"),
+
+    FORMAT("format"),
 
     @Deprecated GROUPS_PATH("groups-path"),
 
@@ -61,15 +64,21 @@ public enum EJB3SubsystemXMLAttribute {
     @Deprecated IDLE_TIMEOUT_UNIT("idle-timeout-unit"),
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
+    INSTANCE_IDLE_TIMEOUT("instance-idle-timeout"),
+
+    JOURNAL_SYNC("journal-sync"),
 
     KEEPALIVE_TIME("keepalive-time"),
 
     LOCAL_RECEIVER_PASS_BY_VALUE("local-receiver-pass-by-value"),
+    LOCK_MODE("lock-mode"),
 
     MAX_POOL_SIZE("max-pool-size"),
+    MAX_SEGMENTS("max-segments"),
     MAX_SIZE("max-size"),
     DERIVE_SIZE("derive-size"),
     MAX_THREADS("max-threads"),
+    MIN_POOL_SIZE("min-pool-size"),
 
     NAME("name"),
 
@@ -87,17 +96,22 @@ public enum EJB3SubsystemXMLAttribute {
     RELATIVE_TO("relative-to"),
     RESOURCE_ADAPTER_NAME("resource-adapter-name"),
 
+    SEGMENT_SIZE("segment-size"),
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
+    STRIPE_COUNT("stripe-count"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
+    TARGET_WAIT_TIME("target-wait-time"),
     TYPE("type"),
 
     USE_QUALIFIED_NAME("use-qualified-name"),
 
     VALUE("value"),
 
+    WRITE_BEHIND_INTERVAL("write-behind-interval"),
+
     ACTIVE("active"),
 
     EXECUTE_IN_WORKER("execute-in-worker"),
@@ -34,6 +34,7 @@ public enum EJB3SubsystemXMLElement {
     // must be first
     UNKNOWN(null),
 
+    ADAPTIVE_POOL("adaptive-pool"),
     ASYNC("async"),
     ALLOW_EJB_NAME_REGEX("allow-ejb-name-regex"),
 
@@ -88,6 +89,7 @@ public enum EJB3SubsystemXMLElement {
     STATELESS("stateless"),
     STATISTICS("statistics"),
     STRICT_MAX_POOL("strict-max-pool"),
+    STRIPED_POOL("striped-pool"),
 
     GLOBAL_INTERCEPTORS("global-interceptors"),
     CONNECTIONS("connections"),
@@ -68,7 +68,10 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
 
 
-        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo);
+        final FileTimerPersistence.Format format = FileTimerPersistence.Format.forName(FileDataStoreResourceDefinition.FORMAT.resolveModelAttribute(context, model).asString());
+        final boolean journalSync = FileDataStoreResourceDefinition.JOURNAL_SYNC.resolveModelAttribute(context, model).asBoolean();
+
+        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo, format, journalSync);
         final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
         final ServiceName serviceName = TimerPersistence.SERVICE_NAME.append(address.getLastElement().getValue());
         context.getServiceTarget().addService(serviceName, fileTimerPersistence)
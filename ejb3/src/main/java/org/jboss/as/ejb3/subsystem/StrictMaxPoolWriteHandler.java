@@ -31,7 +31,10 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfigService;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
 import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
+import org.jboss.as.ejb3.component.pool.StripedPoolConfig;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
@@ -79,6 +82,24 @@ class StrictMaxPoolWriteHandler extends AbstractWriteAttributeHandler<Void> {
                 } else if (StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.getName().equals(attributeName)) {
                     String timeoutUnit = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, model).asString();
                     smpc.setTimeoutUnit(TimeUnit.valueOf(timeoutUnit));
+                } else if (StripedPoolResourceDefinition.STRIPE_COUNT.getName().equals(attributeName)) {
+                    StrictMaxPoolConfig config = smpc.getValue();
+                    if (config instanceof StripedPoolConfig) {
+                        int stripeCount = StripedPoolResourceDefinition.STRIPE_COUNT.resolveModelAttribute(context, model).asInt(0);
+                        ((StripedPoolConfig) config).setStripeCount(stripeCount);
+                    }
+                } else if (smpc instanceof AdaptivePoolConfigService) {
+                    AdaptivePoolConfigService apc = (AdaptivePoolConfigService) smpc;
+                    if (AdaptivePoolResourceDefinition.MIN_POOL_SIZE.getName().equals(attributeName)) {
+                        int minPoolSize = AdaptivePoolResourceDefinition.MIN_POOL_SIZE.resolveModelAttribute(context, model).asInt();
+                        apc.setMinPoolSize(minPoolSize);
+                    } else if (AdaptivePoolResourceDefinition.TARGET_WAIT_TIME.getName().equals(attributeName)) {
+                        long targetWaitTime = AdaptivePoolResourceDefinition.TARGET_WAIT_TIME.resolveModelAttribute(context, model).asLong();
+                        apc.setTargetWaitTime(targetWaitTime);
+                    } else if (AdaptivePoolResourceDefinition.INSTANCE_IDLE_TIMEOUT.getName().equals(attributeName)) {
+                        long idleTimeout = AdaptivePoolResourceDefinition.INSTANCE_IDLE_TIMEOUT.resolveModelAttribute(context, model).asLong();
+                        apc.setIdleTimeout(idleTimeout);
+                    }
                 }
             }
         }
@@ -22,9 +22,14 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
+import java.security.PrivilegedAction;
 import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -43,6 +48,7 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * Adds the timer service
@@ -92,6 +98,8 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
         context.getServiceTarget().addService(TimerServiceDeploymentProcessor.TIMER_SERVICE_NAME, new TimerValueService())
                 .install();
 
+        context.getServiceTarget().addService(TimerServiceDeploymentProcessor.TIMER_SCHEDULER_SERVICE_NAME, new TimerSchedulerService())
+                .install();
     }
 
     private static final class TimerValueService implements Service<Timer> {
@@ -114,4 +122,40 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             return timer;
         }
     }
+
+    /**
+     * Provides the executor on which the timeouts of all timers are scheduled.
+     * Its threads only hand due timeouts over to the timer service thread pool, so a few of them suffice.
+     */
+    private static final class TimerSchedulerService implements Service<ScheduledExecutorService> {
+
+        private static final int THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        private static final ThreadFactory THREAD_FACTORY = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            @Override
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("EJB timer scheduler"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+
+        private ScheduledThreadPoolExecutor executor;
+
+        @Override
+        public synchronized void start(final StartContext context) throws StartException {
+            executor = new ScheduledThreadPoolExecutor(THREADS, THREAD_FACTORY);
+            // Canceled timeouts must not linger in the queue until their due time
+            executor.setRemoveOnCancelPolicy(true);
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        }
+
+        @Override
+        public synchronized void stop(final StopContext context) {
+            executor.shutdownNow();
+            executor = null;
+        }
+
+        @Override
+        public synchronized ScheduledExecutorService getValue() throws IllegalStateException, IllegalArgumentException {
+            return executor;
+        }
+    }
 }
@@ -80,7 +80,102 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
-    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
+    private static final AttributeDefinition EXECUTION_TIME_P50 = new SimpleAttributeDefinitionBuilder("execution-time-p50", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition EXECUTION_TIME_P99 = new SimpleAttributeDefinitionBuilder("execution-time-p99", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition EXECUTION_TIME_P999 = new SimpleAttributeDefinitionBuilder("execution-time-p999", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME, EXECUTION_TIME_P50, EXECUTION_TIME_P99, EXECUTION_TIME_P999)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition METHOD_SIGNATURES = ObjectTypeAttributeDefinition.Builder.of("method-signatures", EXECUTION_TIME, INVOCATIONS, WAIT_TIME, EXECUTION_TIME_P50, EXECUTION_TIME_P99, EXECUTION_TIME_P999)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CLONES = new SimpleAttributeDefinitionBuilder("clones", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CLONE_TIME = new SimpleAttributeDefinitionBuilder("clone-time", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CLONE_TIME_P50 = new SimpleAttributeDefinitionBuilder("clone-time-p50", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CLONE_TIME_P99 = new SimpleAttributeDefinitionBuilder("clone-time-p99", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CLONE_TIMES = ObjectTypeAttributeDefinition.Builder.of("clone-times", CLONES, CLONE_TIME, CLONE_TIME_P50, CLONE_TIME_P99)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition WAITS = new SimpleAttributeDefinitionBuilder("waits", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIME = new SimpleAttributeDefinitionBuilder("wait-time", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIME_P50 = new SimpleAttributeDefinitionBuilder("wait-time-p50", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIME_P99 = new SimpleAttributeDefinitionBuilder("wait-time-p99", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIMES = ObjectTypeAttributeDefinition.Builder.of("lock-wait-times", WAITS, LOCK_WAIT_TIME, LOCK_WAIT_TIME_P50, LOCK_WAIT_TIME_P99)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition PASSIVATION_EVENTS = new SimpleAttributeDefinitionBuilder("events", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition PASSIVATION_EVENT_TIME = new SimpleAttributeDefinitionBuilder("event-time", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition PASSIVATION_EVENT_TIME_P50 = new SimpleAttributeDefinitionBuilder("event-time-p50", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition PASSIVATION_EVENT_TIME_P99 = new SimpleAttributeDefinitionBuilder("event-time-p99", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition PASSIVATION_TIMES = ObjectTypeAttributeDefinition.Builder.of("passivation-times", PASSIVATION_EVENTS, PASSIVATION_EVENT_TIME, PASSIVATION_EVENT_TIME_P50, PASSIVATION_EVENT_TIME_P99)
             .setRequired(false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
@@ -112,6 +207,11 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final AttributeDefinition PENDING_EXPIRATION_COUNT = new SimpleAttributeDefinitionBuilder("pending-expiration-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     // Pool attributes
 
     public static final SimpleAttributeDefinition POOL_AVAILABLE_COUNT = new SimpleAttributeDefinitionBuilder("pool-available-count", ModelType.INT, false)
@@ -127,6 +227,8 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME).build();
     public static final SimpleAttributeDefinition POOL_MAX_SIZE = new SimpleAttributeDefinitionBuilder("pool-max-size", ModelType.INT, false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME).build();
+    public static final SimpleAttributeDefinition POOL_TARGET_SIZE = new SimpleAttributeDefinitionBuilder("pool-target-size", ModelType.INT, false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME).build();
 
     private final EJBComponentType componentType;
 
@@ -154,6 +256,7 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             resourceRegistration.registerReadOnlyAttribute(POOL_REMOVE_COUNT, handler);
             resourceRegistration.registerReadOnlyAttribute(POOL_CURRENT_SIZE, handler);
             resourceRegistration.registerReadWriteAttribute(POOL_MAX_SIZE, handler, handler);
+            resourceRegistration.registerReadOnlyAttribute(POOL_TARGET_SIZE, handler);
         }
 
         if (componentType.equals(EJBComponentType.STATEFUL)) {
@@ -175,6 +278,18 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     context.getResult().set(((StatefulSessionComponent)component).getCache().getTotalSize());
                 }
             });
+            resourceRegistration.registerMetric(PENDING_EXPIRATION_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((StatefulSessionComponent)component).getCache().getPendingExpirationCount());
+                }
+            });
+            resourceRegistration.registerMetric(PASSIVATION_TIMES, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    setTimeValues(context.getResult(), component.getInvocationMetrics().getPassivationTimes(), PASSIVATION_EVENTS, PASSIVATION_EVENT_TIME, PASSIVATION_EVENT_TIME_P50, PASSIVATION_EVENT_TIME_P99);
+                }
+            });
         }
 
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
@@ -204,17 +319,60 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                context.getResult().setEmptyObject();
-                for (final Map.Entry<String, InvocationMetrics.Values> entry : component.getInvocationMetrics().getMethods().entrySet()) {
-                    final InvocationMetrics.Values values = entry.getValue();
-                    final ModelNode result = new ModelNode();
-                    result.get("execution-time").set(values.getExecutionTime());
-                    result.get("invocations").set(values.getInvocations());
-                    result.get("wait-time").set(values.getWaitTime());
-                    context.getResult().get(entry.getKey()).set(result);
-                }
+                setMethodValues(context.getResult(), component.getInvocationMetrics().getMethods());
             }
         });
+        resourceRegistration.registerMetric(METHOD_SIGNATURES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                setMethodValues(context.getResult(), component.getInvocationMetrics().getMethodSignatures());
+            }
+        });
+        if (!componentType.equals(EJBComponentType.MESSAGE_DRIVEN)) {
+            resourceRegistration.registerMetric(CLONE_TIMES, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    setTimeValues(context.getResult(), component.getInvocationMetrics().getCloneTimes(), CLONES, CLONE_TIME, CLONE_TIME_P50, CLONE_TIME_P99);
+                }
+            });
+        }
+        if (componentType.equals(EJBComponentType.SINGLETON)) {
+            resourceRegistration.registerMetric(LOCK_WAIT_TIMES, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    setTimeValues(context.getResult(), component.getInvocationMetrics().getLockWaitTimes(), WAITS, LOCK_WAIT_TIME, LOCK_WAIT_TIME_P50, LOCK_WAIT_TIME_P99);
+                }
+            });
+        }
+    }
+
+    private static void setMethodValues(final ModelNode model, final Map<String, InvocationMetrics.Values> methods) {
+        model.setEmptyObject();
+        for (final Map.Entry<String, InvocationMetrics.Values> entry : methods.entrySet()) {
+            final InvocationMetrics.Values values = entry.getValue();
+            final ModelNode result = new ModelNode();
+            result.get(EXECUTION_TIME.getName()).set(values.getExecutionTime());
+            result.get(INVOCATIONS.getName()).set(values.getInvocations());
+            result.get(WAIT_TIME.getName()).set(values.getWaitTime());
+            result.get(EXECUTION_TIME_P50.getName()).set(values.getExecutionTime50());
+            result.get(EXECUTION_TIME_P99.getName()).set(values.getExecutionTime99());
+            result.get(EXECUTION_TIME_P999.getName()).set(values.getExecutionTime999());
+            model.get(entry.getKey()).set(result);
+        }
+    }
+
+    private static void setTimeValues(final ModelNode model, final Map<String, InvocationMetrics.TimeValues> times, final AttributeDefinition count,
+            final AttributeDefinition time, final AttributeDefinition time50, final AttributeDefinition time99) {
+        model.setEmptyObject();
+        for (final Map.Entry<String, InvocationMetrics.TimeValues> entry : times.entrySet()) {
+            final InvocationMetrics.TimeValues values = entry.getValue();
+            final ModelNode result = new ModelNode();
+            result.get(count.getName()).set(values.getCount());
+            result.get(time.getName()).set(values.getTime());
+            result.get(time50.getName()).set(values.getTime50());
+            result.get(time99.getName()).set(values.getTime99());
+            model.get(entry.getKey()).set(result);
+        }
     }
 
     /* (non-Javadoc)
@@ -22,12 +22,22 @@
 
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import javax.ejb.TimerService;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.as.ejb3.subsystem.EJB3SubsystemModel;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@link ResourceDefinition} for the timer-service resource for runtime ejb deployment.
@@ -36,6 +46,26 @@ import org.jboss.as.ejb3.subsystem.EJB3SubsystemModel;
  */
 public class TimerServiceResourceDefinition<T extends EJBComponent> extends SimpleResourceDefinition {
 
+    private static final AttributeDefinition SCHEDULED_TIMER_COUNT = new SimpleAttributeDefinitionBuilder("scheduled-timer-count", ModelType.INT)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition TIMEOUT_COUNT = new SimpleAttributeDefinitionBuilder("timeout-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition TIMEOUT_LAG_AVERAGE = new SimpleAttributeDefinitionBuilder("timeout-lag-average", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition TIMEOUT_LAG_MAX = new SimpleAttributeDefinitionBuilder("timeout-lag-max", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     private final AbstractEJBComponentRuntimeHandler<T> parentHandler;
     TimerServiceResourceDefinition(AbstractEJBComponentRuntimeHandler<T> parentHandler) {
         super(EJB3SubsystemModel.TIMER_SERVICE_PATH,
@@ -43,9 +73,51 @@ public class TimerServiceResourceDefinition<T extends EJBComponent> extends Simp
         this.parentHandler = parentHandler;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(SCHEDULED_TIMER_COUNT, new TimerServiceMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(OperationContext context, TimerServiceImpl timerService) {
+                context.getResult().set(timerService.getScheduledTimerCount());
+            }
+        });
+        resourceRegistration.registerMetric(TIMEOUT_COUNT, new TimerServiceMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(OperationContext context, TimerServiceImpl timerService) {
+                context.getResult().set(timerService.getTimeoutCount());
+            }
+        });
+        resourceRegistration.registerMetric(TIMEOUT_LAG_AVERAGE, new TimerServiceMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(OperationContext context, TimerServiceImpl timerService) {
+                context.getResult().set(timerService.getAverageTimeoutLag());
+            }
+        });
+        resourceRegistration.registerMetric(TIMEOUT_LAG_MAX, new TimerServiceMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(OperationContext context, TimerServiceImpl timerService) {
+                context.getResult().set(timerService.getMaxTimeoutLag());
+            }
+        });
+    }
+
     @Override
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         super.registerChildren(resourceRegistration);
         resourceRegistration.registerSubModel(new TimerResourceDefinition<T>(this.parentHandler));
     }
+
+    private abstract static class TimerServiceMetricsHandler extends AbstractRuntimeMetricsHandler {
+        @Override
+        protected void executeReadMetricStep(OperationContext context, ModelNode operation, EJBComponent component) throws OperationFailedException {
+            TimerService timerService = component.getTimerService();
+            // Components without timeout methods only have a non-functional timer service
+            if (timerService instanceof TimerServiceImpl) {
+                this.executeReadMetricStep(context, (TimerServiceImpl) timerService);
+            }
+        }
+
+        protected abstract void executeReadMetricStep(OperationContext context, TimerServiceImpl timerService);
+    }
 }
@@ -36,7 +36,14 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -100,7 +107,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<ScheduledExecutorService> schedulerInjectedValue = new InjectedValue<ScheduledExecutorService>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -117,12 +124,20 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * All timers which were created by this {@link TimerService}
      */
-    private final Map<String, TimerImpl> timers = Collections.synchronizedMap(new HashMap<String, TimerImpl>());
+    private final Map<String, TimerImpl> timers = new ConcurrentHashMap<String, TimerImpl>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds the {@link Task} of each of the timers that have been scheduled
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final ConcurrentMap<String, Task> scheduledTimerFutures = new ConcurrentHashMap<String, Task>();
+
+    /**
+     * Number of timeouts dispatched, and their accumulated and maximum lag, i.e. the time between
+     * the scheduled expiration and the actual start of the timeout, in milliseconds
+     */
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalTimeoutLag = new LongAdder();
+    private final LongAccumulator maxTimeoutLag = new LongAccumulator(Long::max, 0L);
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -210,7 +225,6 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         this.transactionManager = null;
         IoUtils.safeClose(listenerHandle);
         listenerHandle = null;
-        timerInjectedValue.getValue().purge(); //WFLY-3823
     }
 
 
@@ -399,13 +413,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         Object pk = currentPrimaryKey();
         final Set<Timer> activeTimers = new HashSet<Timer>();
         // get all active timers for this timerservice
-        synchronized (this.timers) {
-            for (final TimerImpl timer : this.timers.values()) {
-                // Less disruptive way to get WFLY-8457 fixed.
-                if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
-                    if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
-                        activeTimers.add(timer);
-                    }
+        for (final TimerImpl timer : this.timers.values()) {
+            // Less disruptive way to get WFLY-8457 fixed.
+            if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
+                if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
+                    activeTimers.add(timer);
                 }
             }
         }
@@ -859,17 +871,18 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * Creates and schedules a {@link TimerTask} for the next timeout of the passed <code>timer</code>
      */
-    protected void scheduleTimeout(TimerImpl timer, boolean newTimer) {
-        synchronized (scheduledTimerFutures) {
-            if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
+    protected void scheduleTimeout(final TimerImpl timer, final boolean newTimer) {
+        // Scheduling is atomic per timer only, so that timers of the same timer service never contend with each other
+        this.scheduledTimerFutures.compute(timer.getId(), (id, existing) -> {
+            if (!newTimer && existing == null) {
                 //this timer has been cancelled by another thread. We just return
-                return;
+                return null;
             }
 
             Date nextExpiration = timer.getNextExpiration();
             if (nextExpiration == null) {
                 EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
-                return;
+                return existing;
             }
             // create the timer task
             final TimerTask<?> timerTask = timer.getTimerTask();
@@ -880,23 +893,21 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                 delay = 0;
             }
             long intervalDuration = timer.getInterval();
-            final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint());
+            final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint(), nextExpiration.getTime(), intervalDuration);
+            final ScheduledExecutorService scheduler = this.schedulerInjectedValue.getValue();
             if (intervalDuration > 0) {
                 EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
                         timer, delay, intervalDuration);
                 // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
+                task.setFuture(scheduler.scheduleAtFixedRate(task, delay, intervalDuration, TimeUnit.MILLISECONDS));
             } else {
                 EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
                 // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-
+                task.setFuture(scheduler.schedule(task, delay, TimeUnit.MILLISECONDS));
             }
-        }
+            // maintain it in timerservice for future use (like cancellation)
+            return task;
+        });
     }
 
     /**
@@ -905,18 +916,50 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * @param timer
      */
     protected void cancelTimeout(final TimerImpl timer) {
-        synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
-            if (timerTask != null) {
-                timerTask.cancel();
-            }
+        Task task = this.scheduledTimerFutures.remove(timer.getId());
+        if (task != null) {
+            task.cancel();
         }
     }
 
     public boolean isScheduled(final String tid){
-        synchronized (this.scheduledTimerFutures) {
-            return this.scheduledTimerFutures.containsKey(tid);
-        }
+        return this.scheduledTimerFutures.containsKey(tid);
+    }
+
+    /**
+     * Returns the number of timers whose next timeout is currently scheduled.
+     */
+    public int getScheduledTimerCount() {
+        return this.scheduledTimerFutures.size();
+    }
+
+    /**
+     * Returns the number of timeouts dispatched by this timer service.
+     */
+    public long getTimeoutCount() {
+        return this.timeoutCount.sum();
+    }
+
+    /**
+     * Returns the average time, in milliseconds, between the scheduled expiration of a timer and the start of its timeout.
+     */
+    public long getAverageTimeoutLag() {
+        long count = this.timeoutCount.sum();
+        return (count > 0) ? this.totalTimeoutLag.sum() / count : 0L;
+    }
+
+    /**
+     * Returns the maximum time, in milliseconds, between the scheduled expiration of a timer and the start of its timeout.
+     */
+    public long getMaxTimeoutLag() {
+        return this.maxTimeoutLag.get();
+    }
+
+    void recordTimeoutLag(long lag) {
+        long value = Math.max(lag, 0L);
+        this.timeoutCount.increment();
+        this.totalTimeoutLag.add(value);
+        this.maxTimeoutLag.accumulate(value);
     }
 
     /**
@@ -1071,8 +1114,8 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
-        return timerInjectedValue;
+    public InjectedValue<ScheduledExecutorService> getSchedulerInjectedValue() {
+        return schedulerInjectedValue;
     }
 
     public InjectedValue<TimerPersistence> getTimerPersistence() {
@@ -1190,33 +1233,53 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements Runnable {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
+        private final long interval;
+        /**
+         * The expiration this task is due for, only updated by the scheduler thread running this task
+         */
+        private long expiration;
+        private volatile ScheduledFuture<?> future;
         /**
          * This is true if a task is queued up to be run by the request controller,
          * used to stop timer tasks banking up when the container is suspended.
          */
         private volatile boolean queued = false;
 
-        public Task(final TimerTask<?> delegate, ControlPoint controlPoint) {
+        public Task(final TimerTask<?> delegate, ControlPoint controlPoint, long expiration, long interval) {
             this.delegate = delegate;
             this.controlPoint = controlPoint;
+            this.expiration = expiration;
+            this.interval = interval;
+        }
+
+        void setFuture(ScheduledFuture<?> future) {
+            this.future = future;
         }
 
         @Override
         public void run() {
+            final long expiration = this.expiration;
+            if (this.interval > 0) {
+                this.expiration += this.interval;
+            }
             final ExecutorService executor = executorServiceInjectedValue.getOptionalValue();
             if (executor != null) {
                 if(controlPoint == null) {
-                    executor.submit(delegate);
+                    executor.submit(() -> {
+                        recordTimeoutLag(System.currentTimeMillis() - expiration);
+                        delegate.run();
+                    });
                 } else if(!queued) {
                     queued = true;
                     controlPoint.queueTask(new Runnable() {
                         @Override
                         public void run() {
                             queued = false;
+                            recordTimeoutLag(System.currentTimeMillis() - expiration);
                             delegate.run();
                         }
                     }, executor, -1, null, false);
@@ -1226,10 +1289,12 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
-        public boolean cancel() {
+        public void cancel() {
             delegate.cancel();
-            return super.cancel();
+            ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
         }
     }
 
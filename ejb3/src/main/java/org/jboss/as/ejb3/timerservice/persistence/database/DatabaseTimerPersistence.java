@@ -22,6 +22,8 @@
 
 package org.jboss.as.ejb3.timerservice.persistence.database;
 
+import static java.security.AccessController.doPrivileged;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
@@ -29,6 +31,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.security.PrivilegedAction;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
@@ -51,6 +54,12 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
@@ -84,6 +93,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * <p>
@@ -95,13 +105,23 @@ import org.jboss.msc.value.InjectedValue;
  */
 public class DatabaseTimerPersistence implements TimerPersistence, Service<DatabaseTimerPersistence> {
 
+    private static final ThreadFactory WRITE_BEHIND_THREAD_FACTORY = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+        @Override
+        public JBossThreadFactory run() {
+            return new JBossThreadFactory(new ThreadGroup("EJB timer write-behind"), Boolean.TRUE, null, "%G - %t", null, null);
+        }
+    });
+
     private final InjectedValue<ManagedReferenceFactory> dataSourceInjectedValue = new InjectedValue<ManagedReferenceFactory>();
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
     private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
 
-    private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
+    private final ConcurrentMap<String, Set<String>> knownTimerIds = new ConcurrentHashMap<>();
+
+    /** Timer state updates not yet written to the database, keyed by timer id, if write-behind is enabled*/
+    private final ConcurrentMap<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
 
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
@@ -121,24 +141,37 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
+    /** Interval in millis to write pending timer updates, write-behind is disabled if not positive*/
+    private final int writeBehindInterval;
+    private WriteBehindTask writeBehindTask;
+    // Write-behind runs on its own thread, so that a slow database does not delay the refresh task on the shared timer
+    private ScheduledExecutorService writeBehindExecutor;
 
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
     private static final String CREATE_TIMER = "create-timer";
     private static final String UPDATE_TIMER = "update-timer";
     private static final String LOAD_ALL_TIMERS = "load-all-timers";
+    private static final String LOAD_ALL_TIMER_IDS = "load-all-timer-ids";
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    /** Maximum number of statements per JDBC batch*/
+    private static final int BATCH_SIZE = 100;
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+        this(database, partition, nodeName, refreshInterval, allowExecution, 0);
+    }
+
+    public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, int writeBehindInterval) {
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.writeBehindInterval = writeBehindInterval;
     }
 
     @Override
@@ -166,6 +199,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             refreshTask = new RefreshTask();
             timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
         }
+        if (writeBehindInterval > 0) {
+            writeBehindTask = new WriteBehindTask();
+            writeBehindExecutor = new ScheduledThreadPoolExecutor(1, WRITE_BEHIND_THREAD_FACTORY);
+            writeBehindExecutor.scheduleWithFixedDelay(writeBehindTask, writeBehindInterval, writeBehindInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -173,6 +211,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         if (refreshTask != null) {
             refreshTask.cancel();
         }
+        if (writeBehindTask != null) {
+            // Cancels the periodic write, an in-flight write completes before the final one below
+            writeBehindExecutor.shutdown();
+            writeBehindExecutor = null;
+            // Write whatever is left before the data source goes away
+            try {
+                writeBehindTask.write();
+            } catch (SQLException e) {
+                for (PendingUpdate update : pendingUpdates.values()) {
+                    EjbLogger.EJB3_TIMER_LOGGER.lostTimerUpdate(update.id, update.timedObjectId, e);
+                }
+            }
+            writeBehindTask = null;
+        }
+        pendingUpdates.clear();
         knownTimerIds.clear();
         managedReference.release();
         managedReference = null;
@@ -323,9 +376,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         try {
-            synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-            }
+            knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
@@ -341,6 +392,14 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
+        if (writeBehindInterval > 0 && timerEntity.getState() != TimerState.CANCELED && timerEntity.getState() != TimerState.EXPIRED) {
+            knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+            // Only the latest state of a timer is written
+            pendingUpdates.put(timerEntity.getId(), new PendingUpdate(timerEntity));
+            return;
+        }
+        // A pending update must not outlive the deletion of its timer
+        pendingUpdates.remove(timerEntity.getId());
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
@@ -354,24 +413,12 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 statement.setString(2, timerEntity.getId());
                 statement.setString(3, partition);
                 statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
-                }
+                knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-                }
+                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
                 String updateTimer = sql(UPDATE_TIMER);
                 statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
+                updateParameters(new PendingUpdate(timerEntity), statement);
                 statement.execute();
             }
         } catch (SQLException e) {
@@ -434,7 +481,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     }
 
     @Override
-    public synchronized void timerUndeployed(final String timedObjectId) {
+    public void timerUndeployed(final String timedObjectId) {
         knownTimerIds.remove(timedObjectId);
     }
 
@@ -469,23 +516,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                 }
             }
-            synchronized (this) {
-                Set<String> ids = new HashSet<>();
-                for (Holder timer : timers) {
-                    ids.add(timer.timer.getId());
-                }
-                knownTimerIds.put(timedObjectId, ids);
-                for(Holder timer : timers) {
-                    if(timer.requiresReset) {
-                        TimerImpl ret = timer.timer;
-                        EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
-                        if(ret.getNextExpiration() == null) {
-                            ret.setTimerState(TimerState.CANCELED);
-                            persistTimer(ret);
-                        } else {
-                            ret.setTimerState(TimerState.ACTIVE);
-                            persistTimer(ret);
-                        }
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            for (Holder timer : timers) {
+                ids.add(timer.timer.getId());
+            }
+            knownTimerIds.put(timedObjectId, ids);
+            for(Holder timer : timers) {
+                if(timer.requiresReset) {
+                    TimerImpl ret = timer.timer;
+                    EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
+                    if(ret.getNextExpiration() == null) {
+                        ret.setTimerState(TimerState.CANCELED);
+                        persistTimer(ret);
+                    } else {
+                        ret.setTimerState(TimerState.ACTIVE);
+                        persistTimer(ret);
                     }
                 }
             }
@@ -579,6 +624,18 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return new Holder(ret, requiresReset);
     }
 
+    private void updateParameters(final PendingUpdate update, final PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, timestamp(update.nextExpiration));
+        statement.setTimestamp(2, timestamp(update.previousRun));
+        statement.setString(3, update.state.name());
+        setNodeName(update.state, statement, 4);
+        // WHERE CLAUSE
+        statement.setString(5, update.timedObjectId);
+        statement.setString(6, update.id);
+        statement.setString(7, partition);
+        statement.setString(8, nodeName);   // only persist if this node or empty
+    }
+
     private void statementParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
         statement.setString(1, timerEntity.getId());
         statement.setString(2, timerEntity.getTimedObjectId());
@@ -787,59 +844,26 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
-                    synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
-                    }
-                    for (String timedObjectId : timedObjects) {
+                    for (String timedObjectId : new HashSet<>(knownTimerIds.keySet())) {
                         TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
+                        Set<String> timers = knownTimerIds.get(timedObjectId);
+                        if (listener == null || timers == null) {
                             continue;
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
-                        }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
                         try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        synchronized (DatabaseTimerPersistence.this) {
-                                            knownTimerIds.get(timedObjectId).add(id);
-                                        }
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if(holder != null) {
-                                            listener.timerAdded(holder.timer);
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
+                            final Set<String> existing = new HashSet<>(timers);
+                            final Set<String> added = loadTimerIds(timedObjectId);
+                            existing.removeAll(added);
+                            added.removeAll(timers);
+                            if (!added.isEmpty()) {
+                                loadAddedTimers(timedObjectId, added, timers, listener);
                             }
-
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    timers.remove(timer);
-                                    listener.timerRemoved(timer);
-                                }
+                            for (String timer : existing) {
+                                timers.remove(timer);
+                                listener.timerRemoved(timer);
                             }
                         } catch (SQLException e) {
                             EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
                     }
                 } finally {
@@ -848,8 +872,148 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             }
 
         }
+
+        /**
+         * Loads only the ids of the timers of the given timed object, so that an unchanged table costs a single
+         * index scan rather than the deserialization of every timer.
+         */
+        private Set<String> loadTimerIds(final String timedObjectId) throws SQLException {
+            String loadTimerIds = sql(LOAD_ALL_TIMER_IDS);
+            if (loadTimerIds == null) {
+                // Custom sql files may not define the id query, the id is the first column of the full query too
+                loadTimerIds = sql(LOAD_ALL_TIMERS);
+            }
+            final Set<String> ids = new HashSet<>();
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimerIds);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getString(1));
+                }
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+            return ids;
+        }
+
+        private void loadAddedTimers(final String timedObjectId, final Set<String> added, final Set<String> timers, final TimerChangeListener listener) throws SQLException {
+            String loadTimer = sql(LOAD_ALL_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimer);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    try {
+                        String id = resultSet.getString(1);
+                        // Only timers created elsewhere since the last refresh are materialized
+                        if (added.contains(id) && timers.add(id)) {
+                            final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                            if(holder != null) {
+                                listener.timerAdded(holder.timer);
+                            }
+                        }
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+                    }
+                }
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
     }
 
+    private class WriteBehindTask implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                this.write();
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToWriteTimerUpdates(pendingUpdates.size(), e);
+            }
+        }
+
+        /**
+         * Writes the pending updates to the database in batches.
+         * Updates that could not be written are pending again when this method throws.
+         */
+        synchronized void write() throws SQLException {
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            final List<PendingUpdate> updates = new ArrayList<>(pendingUpdates.size());
+            for (PendingUpdate update : pendingUpdates.values()) {
+                // Leave the entry in place if it was superseded in the meantime
+                if (pendingUpdates.remove(update.id, update)) {
+                    updates.add(update);
+                }
+            }
+            if (updates.isEmpty()) {
+                return;
+            }
+            String updateTimer = sql(UPDATE_TIMER);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(updateTimer);
+                int count = 0;
+                for (PendingUpdate update : updates) {
+                    updateParameters(update, statement);
+                    statement.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (count % BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+            } catch (SQLException e) {
+                for (PendingUpdate update : updates) {
+                    // A newer state queued since takes precedence over the failed one
+                    pendingUpdates.putIfAbsent(update.id, update);
+                }
+                throw e;
+            } finally {
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the mutable state of a timer, as written by the update statement.
+     */
+    private static final class PendingUpdate {
+        final String timedObjectId;
+        final String id;
+        final Date nextExpiration;
+        final Date previousRun;
+        final TimerState state;
+
+        PendingUpdate(TimerImpl timer) {
+            this.timedObjectId = timer.getTimedObjectId();
+            this.id = timer.getId();
+            this.nextExpiration = timer.getNextExpiration();
+            this.previousRun = timer.getPreviousRun();
+            this.state = timer.getState();
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
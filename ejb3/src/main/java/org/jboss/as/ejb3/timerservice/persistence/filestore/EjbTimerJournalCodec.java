@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Binary encoding of a persistent timer, as stored in a {@link TimerJournal} record.
+ * <p/>
+ * Contains the same state as the XML format written by {@link EjbTimerXmlPersister}, the info and primary key
+ * are marshalled with the configured {@link MarshallerFactory} rather than Base64 encoded.
+ */
+public class EjbTimerJournalCodec {
+
+    private static final byte TIMER = 0;
+    private static final byte CALENDAR_TIMER = 1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    public EjbTimerJournalCodec(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    public byte[] write(TimerImpl timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        boolean calendar = timer instanceof CalendarTimer;
+        out.writeByte(calendar ? CALENDAR_TIMER : TIMER);
+        out.writeUTF(timer.getTimedObjectId());
+        out.writeUTF(timer.getId());
+        writeDate(out, timer.getInitialExpiration());
+        out.writeLong(timer.getInterval());
+        writeDate(out, timer.getNextExpiration());
+        writeDate(out, timer.getPreviousRun());
+        out.writeUTF(timer.getState().name());
+        writeObject(out, timer.getTimerInfo());
+        writeObject(out, timer.getPrimaryKey());
+        if (calendar) {
+            CalendarTimer calendarTimer = (CalendarTimer) timer;
+            ScheduleExpression expression = calendarTimer.getScheduleExpression();
+            out.writeUTF(expression.getSecond());
+            out.writeUTF(expression.getMinute());
+            out.writeUTF(expression.getHour());
+            out.writeUTF(expression.getDayOfWeek());
+            out.writeUTF(expression.getDayOfMonth());
+            out.writeUTF(expression.getMonth());
+            out.writeUTF(expression.getYear());
+            writeDate(out, expression.getStart());
+            writeDate(out, expression.getEnd());
+            writeString(out, expression.getTimezone());
+            out.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                Method method = calendarTimer.getTimeoutMethod();
+                out.writeUTF(method.getDeclaringClass().getName());
+                out.writeUTF(method.getName());
+                Class<?>[] parameters = method.getParameterTypes();
+                out.writeInt(parameters.length);
+                for (Class<?> parameter : parameters) {
+                    out.writeUTF(parameter.getName());
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a timer from its binary form.
+     *
+     * @return the timer, or {@code null} if it is an auto timer whose timeout method no longer exists
+     */
+    public TimerImpl read(byte[] data, TimerServiceImpl timerService, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        boolean calendar = in.readByte() == CALENDAR_TIMER;
+        CalendarTimer.Builder calendarBuilder = calendar ? CalendarTimer.builder() : null;
+        TimerImpl.Builder builder = calendar ? calendarBuilder : TimerImpl.builder();
+        builder.setPersistent(true);
+        builder.setTimedObjectId(in.readUTF());
+        builder.setId(in.readUTF());
+        builder.setInitialDate(readDate(in));
+        builder.setRepeatInterval(in.readLong());
+        builder.setNextDate(readDate(in));
+        builder.setPreviousRun(readDate(in));
+        builder.setTimerState(TimerState.valueOf(in.readUTF()));
+        builder.setInfo((Serializable) readObject(in));
+        builder.setPrimaryKey(readObject(in));
+        if (!calendar) {
+            return builder.build(timerService);
+        }
+        calendarBuilder.setScheduleExprSecond(in.readUTF());
+        calendarBuilder.setScheduleExprMinute(in.readUTF());
+        calendarBuilder.setScheduleExprHour(in.readUTF());
+        calendarBuilder.setScheduleExprDayOfWeek(in.readUTF());
+        calendarBuilder.setScheduleExprDayOfMonth(in.readUTF());
+        calendarBuilder.setScheduleExprMonth(in.readUTF());
+        calendarBuilder.setScheduleExprYear(in.readUTF());
+        calendarBuilder.setScheduleExprStartDate(readDate(in));
+        calendarBuilder.setScheduleExprEndDate(readDate(in));
+        calendarBuilder.setScheduleExprTimezone(readString(in));
+        boolean autoTimer = in.readBoolean();
+        calendarBuilder.setAutoTimer(autoTimer);
+        if (autoTimer) {
+            String declaringClass = in.readUTF();
+            String name = in.readUTF();
+            String[] parameters = new String[in.readInt()];
+            for (int i = 0; i < parameters.length; ++i) {
+                parameters[i] = in.readUTF();
+            }
+            Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, name, parameters), classLoader);
+            if (timeoutMethod == null) {
+                return null;
+            }
+            calendarBuilder.setTimeoutMethod(timeoutMethod);
+        }
+        return calendarBuilder.build(timerService);
+    }
+
+    private static void writeDate(DataOutputStream out, Date date) throws IOException {
+        out.writeLong((date != null) ? date.getTime() : NO_DATE);
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        return (time != NO_DATE) ? new Date(time) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeObject(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Marshaller marshaller = this.factory.createMarshaller(this.configuration);
+        marshaller.start(new OutputStreamByteOutput(bytes));
+        marshaller.writeObject(value);
+        marshaller.finish();
+        marshaller.flush();
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    private Object readObject(DataInputStream in) throws IOException, ClassNotFoundException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        in.readFully(data);
+        Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration);
+        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(data)));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+}
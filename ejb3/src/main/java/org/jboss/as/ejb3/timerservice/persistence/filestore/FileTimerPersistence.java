@@ -95,10 +95,21 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
 
+    private final Format format;
+    private final boolean journalSync;
+    private EjbTimerJournalCodec codec;
+
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    /** The open journals and their timers, by timed object id, if the journal format is used */
+    private final ConcurrentMap<String, TimerJournal> journals = new ConcurrentHashMap<String, TimerJournal>();
+    private final ConcurrentMap<String, Map<String, TimerImpl>> journalTimers = new ConcurrentHashMap<String, Map<String, TimerImpl>>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, Format.XML, false);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final Format format, final boolean journalSync) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
@@ -106,6 +117,8 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.format = format;
+        this.journalSync = journalSync;
     }
 
     @Override
@@ -130,6 +143,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
         this.configuration = configuration;
         this.factory = factory;
+        this.codec = new EjbTimerJournalCodec(factory, configuration);
         if (pathRelativeTo != null) {
             callbackHandle = pathManager.getValue().registerCallback(pathRelativeTo, PathManager.ReloadServerCallback.create(), PathManager.Event.UPDATED, PathManager.Event.REMOVED);
         }
@@ -150,6 +164,11 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     @Override
     public void stop(final StopContext context) {
+        for (TimerJournal journal : journals.values()) {
+            safeClose(journal);
+        }
+        journals.clear();
+        journalTimers.clear();
         locks.clear();
         directories.clear();
         if (callbackHandle != null) {
@@ -157,6 +176,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
         factory = null;
         configuration = null;
+        codec = null;
     }
 
     @Override
@@ -217,12 +237,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
                     map.remove(timer.getId());
-                    writeFile(timer);
+                    writeTimer(timer);
                 } else if (newTimer || map.containsKey(timer.getId())) {
                     //if it is not a new timer and is not in the map then it has
                     //been removed by another thread.
                     map.put(timer.getId(), timer);
-                    writeFile(timer);
+                    writeTimer(timer);
                 }
             } else {
 
@@ -253,6 +273,11 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            journalTimers.remove(timedObjectId);
+            final TimerJournal journal = journals.remove(timedObjectId);
+            if (journal != null) {
+                safeClose(journal);
+            }
         } finally {
             lock.unlock();
         }
@@ -331,9 +356,62 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (format == Format.JOURNAL) {
+            Map<String, TimerImpl> timers = journalTimers.get(timedObjectId);
+            if (timers == null) {
+                timers = loadTimersFromJournal(timedObjectId, timerService);
+                journalTimers.put(timedObjectId, timers);
+            }
+            return timers;
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Opens the journal of the timed object and reads its timers. If there is no journal yet, the timers
+     * stored in XML files are imported into a new journal, and the XML files of the imported timers are
+     * removed once the journal is written. Should be called under lock
+     */
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        final File file = new File(getDirectory(timedObjectId), TimerJournal.FILE_NAME);
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        try {
+            if (!file.exists()) {
+                final Map<String, TimerImpl> existing = loadTimersFromFile(timedObjectId, timerService);
+                final Map<String, byte[]> records = new HashMap<>();
+                for (TimerImpl timer : existing.values()) {
+                    records.put(timer.getId(), codec.write(timer));
+                }
+                journals.put(timedObjectId, TimerJournal.migrate(file.getParentFile(), journalSync, records));
+                timers.putAll(existing);
+                if (!existing.isEmpty()) {
+                    EJB3_TIMER_LOGGER.migratedTimersToJournal(existing.size(), timedObjectId, file);
+                }
+                return timers;
+            }
+            final TimerJournal journal = TimerJournal.open(file, journalSync);
+            journals.put(timedObjectId, journal);
+            final ClassLoader classLoader = timerService.getTimedObjectInvoker().getValue().getClassLoader();
+            for (Map.Entry<String, byte[]> entry : journal.getTimers().entrySet()) {
+                try {
+                    final TimerImpl timer = codec.read(entry.getValue(), timerService, classLoader);
+                    if (timer != null) {
+                        timers.put(entry.getKey(), timer);
+                    } else {
+                        //the timeout method of the auto timer no longer exists
+                        EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), null);
+                        journal.remove(entry.getKey());
+                    }
+                } catch (Exception e) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+                }
+            }
+            return timers;
+        } catch (IOException e) {
+            throw EJB3_TIMER_LOGGER.failedToLoadTimerJournal(timedObjectId, file, e);
+        }
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
@@ -403,7 +481,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
 
     private File fileName(String timedObjectId, String timerId) {
-        return new File(getDirectory(timedObjectId) + File.separator + timerId.replace(File.separator, "-") + ".xml");
+        return new File(getDirectory(timedObjectId), TimerJournal.xmlFileName(timerId));
     }
 
     /**
@@ -470,7 +548,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                                     map.put(timer.getId(), timer);
                                 }
                             }
-                            writeFile(timer);
+                            writeTimer(timer);
                         }
                     } finally {
                         lock.unlock();
@@ -483,6 +561,28 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     }
 
+    private void writeTimer(TimerImpl timer) {
+        if (format == Format.JOURNAL) {
+            writeJournal(timer);
+        } else {
+            writeFile(timer);
+        }
+    }
+
+    private void writeJournal(TimerImpl timer) {
+        final TimerJournal journal = journals.get(timer.getTimedObjectId());
+        try {
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                journal.remove(timer.getId());
+            } else {
+                journal.put(timer.getId(), codec.write(timer));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void writeFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
@@ -551,4 +651,38 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         ctr.setAccessible(true);
         return (XMLExtendedStreamWriter) ctr.newInstance(new Object[]{writer});
     }
+
+    /**
+     * The format in which timers are stored.
+     */
+    public enum Format {
+        /**
+         * One XML file per timer, rewritten on each change.
+         */
+        XML("xml"),
+        /**
+         * One append-only binary {@link TimerJournal} per timed object.
+         */
+        JOURNAL("journal"),
+        ;
+        private final String name;
+
+        Format(String name) {
+            this.name = name;
+        }
+
+        public static Format forName(String name) {
+            for (Format format : values()) {
+                if (format.name.equals(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException(name);
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
 }
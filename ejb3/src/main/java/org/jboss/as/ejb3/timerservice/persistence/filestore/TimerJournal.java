@@ -0,0 +1,378 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the persistent timers of a single timed object.
+ * <p/>
+ * Each change appends one record, holding either the complete binary state of a timer or the removal of a timer,
+ * so a change costs a single sequential write instead of rewriting a file. The latest state of every live timer
+ * is kept in memory, and once superseded records outnumber the live timers the log is compacted by writing those
+ * states to a new file that atomically replaces the old one.
+ * <p/>
+ * Records are framed as {@code [length][crc32][payload]}. A torn or corrupt record at the end of the log, as left
+ * behind by a crash during an append, is discarded on replay.
+ * <p/>
+ * If sync is enabled, an append returns only once its record has been forced to disk. Concurrent appends share a
+ * single force (group commit): the thread that forces the log covers every record appended before it.
+ */
+public class TimerJournal implements Closeable {
+
+    static final String FILE_NAME = "timers.journal";
+
+    private static final String COMPACTION_SUFFIX = ".compact";
+    private static final String XML_SUFFIX = ".xml";
+    // Identifies the file and the version of the record format
+    private static final int MAGIC = 0x454A5401;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int RECORD_HEADER_SIZE = 8;
+    // Minimum number of superseded records before a compaction is worthwhile
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final File file;
+    private final boolean sync;
+    private final Object syncLock = new Object();
+
+    // All guarded by this
+    private final Map<String, byte[]> timers = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long appended;
+    private int staleRecords;
+
+    // Guarded by syncLock
+    private long synced;
+
+    private TimerJournal(File file, boolean sync) {
+        this.file = file;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens the journal in the given file, replaying its records. The file is created if it does not exist.
+     *
+     * @param file the journal file
+     * @param sync whether appends are forced to disk before they return
+     * @return the journal
+     * @throws IOException if the journal cannot be read
+     */
+    public static TimerJournal open(File file, boolean sync) throws IOException {
+        TimerJournal journal = new TimerJournal(file, sync);
+        if (!file.exists()) {
+            writeSnapshot(file.toPath(), Collections.<String, byte[]>emptyMap());
+        }
+        journal.replay();
+        return journal;
+    }
+
+    /**
+     * Creates a journal holding the given timers, replacing any existing journal in the given file.
+     * The journal is written completely before it becomes visible under its file name.
+     *
+     * @param file the journal file
+     * @param sync whether appends are forced to disk before they return
+     * @param timers the binary state of each timer, by timer id
+     * @return the journal
+     * @throws IOException if the journal cannot be written
+     */
+    public static TimerJournal create(File file, boolean sync, Map<String, byte[]> timers) throws IOException {
+        writeSnapshot(file.toPath(), timers);
+        TimerJournal journal = new TimerJournal(file, sync);
+        journal.replay();
+        return journal;
+    }
+
+    /**
+     * Creates a journal in the given directory, holding the given timers imported from the XML files of that directory.
+     * Once the journal is written, the XML files of the imported timers are removed. Any other XML file, e.g. one that
+     * could not be read, is left in place and logged, as it is no longer read once the journal exists.
+     *
+     * @param directory the directory holding the XML files of a timed object
+     * @param sync whether every append is forced to the storage device
+     * @param timers the binary state of the imported timers, by timer id
+     * @return the new journal
+     * @throws IOException if the journal could not be written, in which case no XML file was removed
+     */
+    public static TimerJournal migrate(File directory, boolean sync, Map<String, byte[]> timers) throws IOException {
+        File file = new File(directory, FILE_NAME);
+        TimerJournal journal = create(file, sync, timers);
+        for (String id : timers.keySet()) {
+            // A file that cannot be deleted is logged below
+            new File(directory, xmlFileName(id)).delete();
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File timerFile : files) {
+                if (timerFile.getName().endsWith(XML_SUFFIX)) {
+                    EJB3_TIMER_LOGGER.timerFileNotMigrated(timerFile, file);
+                }
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * Returns the name of the XML file of the specified timer.
+     */
+    static String xmlFileName(String timerId) {
+        return timerId.replace(File.separator, "-") + XML_SUFFIX;
+    }
+
+    /**
+     * Returns the binary state of every live timer, by timer id.
+     */
+    public synchronized Map<String, byte[]> getTimers() {
+        return new LinkedHashMap<>(this.timers);
+    }
+
+    public void put(String id, byte[] timer) throws IOException {
+        this.append(PUT, id, timer);
+    }
+
+    public void remove(String id) throws IOException {
+        this.append(REMOVE, id, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.syncLock) {
+            synchronized (this) {
+                if (this.channel != null) {
+                    try {
+                        if (this.sync) {
+                            this.channel.force(false);
+                        }
+                    } finally {
+                        this.channel.close();
+                        this.channel = null;
+                    }
+                }
+            }
+        }
+    }
+
+    private void append(byte type, String id, byte[] timer) throws IOException {
+        ByteBuffer record = record(type, id, timer);
+        long end;
+        boolean compact;
+        synchronized (this) {
+            if (this.channel == null) {
+                throw new ClosedChannelException();
+            }
+            while (record.hasRemaining()) {
+                this.channel.write(record);
+            }
+            this.appended += record.limit();
+            end = this.appended;
+            if (type == PUT) {
+                if (this.timers.put(id, timer) != null) {
+                    this.staleRecords += 1;
+                }
+            } else {
+                // Both the removal and the state it removes are obsolete
+                this.staleRecords += (this.timers.remove(id) != null) ? 2 : 1;
+            }
+            compact = (this.staleRecords >= COMPACTION_THRESHOLD) && (this.staleRecords > this.timers.size());
+        }
+        if (compact) {
+            this.compact();
+        } else if (this.sync) {
+            this.force(end);
+        }
+    }
+
+    private void force(long end) throws IOException {
+        synchronized (this.syncLock) {
+            // Someone else already forced our record
+            if (this.synced >= end) {
+                return;
+            }
+            long target;
+            FileChannel channel;
+            synchronized (this) {
+                target = this.appended;
+                channel = this.channel;
+            }
+            if (channel != null) {
+                channel.force(false);
+            }
+            this.synced = target;
+        }
+    }
+
+    /**
+     * Rewrites the journal so that it contains only the latest state of the live timers.
+     */
+    private void compact() throws IOException {
+        synchronized (this.syncLock) {
+            synchronized (this) {
+                if ((this.channel == null) || (this.staleRecords < COMPACTION_THRESHOLD)) {
+                    // Closed, or compacted by a concurrent append
+                    return;
+                }
+                Path path = this.file.toPath();
+                writeSnapshot(path, this.timers);
+                this.channel.close();
+                this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.channel.position(this.channel.size());
+                this.staleRecords = 0;
+                // The snapshot was forced to disk, so every record appended so far is durable
+                this.synced = this.appended;
+            }
+        }
+    }
+
+    private void replay() throws IOException {
+        Path path = this.file.toPath();
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            long position = 4;
+            int records = 0;
+            // Not closed, as that would close the channel
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if ((size < 4) || (input.readInt() != MAGIC)) {
+                throw EJB3_TIMER_LOGGER.invalidTimerJournal(this.file);
+            }
+            try {
+                while (position + RECORD_HEADER_SIZE <= size) {
+                    int length = input.readInt();
+                    int checksum = input.readInt();
+                    if ((length <= 0) || (position + RECORD_HEADER_SIZE + length > size)) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    input.readFully(payload);
+                    if (checksum != checksum(payload)) {
+                        break;
+                    }
+                    this.apply(payload);
+                    position += RECORD_HEADER_SIZE + length;
+                    records += 1;
+                }
+            } catch (EOFException e) {
+                // Truncated record, discarded below
+            }
+            if (position < size) {
+                EJB3_TIMER_LOGGER.discardedTimerJournalTail(size - position, this.file);
+                channel.truncate(position);
+            }
+            channel.position(position);
+            synchronized (this) {
+                this.channel = channel;
+                this.appended = position;
+                this.staleRecords = records - this.timers.size();
+            }
+            synchronized (this.syncLock) {
+                this.synced = position;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private synchronized void apply(byte[] payload) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = input.readByte();
+        String id = input.readUTF();
+        if (type == PUT) {
+            byte[] timer = new byte[input.available()];
+            input.readFully(timer);
+            this.timers.put(id, timer);
+        } else {
+            this.timers.remove(id);
+        }
+    }
+
+    /**
+     * Writes a journal holding only the given timers to a temporary file, and moves it over the given file once it
+     * is on disk, so that the given file always holds a complete journal.
+     */
+    private static void writeSnapshot(Path path, Map<String, byte[]> timers) throws IOException {
+        Path snapshot = path.resolveSibling(path.getFileName() + COMPACTION_SUFFIX);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(0, MAGIC);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            for (Map.Entry<String, byte[]> entry : timers.entrySet()) {
+                ByteBuffer record = record(PUT, entry.getKey(), entry.getValue());
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(snapshot, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer record(byte type, String id, byte[] timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + ((timer != null) ? timer.length : 0) + id.length() + 3);
+        DataOutputStream output = new DataOutputStream(bytes);
+        // Room for the header, filled in below
+        output.writeLong(0L);
+        output.writeByte(type);
+        output.writeUTF(id);
+        if (timer != null) {
+            output.write(timer);
+        }
+        output.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int length = buffer.limit() - RECORD_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, length);
+        buffer.putInt(0, length);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+}
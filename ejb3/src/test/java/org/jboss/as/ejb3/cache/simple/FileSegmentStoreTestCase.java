@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link FileSegmentStore}.
+ */
+public class FileSegmentStoreTestCase {
+
+    private File directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("segments").toFile();
+    }
+
+    @After
+    public void destroy() {
+        this.directory.delete();
+    }
+
+    @Test
+    public void testStoreAndRemove() throws IOException {
+        try (FileSegmentStore<String> store = new FileSegmentStore<>(this.directory, "test", 64, 2)) {
+            assertTrue(store.store("a", new byte[] { 1, 2, 3 }));
+            assertTrue(store.store("b", new byte[] { 4, 5 }));
+            assertTrue(store.contains("a"));
+            assertEquals(2, store.size());
+
+            assertArrayEquals(new byte[] { 1, 2, 3 }, store.remove("a"));
+            assertFalse(store.contains("a"));
+            assertNull(store.remove("a"));
+
+            // replacing an entry frees the previous one
+            assertTrue(store.store("b", new byte[] { 6 }));
+            assertEquals(1, store.size());
+            assertArrayEquals(new byte[] { 6 }, store.remove("b"));
+            assertEquals(0, store.size());
+        }
+        assertEquals(0, this.directory.list().length);
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        try (FileSegmentStore<Integer> store = new FileSegmentStore<>(this.directory, "test", 16, 2)) {
+            // larger than a segment
+            assertFalse(store.store(0, new byte[17]));
+
+            assertTrue(store.store(1, new byte[10]));
+            assertTrue(store.store(2, new byte[10]));
+            assertEquals(2, store.getSegmentCount());
+            // both segments are full
+            assertFalse(store.store(3, new byte[10]));
+            assertTrue(store.store(3, new byte[6]));
+
+            // the first segment becomes reusable once all of its entries are gone
+            store.remove(1);
+            store.remove(3);
+            assertTrue(store.store(4, new byte[16]));
+            assertEquals(2, store.getSegmentCount());
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    public void testDiscard() throws IOException {
+        try (FileSegmentStore<String> store = new FileSegmentStore<>(this.directory, "test", 16, 1)) {
+            assertTrue(store.store("a", new byte[16]));
+            assertTrue(store.discard("a"));
+            assertFalse(store.discard("a"));
+            assertFalse(store.contains("a"));
+            // the discarded entry frees its segment
+            assertTrue(store.store("b", new byte[16]));
+        }
+        assertEquals(0, this.directory.list().length);
+    }
+}
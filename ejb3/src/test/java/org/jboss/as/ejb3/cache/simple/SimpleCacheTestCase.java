@@ -0,0 +1,260 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContext;
+
+/**
+ * Integration test of a {@link SimpleCache} passivating beans via {@link OffHeapPassivation} into a {@link FileSegmentStore}.
+ */
+public class SimpleCacheTestCase {
+
+    static class Bean implements Identifiable<UUID>, Serializable {
+        private static final long serialVersionUID = -2370556349185342428L;
+
+        private final UUID id = UUID.randomUUID();
+        int value;
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+    }
+
+    /**
+     * Records the beans passivated and activated, optionally holding up activation until released.
+     */
+    static class Listener implements PassivationListener<Bean> {
+        final List<UUID> passivated = new CopyOnWriteArrayList<>();
+        final List<UUID> activated = new CopyOnWriteArrayList<>();
+        final CountDownLatch activating = new CountDownLatch(1);
+        volatile CountDownLatch activation = new CountDownLatch(0);
+
+        @Override
+        public void prePassivate(Bean bean) {
+            this.passivated.add(bean.getId());
+        }
+
+        @Override
+        public void postActivate(Bean bean) {
+            this.activating.countDown();
+            try {
+                this.activation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.activated.add(bean.getId());
+        }
+    }
+
+    private final List<UUID> destroyed = new CopyOnWriteArrayList<>();
+    private final StatefulObjectFactory<Bean> factory = new StatefulObjectFactory<Bean>() {
+        @Override
+        public Bean createInstance() {
+            return new Bean();
+        }
+
+        @Override
+        public void destroyInstance(Bean bean) {
+            SimpleCacheTestCase.this.destroyed.add(bean.getId());
+        }
+    };
+    private final Listener listener = new Listener();
+    private File directory;
+    private SimpleCache<UUID, Bean> cache;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("passivation").toFile();
+        MarshallingContext context = new SimpleMarshallingContext(Marshalling.getMarshallerFactory("river", Marshalling.class.getClassLoader()), new SimpleMarshallingConfigurationRepository(new MarshallingConfiguration()), this.getClass().getClassLoader());
+        FileSegmentStore<UUID> store = new FileSegmentStore<>(this.directory, "test", 4096, 4);
+        // at most one released bean is held on heap
+        OffHeapPassivation<UUID, Bean> passivation = new OffHeapPassivation<>(store, context, this.listener, new InvocationMetrics(), 1);
+        // passivate on the releasing thread
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        this.cache = new SimpleCache<>(this.factory, UUID::randomUUID, null, null, executor, SimpleCache.DEFAULT_EXPIRATION_TICK, passivation);
+        this.cache.start();
+    }
+
+    @After
+    public void destroy() {
+        this.cache.stop();
+        // stopping the cache closes and deletes its segments
+        assertEquals(0, this.directory.list().length);
+        this.directory.delete();
+    }
+
+    private Bean createAndRelease(int value) {
+        Bean bean = this.cache.create();
+        assertSame(bean, this.cache.get(bean.getId()));
+        bean.value = value;
+        this.cache.release(bean);
+        return bean;
+    }
+
+    @Test
+    public void testPassivateAndActivate() {
+        Bean first = this.createAndRelease(1);
+        assertEquals(0, this.cache.getPassivatedCount());
+
+        Bean second = this.createAndRelease(2);
+        // the least recently released bean is passivated
+        assertEquals(1, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(2, this.cache.getTotalSize());
+        assertEquals(1, this.listener.passivated.size());
+        assertEquals(first.getId(), this.listener.passivated.get(0));
+        assertTrue(this.cache.contains(first.getId()));
+
+        Bean activated = this.cache.get(first.getId());
+        assertNotNull(activated);
+        assertNotSame(first, activated);
+        assertEquals(first.getId(), activated.getId());
+        assertEquals(1, activated.value);
+        assertEquals(0, this.cache.getPassivatedCount());
+        assertEquals(1, this.listener.activated.size());
+
+        // releasing the activated bean passivates the other one
+        this.cache.release(activated);
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(second.getId(), this.listener.passivated.get(1));
+        assertSame(activated, this.cache.get(first.getId()));
+        this.cache.release(activated);
+    }
+
+    @Test
+    public void testInUseNotPassivated() {
+        Bean first = this.cache.create();
+        assertSame(first, this.cache.get(first.getId()));
+        Bean second = this.cache.create();
+        assertSame(second, this.cache.get(second.getId()));
+        Bean third = this.createAndRelease(3);
+        // beans in use are never passivated, even if the cache remains above its maximum size
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(1, this.listener.passivated.size());
+        assertEquals(third.getId(), this.listener.passivated.get(0));
+        this.cache.release(first);
+        this.cache.release(second);
+    }
+
+    @Test
+    public void testRemovePassivated() {
+        Bean first = this.createAndRelease(1);
+        this.createAndRelease(2);
+        assertEquals(1, this.cache.getPassivatedCount());
+
+        // a passivated bean is activated, so that it can be destroyed
+        this.cache.remove(first.getId());
+        assertEquals(0, this.cache.getPassivatedCount());
+        assertEquals(1, this.listener.activated.size());
+        assertEquals(1, this.destroyed.size());
+        assertEquals(first.getId(), this.destroyed.get(0));
+        assertFalse(this.cache.contains(first.getId()));
+        assertNull(this.cache.get(first.getId()));
+    }
+
+    @Test
+    public void testExpirePassivated() {
+        Bean first = this.createAndRelease(1);
+        this.createAndRelease(2);
+
+        // a passivated bean that expires is discarded without being activated
+        this.cache.expire(first.getId());
+        assertEquals(0, this.cache.getPassivatedCount());
+        assertTrue(this.listener.activated.isEmpty());
+        assertTrue(this.destroyed.isEmpty());
+        assertFalse(this.cache.contains(first.getId()));
+    }
+
+    @Test
+    public void testConcurrentActivation() throws Exception {
+        Bean first = this.createAndRelease(1);
+        Bean second = this.createAndRelease(2);
+        assertEquals(1, this.cache.getPassivatedCount());
+
+        this.listener.activation = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Bean> activating = executor.submit(() -> this.cache.get(first.getId()));
+            assertTrue(this.listener.activating.await(10, TimeUnit.SECONDS));
+
+            // the activation does not hold up lookups of other beans
+            assertSame(second, executor.submit(() -> this.cache.get(second.getId())).get(10, TimeUnit.SECONDS));
+            this.cache.release(second);
+
+            // a lookup of the bean being activated waits for its activation
+            Future<Bean> waiting = executor.submit(() -> this.cache.get(first.getId()));
+            assertFalse(waiting.isDone());
+
+            this.listener.activation.countDown();
+            Bean activated = activating.get(10, TimeUnit.SECONDS);
+            assertSame(activated, waiting.get(10, TimeUnit.SECONDS));
+            // the bean was activated once only
+            assertEquals(1, this.listener.activated.size());
+            this.cache.release(activated);
+            this.cache.release(activated);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
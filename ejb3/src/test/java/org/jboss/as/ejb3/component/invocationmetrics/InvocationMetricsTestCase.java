@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    public interface Bean {
+        void doIt();
+
+        void doIt(String value, int[] values);
+    }
+
+    @Test
+    public void testMethods() throws Exception {
+        InvocationMetrics metrics = new InvocationMetrics();
+        Method doIt = Bean.class.getMethod("doIt");
+        Method doItWithArgs = Bean.class.getMethod("doIt", String.class, int[].class);
+        for (int i = 1; i <= 1000; i++) {
+            metrics.startInvocation();
+            metrics.finishInvocation(doIt, 1, i);
+        }
+        metrics.startInvocation();
+        metrics.finishInvocation(doItWithArgs, 2, 5000);
+
+        assertEquals(1001, metrics.getInvocations());
+        assertEquals(1002, metrics.getWaitTime());
+        assertEquals(500500 + 5000, metrics.getExecutionTime());
+        assertEquals(0, metrics.getConcurrent());
+        assertEquals(1, metrics.getPeakConcurrent());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(1, methods.size());
+        InvocationMetrics.Values values = methods.get("doIt");
+        assertEquals(1001, values.getInvocations());
+        assertEquals(1002, values.getWaitTime());
+
+        Map<String, InvocationMetrics.Values> signatures = metrics.getMethodSignatures();
+        assertEquals(2, signatures.size());
+        values = signatures.get("doIt()");
+        assertEquals(1000, values.getInvocations());
+        assertEquals(500500, values.getExecutionTime());
+        assertPercentile(500, values.getExecutionTime50());
+        assertPercentile(990, values.getExecutionTime99());
+        assertPercentile(999, values.getExecutionTime999());
+
+        values = signatures.get("doIt(java.lang.String,int[])");
+        assertEquals(1, values.getInvocations());
+        assertPercentile(5000, values.getExecutionTime50());
+    }
+
+    @Test
+    public void testCloneTimes() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.finishClone(Bean.class.getName(), TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        metrics.finishClone(Runnable.class.getName(), 999);
+
+        Map<String, InvocationMetrics.TimeValues> views = metrics.getCloneTimes();
+        assertEquals(2, views.size());
+        InvocationMetrics.TimeValues values = views.get(Bean.class.getName());
+        assertEquals(100, values.getCount());
+        assertEquals(5050, values.getTime());
+        assertPercentile(50, values.getTime50());
+        assertPercentile(99, values.getTime99());
+
+        // clones taking less than a microsecond are counted, but add no time
+        values = views.get(Runnable.class.getName());
+        assertEquals(1, values.getCount());
+        assertEquals(0, values.getTime());
+        // cloning is not an invocation
+        assertEquals(0, metrics.getInvocations());
+    }
+
+    @Test
+    public void testLockWaitTimes() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        metrics.finishLockWait("READ", TimeUnit.MICROSECONDS.toNanos(10));
+        metrics.finishLockWait("WRITE", TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.finishLockWait("WRITE", TimeUnit.MILLISECONDS.toNanos(4));
+
+        Map<String, InvocationMetrics.TimeValues> waits = metrics.getLockWaitTimes();
+        assertEquals(2, waits.size());
+        assertEquals(1, waits.get("READ").getCount());
+        assertEquals(10, waits.get("READ").getTime());
+        InvocationMetrics.TimeValues values = waits.get("WRITE");
+        assertEquals(2, values.getCount());
+        assertEquals(6000, values.getTime());
+        assertPercentile(4000, values.getTime99());
+        assertTrue(metrics.getCloneTimes().isEmpty());
+    }
+
+    @Test
+    public void testEmpty() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        assertEquals(0, metrics.getInvocations());
+        assertTrue(metrics.getMethods().isEmpty());
+        assertTrue(metrics.getMethodSignatures().isEmpty());
+        assertTrue(metrics.getCloneTimes().isEmpty());
+        assertTrue(metrics.getLockWaitTimes().isEmpty());
+    }
+
+    @Test
+    public void testHistogram() {
+        long[] counts = new long[LatencyHistogram.size()];
+        assertEquals(0, LatencyHistogram.percentile(counts, 0.5));
+        for (long value = 0; value < (1L << 22); value++) {
+            int index = LatencyHistogram.index(value);
+            long highest = LatencyHistogram.highestValue(index);
+            assertTrue(highest >= value);
+            // relative error of the log-linear buckets
+            assertTrue(highest - value <= Math.max(value / 16, 0));
+        }
+        // values beyond the range are counted in the last bucket
+        assertEquals(LatencyHistogram.size() - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue(actual + " < " + expected, actual >= expected);
+        assertTrue(actual + " > " + expected, actual <= expected + (expected / 16));
+    }
+}
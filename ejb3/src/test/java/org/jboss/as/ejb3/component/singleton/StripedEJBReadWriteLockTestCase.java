@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedEJBReadWriteLock}.
+ */
+public class StripedEJBReadWriteLockTestCase {
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock(4, false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch locked = new CountDownLatch(4);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; ++i) {
+                futures[i] = executor.submit(() -> {
+                    assertTrue(lock.readLock().tryLock(1, TimeUnit.SECONDS));
+                    try {
+                        locked.countDown();
+                        release.await();
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                    return null;
+                });
+            }
+            // all readers hold the lock at the same time
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            assertFalse(lock.writeLock().tryLock(10, TimeUnit.MILLISECONDS));
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+            lock.writeLock().unlock();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriterExcludesReaders() throws Exception {
+        StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            lock.writeLock().lock();
+            assertFalse(executor.submit(() -> lock.readLock().tryLock(10, TimeUnit.MILLISECONDS)).get());
+            assertFalse(executor.submit(() -> lock.writeLock().tryLock()).get());
+            // the writer may read
+            assertTrue(lock.readLock().tryLock());
+            lock.readLock().unlock();
+            // reentrant write
+            assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+            lock.writeLock().unlock();
+            Future<Boolean> reader = executor.submit(() -> {
+                boolean result = lock.readLock().tryLock(5, TimeUnit.SECONDS);
+                lock.readLock().unlock();
+                return result;
+            });
+            lock.writeLock().unlock();
+            assertTrue(reader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPendingWriterBlocksNewReaders() throws Exception {
+        StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            Future<Boolean> writer = executor.submit(() -> {
+                boolean result = lock.writeLock().tryLock(5, TimeUnit.SECONDS);
+                lock.writeLock().unlock();
+                return result;
+            });
+            // wait for the writer to queue
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.submit(() -> {
+                boolean result = readLock.tryLock();
+                if (result) {
+                    readLock.unlock();
+                }
+                return result;
+            }).get()) {
+                assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+            // a reader holding the lock may still reenter
+            assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+            readLock.unlock();
+            readLock.unlock();
+            assertTrue(writer.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoopback() throws Exception {
+        StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock(false);
+        lock.readLock().lock();
+        try {
+            lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            fail("upgrade to write lock succeeded");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            lock.readLock().unlock();
+        }
+        assertTrue(lock.writeLock().tryLock());
+        lock.writeLock().unlock();
+    }
+}
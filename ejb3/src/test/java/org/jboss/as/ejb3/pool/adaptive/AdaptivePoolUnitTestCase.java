@@ -0,0 +1,226 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.adaptive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.common.MockBean;
+import org.jboss.as.ejb3.pool.common.MockFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptivePool}. Adjustments are triggered explicitly, no executor is used.
+ */
+public class AdaptivePoolUnitTestCase {
+
+    private static AdaptivePool<MockBean> createPool(int minSize, int maxSize, long idleTimeout) {
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        AdaptivePool<MockBean> pool = new AdaptivePool<MockBean>(factory, minSize, maxSize, 10, idleTimeout, 1, TimeUnit.SECONDS, null, 1000);
+        pool.start();
+        return pool;
+    }
+
+    /**
+     * Uses every permit of the pool, with each invocation waiting for the specified time, then adjusts the pool.
+     */
+    private static void saturate(AdaptivePool<MockBean> pool, long waitTime) {
+        MockBean[] beans = new MockBean[pool.getTargetSize()];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+            pool.recordWaitTime(waitTime);
+        }
+        assertEquals(0, pool.getAvailableCount());
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+        }
+        pool.adjust();
+    }
+
+    @Test
+    public void testGrow() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(1, 6, 0);
+        assertEquals(1, pool.getTargetSize());
+
+        saturate(pool, 100);
+        assertEquals(2, pool.getTargetSize());
+        saturate(pool, 100);
+        assertEquals(4, pool.getTargetSize());
+        saturate(pool, 100);
+        // capped at the max size
+        assertEquals(6, pool.getTargetSize());
+        saturate(pool, 100);
+        assertEquals(6, pool.getTargetSize());
+        assertEquals(6, pool.getAvailableCount());
+        assertEquals(6, pool.getCurrentSize());
+
+        pool.stop();
+
+        assertEquals(6, MockBean.getPostConstructs());
+        assertEquals(6, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testNoGrowBelowTargetWaitTime() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(2, 10, 0);
+
+        saturate(pool, 5);
+        assertEquals(2, pool.getTargetSize());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testNoGrowWhenNotExhausted() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(2, 10, 0);
+
+        // invocations waited, but not for an instance
+        MockBean bean = pool.get();
+        pool.recordWaitTime(100);
+        pool.release(bean);
+        pool.adjust();
+        assertEquals(2, pool.getTargetSize());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testShrink() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(1, 8, 0);
+        saturate(pool, 100);
+        saturate(pool, 100);
+        saturate(pool, 100);
+        saturate(pool, 100);
+        assertEquals(8, pool.getTargetSize());
+        assertEquals(8, pool.getCurrentSize());
+
+        // half the way towards the peak usage, which is 0
+        pool.adjust();
+        assertEquals(4, pool.getTargetSize());
+        assertEquals(4, pool.getAvailableCount());
+        assertEquals(4, pool.getCurrentSize());
+        pool.adjust();
+        assertEquals(2, pool.getTargetSize());
+        pool.adjust();
+        assertEquals(1, pool.getTargetSize());
+        // bounded by the min size
+        pool.adjust();
+        assertEquals(1, pool.getTargetSize());
+        assertEquals(1, pool.getCurrentSize());
+
+        pool.stop();
+
+        assertEquals(8, MockBean.getPostConstructs());
+        assertEquals(8, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testShrinkWhileInUse() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(1, 4, 0);
+        saturate(pool, 100);
+        saturate(pool, 100);
+        assertEquals(4, pool.getTargetSize());
+
+        MockBean bean = pool.get();
+        pool.adjust();
+        // half the way towards the peak usage, which is 1
+        assertEquals(3, pool.getTargetSize());
+        assertEquals(2, pool.getAvailableCount());
+        pool.release(bean);
+        assertEquals(3, pool.getAvailableCount());
+        assertEquals(2, pool.getCurrentSize());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testIdleTimeout() throws Exception {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(2, 4, 1);
+        saturate(pool, 100);
+        assertEquals(4, pool.getTargetSize());
+        MockBean[] beans = new MockBean[4];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+        }
+        assertEquals(4, pool.getCurrentSize());
+
+        Thread.sleep(10);
+        MockBean bean = pool.get();
+        pool.release(bean);
+        pool.adjust();
+        // the most recently used instance is kept, the others expired down to the min size
+        assertEquals(2, pool.getCurrentSize());
+        assertEquals(bean, pool.get());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testSetMaxSize() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(1, 8, 0);
+        saturate(pool, 100);
+        saturate(pool, 100);
+        assertEquals(4, pool.getTargetSize());
+
+        pool.setMaxSize(2);
+        assertEquals(2, pool.getMaxSize());
+        assertEquals(2, pool.getTargetSize());
+        assertEquals(2, pool.getAvailableCount());
+        assertEquals(2, pool.getCurrentSize());
+
+        pool.stop();
+    }
+
+    @Test
+    public void testTooMany() {
+        MockBean.reset();
+        AdaptivePool<MockBean> pool = createPool(1, 10, 0);
+
+        MockBean bean = pool.get();
+        try {
+            pool.get();
+            fail("should have thrown an exception");
+        } catch (Exception e) {
+            assertEquals(EjbLogger.ROOT_LOGGER.failedToAcquirePermit(1, TimeUnit.SECONDS).getMessage(), e.getMessage());
+        }
+        pool.release(bean);
+
+        pool.stop();
+
+        assertEquals(1, MockBean.getPostConstructs());
+        assertEquals(1, MockBean.getPreDestroys());
+    }
+}
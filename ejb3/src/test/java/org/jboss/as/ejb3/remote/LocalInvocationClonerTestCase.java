@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LocalInvocationCloner}.
+ */
+public class LocalInvocationClonerTestCase {
+
+    enum Color {
+        RED, GREEN {
+        }
+    }
+
+    static final class Point implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final int x;
+        final String label;
+
+        Point(final int x, final String label) {
+            this.x = x;
+            this.label = label;
+        }
+    }
+
+    static final class MutablePoint implements Serializable {
+        private static final long serialVersionUID = 1L;
+        int x;
+    }
+
+    static final class ResolvedPoint implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final int x = 0;
+
+        private Object readResolve() {
+            return this;
+        }
+    }
+
+    private final LocalInvocationCloner cloner = new LocalInvocationCloner(new ClassLoaderClassCloner(LocalInvocationClonerTestCase.class.getClassLoader()));
+
+    @Test
+    public void testImmutableValuesAreShared() {
+        for (Object value : new Object[] { "value", 1, 1L, LocalDate.now(), Color.RED, Color.GREEN, new Point(1, "one") }) {
+            assertSame(value, this.cloner.clone(Object.class, value, false));
+        }
+    }
+
+    @Test
+    public void testMutableValuesAreCloned() {
+        final MutablePoint point = new MutablePoint();
+        point.x = 1;
+        // the pooled cloner is reused, so clone twice
+        for (int i = 0; i < 2; ++i) {
+            final MutablePoint clone = (MutablePoint) this.cloner.clone(Object.class, point, false);
+            assertNotSame(point, clone);
+            assertEquals(1, clone.x);
+        }
+        final ResolvedPoint resolved = new ResolvedPoint();
+        assertNotSame(resolved, this.cloner.clone(Object.class, resolved, false));
+    }
+
+    @Test
+    public void testPassByReference() {
+        final List<String> list = new ArrayList<>();
+        assertSame(list, this.cloner.clone(List.class, list, true));
+        assertNotSame(list, this.cloner.clone(List.class, list, false));
+    }
+
+    @Test
+    public void testSharedReferences() {
+        final MutablePoint point = new MutablePoint();
+        final Object[] clones = this.cloner.clone(new Class<?>[] { Object.class, Object.class, int.class }, new Object[] { point, point, 1 }, false);
+        assertNotSame(point, clones[0]);
+        // references shared between parameters are preserved
+        assertSame(clones[0], clones[1]);
+        assertEquals(1, clones[2]);
+    }
+}
@@ -67,7 +67,7 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_5_0.xsd";
+        return "schema/wildfly-ejb3_6_0.xsd";
     }
 
     @Override
@@ -210,7 +210,8 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                     /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS)
                     .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(
                             /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS,
-                            EJB3SubsystemRootResourceDefinition.ALLOW_EJB_NAME_REGEX, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN))
+                            EJB3SubsystemRootResourceDefinition.ALLOW_EJB_NAME_REGEX, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN,
+                            EJB3SubsystemRootResourceDefinition.SINGLETON_BEAN_LOCK_MODE))
                     .addConfig(new CorrectFalseToTrue(EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS))
                     .build();
 
@@ -255,6 +256,13 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             // reject the resource /subsystem=ejb3/service=identity
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.IDENTITY_PATH), FailedOperationTransformationConfig.REJECTED_RESOURCE);
 
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the resource /subsystem=ejb3/adaptive-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL, "adaptive-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attributes 'expiration-tick', 'max-size', 'segment-size' and 'max-segments' from resource /subsystem=ejb3/cache=tuned
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE, "tuned")), new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.EXPIRATION_TICK, CacheFactoryResourceDefinition.MAX_SIZE, CacheFactoryResourceDefinition.SEGMENT_SIZE, CacheFactoryResourceDefinition.MAX_SEGMENTS));
+
 
             //Special handling for this test!!!!
             //Don't transform the resulting composite, instead rather transform the individual steps
@@ -271,7 +279,8 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                     /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS)
                     .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(
                             /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS,
-                            EJB3SubsystemRootResourceDefinition.ALLOW_EJB_NAME_REGEX, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN))
+                            EJB3SubsystemRootResourceDefinition.ALLOW_EJB_NAME_REGEX, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN,
+                            EJB3SubsystemRootResourceDefinition.SINGLETON_BEAN_LOCK_MODE))
                     .addConfig(new CorrectFalseToTrue(EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS))
                     .build();
 
@@ -302,6 +311,13 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
             // reject the resource /subsystem=ejb3/service=identity
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.IDENTITY_PATH), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the resource /subsystem=ejb3/adaptive-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL, "adaptive-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attributes 'expiration-tick', 'max-size', 'segment-size' and 'max-segments' from resource /subsystem=ejb3/cache=tuned
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE, "tuned")), new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.EXPIRATION_TICK, CacheFactoryResourceDefinition.MAX_SIZE, CacheFactoryResourceDefinition.SEGMENT_SIZE, CacheFactoryResourceDefinition.MAX_SEGMENTS));
         }
 
         return config;
@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    @Test
+    public void replay() throws IOException {
+        File file = journalFile();
+        try {
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                journal.put("a", new byte[] { 1 });
+                journal.put("b", new byte[] { 2 });
+                journal.put("a", new byte[] { 3 });
+                journal.remove("b");
+                journal.put("c", new byte[0]);
+            }
+            try (TimerJournal journal = TimerJournal.open(file, true)) {
+                Map<String, byte[]> timers = journal.getTimers();
+                assertEquals(2, timers.size());
+                assertArrayEquals(new byte[] { 3 }, timers.get("a"));
+                assertArrayEquals(new byte[0], timers.get("c"));
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    public void discardTornRecord() throws IOException {
+        File file = journalFile();
+        try {
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                journal.put("a", new byte[] { 1 });
+                journal.put("b", new byte[] { 2, 3, 4 });
+            }
+            // Simulate a crash in the middle of the last append
+            long length = file.length();
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(length - 2);
+            }
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                assertEquals(Collections.singleton("a"), journal.getTimers().keySet());
+                // The journal remains appendable after the tail was discarded
+                journal.put("c", new byte[] { 5 });
+            }
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                assertEquals(2, journal.getTimers().size());
+                assertArrayEquals(new byte[] { 5 }, journal.getTimers().get("c"));
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    public void compact() throws IOException {
+        File file = journalFile();
+        try {
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                for (int i = 0; i < 10000; ++i) {
+                    journal.put("a", new byte[] { (byte) i });
+                    journal.put("b" + (i % 10), new byte[] { (byte) i });
+                }
+                journal.remove("b0");
+                // Compaction keeps the journal close to the size of the live timers
+                assertTrue(String.valueOf(file.length()), file.length() < 64 * 1024);
+            }
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                Map<String, byte[]> timers = journal.getTimers();
+                assertEquals(10, timers.size());
+                assertFalse(timers.containsKey("b0"));
+                assertArrayEquals(new byte[] { (byte) 9999 }, timers.get("a"));
+                assertArrayEquals(new byte[] { (byte) 9999 }, timers.get("b9"));
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    public void create() throws IOException {
+        File file = journalFile();
+        try {
+            try (TimerJournal journal = TimerJournal.create(file, false, Collections.singletonMap("a", new byte[] { 1 }))) {
+                journal.put("b", new byte[] { 2 });
+            }
+            try (TimerJournal journal = TimerJournal.open(file, false)) {
+                assertEquals(2, journal.getTimers().size());
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    @Test
+    public void migrate() throws IOException {
+        File directory = Files.createTempDirectory("timers").toFile();
+        try {
+            File migrated = new File(directory, TimerJournal.xmlFileName("a"));
+            File corrupt = new File(directory, TimerJournal.xmlFileName("b"));
+            Files.write(migrated.toPath(), "<timers/>".getBytes(StandardCharsets.UTF_8));
+            // The timer of this file could not be read, so it is not imported
+            Files.write(corrupt.toPath(), "<timers".getBytes(StandardCharsets.UTF_8));
+
+            try (TimerJournal journal = TimerJournal.migrate(directory, false, Collections.singletonMap("a", new byte[] { 1 }))) {
+                assertEquals(Collections.singleton("a"), journal.getTimers().keySet());
+            }
+            assertFalse(migrated.exists());
+            assertTrue(corrupt.exists());
+        } finally {
+            delete(new File(directory, TimerJournal.FILE_NAME));
+        }
+    }
+
+    @Test
+    public void failedMigrationKeepsFiles() throws IOException {
+        File directory = Files.createTempDirectory("timers").toFile();
+        File file = new File(directory, TimerJournal.FILE_NAME);
+        File migrated = new File(directory, TimerJournal.xmlFileName("a"));
+        try {
+            Files.write(migrated.toPath(), "<timers/>".getBytes(StandardCharsets.UTF_8));
+            // A non-empty directory cannot be replaced by the journal
+            assertTrue(file.mkdir());
+            assertTrue(new File(file, "child").createNewFile());
+            try {
+                TimerJournal.migrate(directory, false, Collections.singletonMap("a", new byte[] { 1 })).close();
+                fail("Journal should not have been created");
+            } catch (IOException e) {
+                // Expected
+            }
+            assertTrue(migrated.exists());
+        } finally {
+            new File(file, "child").delete();
+            delete(file);
+        }
+    }
+
+    private static File journalFile() throws IOException {
+        return new File(Files.createTempDirectory("timers").toFile(), TimerJournal.FILE_NAME);
+    }
+
+    private static void delete(File file) {
+        for (File child : file.getParentFile().listFiles()) {
+            child.delete();
+        }
+        file.getParentFile().delete();
+    }
+}
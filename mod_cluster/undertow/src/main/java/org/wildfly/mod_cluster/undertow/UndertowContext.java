@@ -22,6 +22,8 @@
 
 package org.wildfly.mod_cluster.undertow;
 
+import io.undertow.server.session.SessionManager;
+import io.undertow.server.session.SessionManagerStatistics;
 import io.undertow.servlet.api.Deployment;
 import io.undertow.servlet.api.ListenerInfo;
 import io.undertow.servlet.core.InMemorySessionManagerFactory;
@@ -102,7 +104,10 @@ public class UndertowContext implements Context {
 
     @Override
     public int getActiveSessionCount() {
-        return this.deployment.getSessionManager().getActiveSessions().size();
+        SessionManager manager = this.deployment.getSessionManager();
+        // Prefer the statistics, which can count sessions without collecting their identifiers
+        SessionManagerStatistics statistics = manager.getStatistics();
+        return (statistics != null) ? (int) statistics.getActiveSessionCount() : manager.getActiveSessions().size();
     }
 
     @Override
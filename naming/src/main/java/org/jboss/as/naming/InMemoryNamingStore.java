@@ -33,10 +33,10 @@ import static org.jboss.as.naming.util.NamingUtils.notAContextException;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.naming.Binding;
@@ -45,7 +45,6 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
-import javax.naming.NameNotFoundException;
 import javax.naming.NamingException;
 import javax.naming.Reference;
 import javax.naming.event.EventContext;
@@ -58,13 +57,17 @@ import org.jboss.as.naming.logging.NamingLogger;
  * In-memory implementation of the NamingStore.  The backing for the entries is a basic tree structure with either context
  * nodes or binding nodes.  The context nodes are allowed to have children and can be represented by a NamingContext.  A
  * binding node is only allowed to have a normal object binding.
+ * <p/>
+ * The tree is immutable.  Writers copy the nodes on the path to the modified context, sharing all other nodes with the
+ * previous tree, and publish the result by swapping the root.  Readers traverse the root they started with, so lookup and
+ * list operations never block and always see a consistent tree.
  *
  * @author John E. Bailey
  */
 public class InMemoryNamingStore implements WritableNamingStore {
 
     /* The root node of the tree.  Represents a JNDI name of "" */
-    private final ContextNode root = new ContextNode(null, null, new CompositeName(), new NamingContext(this, null));
+    private volatile ContextNode root = new ContextNode(new CompositeName(), new NamingContext(this, null));
 
     /* Naming Event Coordinator */
     private final NamingEventCoordinator eventCoordinator;
@@ -128,12 +131,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
             throw emptyNameException();
         }
 
-        writeLock.lock();
-        try {
-            root.accept(new BindVisitor(true, name, object, bindType.getName()));
-        } finally {
-            writeLock.unlock();
-        }
+        new BindUpdate(true, name, object, bindType.getName()).apply();
     }
 
     /** {@inheritDoc} */
@@ -147,12 +145,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
             throw emptyNameException();
         }
 
-        writeLock.lock();
-        try {
-            root.accept(new RebindVisitor(name, object, bindType.getName()));
-        } finally {
-            writeLock.unlock();
-        }
+        new RebindUpdate(name, object, bindType.getName()).apply();
     }
 
     /**
@@ -166,12 +159,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
             throw emptyNameException();
         }
 
-        writeLock.lock();
-        try {
-            root.accept(new UnbindVisitor(name));
-        } finally {
-            writeLock.unlock();
-        }
+        new UnbindUpdate(name).apply();
     }
 
     /**
@@ -223,7 +211,9 @@ public class InMemoryNamingStore implements WritableNamingStore {
         if (isLastComponentEmpty(name)) {
             throw emptyNameException();
         }
-        return root.accept(new CreateSubContextVisitor(name));
+        final CreateSubContextUpdate update = new CreateSubContextUpdate(name);
+        update.apply();
+        return update.subContext;
     }
 
     /**
@@ -234,7 +224,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
     public void close() throws NamingException {
         writeLock.lock();
         try {
-            root.clear();
+            root = root.withChildren(Collections.<String, TreeNode>emptyMap());
         } finally {
             writeLock.unlock();
         }
@@ -284,7 +274,7 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
-    private abstract class TreeNode {
+    private abstract static class TreeNode {
         protected final Name fullName;
         protected final Binding binding;
 
@@ -296,55 +286,43 @@ public class InMemoryNamingStore implements WritableNamingStore {
         protected abstract <T> T accept(NodeVisitor<T> visitor) throws NamingException;
     }
 
-    private static final AtomicMapFieldUpdater<ContextNode, String, TreeNode> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ContextNode.class, Map.class, "children"));
-
-    private class ContextNode extends TreeNode {
-        volatile Map<String, TreeNode> children = Collections.emptyMap();
-        protected final String name;
-        protected final ContextNode parentNode;
+    private static final class ContextNode extends TreeNode {
+        final Map<String, TreeNode> children;
 
-        private ContextNode(final ContextNode parentNode, final String name, final Name fullName, final NamingContext context) {
-            super(fullName, new Binding(getLastComponent(fullName), Context.class.getName(), context));
-            this.name = name;
-            this.parentNode = parentNode;
+        private ContextNode(final Name fullName, final NamingContext context) {
+            this(fullName, new Binding(getLastComponent(fullName), Context.class.getName(), context), Collections.<String, TreeNode>emptyMap());
         }
 
-        private void addChild(final String childName, final TreeNode childNode) throws NamingException {
-            if (childrenUpdater.putIfAbsent(this, childName, childNode) != null) {
-                throw nameAlreadyBoundException(fullName.add(childName));
-            }
+        private ContextNode(final Name fullName, final Binding binding, final Map<String, TreeNode> children) {
+            super(fullName, binding);
+            this.children = children;
         }
 
-        private TreeNode replaceChild(final String childName, final TreeNode childNode) throws NamingException {
-            return childrenUpdater.put(this, childName, childNode);
+        private ContextNode withChildren(final Map<String, TreeNode> children) {
+            return new ContextNode(fullName, binding, children);
         }
 
-        private TreeNode removeChild(final String childName) throws NameNotFoundException {
-            TreeNode old = childrenUpdater.remove(this, childName);
-            if (old == null) {
-                throw nameNotFoundException(childName, fullName);
-            }
-            if(parentNode != null && children.isEmpty()) {
-                childrenUpdater.remove(parentNode, name);
-            }
-            return old;
+        private ContextNode withChild(final String childName, final TreeNode childNode) {
+            final Map<String, TreeNode> children = new HashMap<String, TreeNode>(this.children);
+            children.put(childName, childNode);
+            return withChildren(Collections.unmodifiableMap(children));
         }
 
-        private void clear() {
-            childrenUpdater.clear(this);
+        private ContextNode withoutChild(final String childName) {
+            if (children.size() == 1) {
+                return withChildren(Collections.<String, TreeNode>emptyMap());
+            }
+            final Map<String, TreeNode> children = new HashMap<String, TreeNode>(this.children);
+            children.remove(childName);
+            return withChildren(Collections.unmodifiableMap(children));
         }
 
         protected final <T> T accept(NodeVisitor<T> visitor) throws NamingException {
             return visitor.visit(this);
         }
-
-        public TreeNode addOrGetChild(final String childName, final TreeNode childNode) {
-            TreeNode appearing = childrenUpdater.putIfAbsent(this, childName, childNode);
-            return appearing == null ? childNode : appearing;
-        }
     }
 
-    private class BindingNode extends TreeNode {
+    private static final class BindingNode extends TreeNode {
         private BindingNode(final Name fullName, final Binding binding) {
             super(fullName, binding);
         }
@@ -361,19 +339,11 @@ public class InMemoryNamingStore implements WritableNamingStore {
     }
 
     private abstract class NodeTraversingVisitor<T> implements NodeVisitor<T> {
-        private final boolean createIfMissing;
         private Name currentName;
-        private Name traversedName;
         protected final Name targetName;
 
-        protected NodeTraversingVisitor(final boolean createIfMissing, final Name targetName) {
-            this.createIfMissing = createIfMissing;
-            this.targetName = currentName = targetName;
-            this.traversedName = new CompositeName();
-        }
-
         protected NodeTraversingVisitor(final Name targetName) {
-            this(false, targetName);
+            this.targetName = currentName = targetName;
         }
 
         public final T visit(final BindingNode bindingNode) throws NamingException {
@@ -388,16 +358,10 @@ public class InMemoryNamingStore implements WritableNamingStore {
                 return found(contextNode);
             }
             final String childName = currentName.get(0);
-            traversedName.add(childName);
             currentName = currentName.getSuffix(1);
             final TreeNode node = contextNode.children.get(childName);
             if (node == null) {
-                if (createIfMissing) {
-                    final NamingContext subContext = new NamingContext((Name)traversedName.clone(), InMemoryNamingStore.this, new Hashtable<String, Object>());
-                    return contextNode.addOrGetChild(childName, new ContextNode(contextNode, childName, (Name)traversedName.clone(), subContext)).accept(this);
-                } else {
-                    throw nameNotFoundException(childName, contextNode.fullName);
-                }
+                throw nameNotFoundException(childName, contextNode.fullName);
             }
             return node.accept(this);
         }
@@ -413,82 +377,142 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
-    private abstract class BindingContextVisitor<T> extends NodeTraversingVisitor<T> {
+    /**
+     * A modification of the context containing the target name.  The nodes on the path to that context are copied, and the
+     * resulting tree is published by swapping the root.  Any event is only fired once the new tree is visible.
+     */
+    private abstract class ContextUpdate {
+        private final boolean createIfMissing;
         protected final Name targetName;
 
-        protected BindingContextVisitor(final boolean createIfMissing, final Name targetName) {
-            super(createIfMissing, targetName.getPrefix(targetName.size() - 1));
+        private ContextNode eventContext;
+        private Binding existingBinding;
+        private Binding newBinding;
+        private int eventType;
+        private String changeInfo;
+
+        protected ContextUpdate(final boolean createIfMissing, final Name targetName) {
+            this.createIfMissing = createIfMissing;
             this.targetName = targetName;
         }
 
-        protected BindingContextVisitor(final Name targetName) {
+        protected ContextUpdate(final Name targetName) {
             this(false, targetName);
         }
 
-        protected final T found(final ContextNode contextNode) throws NamingException {
-            return foundBindContext(contextNode);
+        final void apply() throws NamingException {
+            writeLock.lock();
+            try {
+                root = update(root, targetName.getPrefix(targetName.size() - 1));
+            } finally {
+                writeLock.unlock();
+            }
+            if (eventContext != null) {
+                fireEvent(eventContext, targetName, existingBinding, newBinding, eventType, changeInfo);
+            }
         }
 
-        protected final T found(final BindingNode bindingNode) throws NamingException {
-            checkReferenceForContinuation(targetName.getSuffix(bindingNode.fullName.size()), bindingNode.binding.getObject());
-            throw notAContextException(targetName);
+        private ContextNode update(final ContextNode contextNode, final Name remainingName) throws NamingException {
+            if (isEmpty(remainingName)) {
+                return updateContext(contextNode);
+            }
+            final String childName = remainingName.get(0);
+            final Name childRemainingName = remainingName.getSuffix(1);
+            final TreeNode node = contextNode.children.get(childName);
+            final ContextNode childContextNode;
+            if (node == null) {
+                if (!createIfMissing) {
+                    throw nameNotFoundException(childName, contextNode.fullName);
+                }
+                final Name childFullName = ((Name) contextNode.fullName.clone()).add(childName);
+                childContextNode = new ContextNode(childFullName, new NamingContext(childFullName, InMemoryNamingStore.this, new Hashtable<String, Object>()));
+            } else if (node instanceof BindingNode) {
+                final Object object = node.binding.getObject();
+                if (isEmpty(childRemainingName)) {
+                    checkReferenceForContinuation(targetName.getSuffix(node.fullName.size()), object);
+                    throw notAContextException(targetName);
+                }
+                checkReferenceForContinuation(childRemainingName, object);
+                throw notAContextException(node.fullName);
+            } else {
+                childContextNode = (ContextNode) node;
+            }
+            final ContextNode updated = update(childContextNode, childRemainingName);
+            return (updated != null) ? contextNode.withChild(childName, updated) : contextNode.withoutChild(childName);
+        }
+
+        protected final void event(final ContextNode contextNode, final Binding existingBinding, final Binding newBinding, final int eventType, final String changeInfo) {
+            this.eventContext = contextNode;
+            this.existingBinding = existingBinding;
+            this.newBinding = newBinding;
+            this.eventType = eventType;
+            this.changeInfo = changeInfo;
         }
 
-        protected abstract T foundBindContext(final ContextNode contextNode) throws NamingException;
+        /**
+         * Returns the replacement of the context containing the target name, or null if that context should be removed.
+         */
+        protected abstract ContextNode updateContext(ContextNode contextNode) throws NamingException;
     }
 
-    private final class BindVisitor extends BindingContextVisitor<Void> {
+    private final class BindUpdate extends ContextUpdate {
         private final Object object;
         private final String className;
 
-        private BindVisitor(final boolean createIfMissing, final Name name, final Object object, final String className) {
+        private BindUpdate(final boolean createIfMissing, final Name name, final Object object, final String className) {
             super(createIfMissing, name);
             this.object = object;
             this.className = className;
         }
 
-        protected Void foundBindContext(final ContextNode contextNode) throws NamingException {
+        protected ContextNode updateContext(final ContextNode contextNode) throws NamingException {
             final String childName = getLastComponent(targetName);
+            if (contextNode.children.containsKey(childName)) {
+                throw nameAlreadyBoundException(((Name) contextNode.fullName.clone()).add(childName));
+            }
             final Binding binding = new Binding(childName, className, object, true);
-            final BindingNode bindingNode = new BindingNode(targetName, binding);
-            contextNode.addChild(childName, bindingNode);
-            fireEvent(contextNode, targetName, null, binding, NamingEvent.OBJECT_ADDED, "bind");
-            return null;
+            event(contextNode, null, binding, NamingEvent.OBJECT_ADDED, "bind");
+            return contextNode.withChild(childName, new BindingNode(targetName, binding));
         }
     }
 
-    private final class RebindVisitor extends BindingContextVisitor<Void> {
+    private final class RebindUpdate extends ContextUpdate {
         private final Object object;
         private final String className;
 
-        private RebindVisitor(final Name name, final Object object, final String className) {
+        private RebindUpdate(final Name name, final Object object, final String className) {
             super(name);
             this.object = object;
             this.className = className;
         }
 
-        protected Void foundBindContext(final ContextNode contextNode) throws NamingException {
+        protected ContextNode updateContext(final ContextNode contextNode) throws NamingException {
             final String childName = getLastComponent(targetName);
             final Binding binding = new Binding(childName, className, object, true);
-            final BindingNode bindingNode = new BindingNode(targetName, binding);
-            final TreeNode previous = contextNode.replaceChild(childName, bindingNode);
+            final TreeNode previous = contextNode.children.get(childName);
 
             final Binding previousBinding = previous != null ? previous.binding : null;
-            fireEvent(contextNode, targetName, previousBinding, binding, previousBinding != null ? NamingEvent.OBJECT_CHANGED : NamingEvent.OBJECT_ADDED, "rebind");
-            return null;
+            event(contextNode, previousBinding, binding, previousBinding != null ? NamingEvent.OBJECT_CHANGED : NamingEvent.OBJECT_ADDED, "rebind");
+            return contextNode.withChild(childName, new BindingNode(targetName, binding));
         }
     }
 
-    private final class UnbindVisitor extends BindingContextVisitor<Void> {
+    private final class UnbindUpdate extends ContextUpdate {
 
-        private UnbindVisitor(final Name targetName) throws NamingException {
+        private UnbindUpdate(final Name targetName) {
             super(targetName);
         }
 
-        protected Void foundBindContext(final ContextNode contextNode) throws NamingException {
-            final TreeNode previous = contextNode.removeChild(getLastComponent(targetName));
-            fireEvent(contextNode, targetName, previous.binding, null, NamingEvent.OBJECT_REMOVED, "unbind");
-            return null;
+        protected ContextNode updateContext(final ContextNode contextNode) throws NamingException {
+            final String childName = getLastComponent(targetName);
+            final TreeNode previous = contextNode.children.get(childName);
+            if (previous == null) {
+                throw nameNotFoundException(childName, contextNode.fullName);
+            }
+            event(contextNode, previous.binding, null, NamingEvent.OBJECT_REMOVED, "unbind");
+            final ContextNode updated = contextNode.withoutChild(childName);
+            // a sub context left empty is removed along with its last child, the root is always retained
+            return (updated.children.isEmpty() && !contextNode.fullName.isEmpty()) ? null : updated;
         }
     }
 
@@ -552,18 +576,23 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
-    private final class CreateSubContextVisitor extends BindingContextVisitor<Context> {
-        private CreateSubContextVisitor(final Name targetName) throws NamingException {
+    private final class CreateSubContextUpdate extends ContextUpdate {
+        NamingContext subContext;
+
+        private CreateSubContextUpdate(final Name targetName) {
             super(targetName);
         }
 
-        protected Context foundBindContext(ContextNode contextNode) throws NamingException {
-            final NamingContext subContext = new NamingContext(targetName, InMemoryNamingStore.this, new Hashtable<String, Object>());
+        protected ContextNode updateContext(final ContextNode contextNode) throws NamingException {
             final String childName = getLastComponent(targetName);
-            final ContextNode subContextNode = new ContextNode(contextNode, childName, targetName, subContext);
-            contextNode.addChild(getLastComponent(targetName), subContextNode);
-            fireEvent(contextNode, targetName, null, subContextNode.binding, NamingEvent.OBJECT_ADDED, "createSubcontext");
-            return subContext;
+            if (contextNode.children.containsKey(childName)) {
+                throw nameAlreadyBoundException(((Name) contextNode.fullName.clone()).add(childName));
+            }
+            final NamingContext subContext = new NamingContext(targetName, InMemoryNamingStore.this, new Hashtable<String, Object>());
+            final ContextNode subContextNode = new ContextNode(targetName, subContext);
+            event(contextNode, null, subContextNode.binding, NamingEvent.OBJECT_ADDED, "createSubcontext");
+            this.subContext = subContext;
+            return contextNode.withChild(childName, subContextNode);
         }
     }
 }
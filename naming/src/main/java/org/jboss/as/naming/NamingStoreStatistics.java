@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.naming;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup statistics of all {@link ServiceBasedNamingStore} instances.
+ */
+public final class NamingStoreStatistics {
+
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+
+    private NamingStoreStatistics() {
+    }
+
+    static void recordLookup(boolean cached) {
+        LOOKUPS.increment();
+        if (!cached) {
+            CACHE_MISSES.increment();
+        }
+    }
+
+    /**
+     * Returns the number of lookups of a non empty name.
+     *
+     * @return the number of lookups
+     */
+    public static long getLookupCount() {
+        return LOOKUPS.sum();
+    }
+
+    /**
+     * Returns the number of lookups of a non empty name that could not be served from the resolved names of a store.
+     *
+     * @return the number of lookup cache misses
+     */
+    public static long getLookupCacheMissCount() {
+        return CACHE_MISSES.sum();
+    }
+}
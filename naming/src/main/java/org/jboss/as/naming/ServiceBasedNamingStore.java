@@ -30,7 +30,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -58,6 +61,9 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * @author Eduardo Martins
  */
 public class ServiceBasedNamingStore implements NamingStore {
+    // Upper bound on the number of resolved names, as names are not normalized e.g. "a/b" and "a//b"
+    private static final int MAX_RESOLVED_NAMES = 4096;
+
     private final Name EMPTY_NAME = new CompositeName();
     private Name baseName;
     private final ServiceRegistry serviceRegistry;
@@ -65,6 +71,13 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    /**
+     * The values of bound services, by the JNDI name they were looked up with. Cleared whenever a service is bound
+     * or unbound, the generation guards against a lookup caching a value resolved before such a change.
+     */
+    private final ConcurrentMap<String, Object> resolvedNames = new ConcurrentHashMap<String, Object>();
+    private final AtomicLong generation = new AtomicLong();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -79,8 +92,19 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final String nameString = name.toString();
+        final Object resolved = resolvedNames.get(nameString);
+        NamingStoreStatistics.recordLookup(resolved != null);
+        if (resolved != null) {
+            return dereference(nameString, resolved, dereference);
+        }
+        final long generation = this.generation.get();
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        final Object bound = resolve(nameString, lookupName);
+        if (bound != null && boundServices.contains(lookupName)) {
+            cacheResolvedName(nameString, bound, generation);
+        }
+        Object obj = (bound != null) ? dereference(nameString, bound, dereference) : null;
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -124,30 +148,65 @@ public class ServiceBasedNamingStore implements NamingStore {
         return cpe;
     }
 
+    private void cacheResolvedName(final String name, final Object bound, final long generation) {
+        if (resolvedNames.size() < MAX_RESOLVED_NAMES) {
+            resolvedNames.put(name, bound);
+            if (this.generation.get() != generation) {
+                // A service was bound or unbound concurrently, the value may be stale
+                resolvedNames.remove(name, bound);
+            }
+        }
+    }
+
+    /**
+     * Discards all resolved names, must be called whenever the value of a bound service changes.
+     */
+    protected void clearResolvedNames() {
+        generation.incrementAndGet();
+        resolvedNames.clear();
+    }
+
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        final Object object = resolve(name, lookupName);
+        return (object != null) ? dereference(name, object, dereference) : null;
+    }
+
+    /**
+     * Returns the value of the service with the given name, or null if there is no such service.
+     */
+    private Object resolve(final String name, final ServiceName lookupName) throws NamingException {
         try {
             final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
-                        final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                        return managedReference != null ? managedReference.getInstance() : null;
-                    }
+            return (controller != null) ? controller.getValue() : null;
+        } catch (IllegalStateException e) {
+            NameNotFoundException n = new NameNotFoundException(name);
+            n.initCause(e);
+            throw n;
+        } catch (SecurityException ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw NamingLogger.ROOT_LOGGER.lookupError(t, name);
+        }
+    }
+
+    private Object dereference(final String name, final Object object, boolean dereference) throws NamingException {
+        try {
+            if (dereference && object instanceof ManagedReferenceFactory) {
+                if(WildFlySecurityManager.isChecking()) {
+                    //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                    return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                        @Override
+                        public Object run() {
+                            final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                            return managedReference != null ? managedReference.getInstance() : null;
+                        }
+                    });
                 } else {
-                    return object;
+                    final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                    return managedReference != null ? managedReference.getInstance() : null;
                 }
             } else {
-                return null;
+                return object;
             }
         } catch (IllegalStateException e) {
             NameNotFoundException n = new NameNotFoundException(name);
@@ -257,6 +316,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        clearResolvedNames();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -271,10 +331,12 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        clearResolvedNames();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        clearResolvedNames();
     }
 
     protected ServiceName buildServiceName(final Name name) {
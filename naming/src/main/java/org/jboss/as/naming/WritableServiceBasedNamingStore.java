@@ -121,6 +121,8 @@ public class WritableServiceBasedNamingStore extends ServiceBasedNamingStore imp
                 duBindingReferences.add(binderService);
             }
             binderService.getManagedObjectInjector().setValue(new ImmediateValue(new ImmediateManagedReferenceFactory(object)));
+            // the binder service is not restarted, so its previous value may have been resolved already
+            clearResolvedNames();
         }
     }
 
@@ -92,6 +92,8 @@ public class NamingExtension implements Extension {
 
         if (context.isRuntimeOnlyRegistrationValid()) {
             registration.registerOperationHandler(NamingSubsystemRootResourceDefinition.JNDI_VIEW, JndiViewOperation.INSTANCE, false);
+            registration.registerMetric(NamingSubsystemRootResourceDefinition.LOOKUP_COUNT, NamingSubsystemRootResourceDefinition.LOOKUP_COUNT_HANDLER);
+            registration.registerMetric(NamingSubsystemRootResourceDefinition.LOOKUP_CACHE_MISS_COUNT, NamingSubsystemRootResourceDefinition.LOOKUP_CACHE_MISS_COUNT_HANDLER);
         }
 
         subsystem.registerXMLElementWriter(NamingSubsystemXMLPersister.INSTANCE);
@@ -38,6 +38,8 @@ public interface NamingSubsystemModel {
     String EXTERNAL_CONTEXT = "external-context";
 
     String LOOKUP = "lookup";
+    String LOOKUP_CACHE_MISS_COUNT = "lookup-cache-miss-count";
+    String LOOKUP_COUNT = "lookup-count";
 
     String OBJECT_FACTORY = "object-factory";
     String ENVIRONMENT = "environment";
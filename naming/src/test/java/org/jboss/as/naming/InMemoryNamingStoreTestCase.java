@@ -39,6 +39,10 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -265,4 +269,39 @@ public class InMemoryNamingStoreTestCase {
             fail("Should have throw name not found exception");
         } catch (NameNotFoundException expected){}
     }
+
+    @Test
+    public void testLookupDuringUpdates() throws Exception {
+        final Object object = new Object();
+        nameStore.bind(new CompositeName("test/stable"), object);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?>[] readers = new Future<?>[4];
+            for (int i = 0; i < readers.length; ++i) {
+                readers[i] = executor.submit(() -> {
+                    while (running.get()) {
+                        assertEquals(object, nameStore.lookup(new CompositeName("test/stable")));
+                        final List<NameClassPair> list = nameStore.list(new CompositeName("test"));
+                        assertTrue(list.size() >= 1);
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < 1000; ++i) {
+                final Name name = new CompositeName("test/item" + i);
+                nameStore.bind(name, new Object());
+                nameStore.rebind(name, new Object());
+                nameStore.unbind(name);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, nameStore.list(new CompositeName("test")).size());
+    }
 }
@@ -98,6 +98,25 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testLookupResolvedBinding() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "resolved");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        final long lookups = NamingStoreStatistics.getLookupCount();
+        final long misses = NamingStoreStatistics.getLookupCacheMissCount();
+        assertEquals(value, store.lookup(new CompositeName("foo/resolved")));
+        assertEquals(value, store.lookup(new CompositeName("foo/resolved")));
+        assertEquals(lookups + 2, NamingStoreStatistics.getLookupCount());
+        assertEquals(misses + 1, NamingStoreStatistics.getLookupCacheMissCount());
+
+        // unbinding discards the resolved name
+        store.remove(bindingName);
+        assertEquals(value, store.lookup(new CompositeName("foo/resolved")));
+        assertEquals(misses + 2, NamingStoreStatistics.getLookupCacheMissCount());
+    }
+
     @Test
     public void testLookupParentContext() throws Exception {
         final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
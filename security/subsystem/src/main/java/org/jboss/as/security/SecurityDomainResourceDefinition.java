@@ -22,6 +22,7 @@
 package org.jboss.as.security;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 import java.security.Principal;
@@ -50,6 +51,7 @@ import org.jboss.as.controller.operations.validation.StringAllowedValuesValidato
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.TinyLfuCache;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.SecurityDomainService;
 import org.jboss.dmr.ModelNode;
@@ -67,15 +69,20 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
 
     static final String CACHE_CONTAINER_NAME = "security";
     static final String INFINISPAN_CACHE_TYPE = "infinispan";
+    static final String TINY_LFU_CACHE_TYPE = "tiny-lfu";
     static final RuntimeCapability<Void> LEGACY_SECURITY_DOMAIN = RuntimeCapability.Builder.of("org.wildfly.security.legacy-security-domain", true)
             .setServiceType(SecurityDomainContext.class)
             .build();
 
     public static final SimpleAttributeDefinition CACHE_TYPE = new SimpleAttributeDefinitionBuilder(Constants.CACHE_TYPE, ModelType.STRING, true)
             .setAllowExpression(true)
-            .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE))
+            .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE, TINY_LFU_CACHE_TYPE))
             .build();
 
+    static final SimpleAttributeDefinition CACHE_HIT_COUNT = createCacheMetric(Constants.CACHE_HIT_COUNT);
+    static final SimpleAttributeDefinition CACHE_MISS_COUNT = createCacheMetric(Constants.CACHE_MISS_COUNT);
+    static final SimpleAttributeDefinition CACHE_EVICTION_COUNT = createCacheMetric(Constants.CACHE_EVICTION_COUNT);
+
     private final boolean registerRuntimeOnly;
     private final List<AccessConstraintDefinition> accessConstraints;
 
@@ -109,6 +116,18 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
     @Override
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, new SecurityDomainReloadWriteHandler(CACHE_TYPE));
+        if (registerRuntimeOnly) {
+            for (SimpleAttributeDefinition metric : Arrays.asList(CACHE_HIT_COUNT, CACHE_MISS_COUNT, CACHE_EVICTION_COUNT)) {
+                resourceRegistration.registerMetric(metric, CacheStatisticsHandler.INSTANCE);
+            }
+        }
+    }
+
+    private static SimpleAttributeDefinition createCacheMetric(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .setStorageRuntime()
+                .build();
     }
 
     @Override
@@ -179,6 +198,37 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Reads the statistics of a {@code tiny-lfu} authentication cache. Other types of cache report no activity.
+     */
+    static final class CacheStatisticsHandler extends AbstractRuntimeOnlyHandler {
+        static final CacheStatisticsHandler INSTANCE = new CacheStatisticsHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String securityDomain = context.getCurrentAddressValue();
+            final String metric = operation.require(NAME).asString();
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(SecurityDomainService.SERVICE_NAME.append(securityDomain));
+            TinyLfuCache<?, ?> cache = ((controller != null) && (controller.getState() == ServiceController.State.UP)) ? ((SecurityDomainService) controller.getService()).getAuthenticationCache() : null;
+            if (cache != null) {
+                switch (metric) {
+                    case Constants.CACHE_HIT_COUNT:
+                        context.getResult().set(cache.getHitCount());
+                        break;
+                    case Constants.CACHE_MISS_COUNT:
+                        context.getResult().set(cache.getMissCount());
+                        break;
+                    case Constants.CACHE_EVICTION_COUNT:
+                        context.getResult().set(cache.getEvictionCount());
+                        break;
+                }
+            } else {
+                context.getResult().set(0L);
+            }
+            context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+        }
+    }
+
     static final class FlushOperation extends AbstractRuntimeOnlyHandler {
         static final FlushOperation INSTANCE = new FlushOperation();
         static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(Constants.FLUSH_CACHE,
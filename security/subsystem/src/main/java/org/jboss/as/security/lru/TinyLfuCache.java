@@ -0,0 +1,633 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache whose admission and eviction follow the W-TinyLFU policy.
+ * <p/>
+ * <p>New entries enter a small LRU admission window. An entry leaving the window is only admitted into the main
+ * space, a segmented LRU of probation and protected entries, if it was used more often than the entry it would
+ * displace. Usage is estimated by a compact count-min sketch of recent accesses, which is aged periodically. Unlike
+ * a plain LRU cache, a burst of one-off keys cannot flush the frequently used entries.</p>
+ * <p/>
+ * <p>Reads are served from a concurrent map. The access order is only updated if the policy lock is not contended,
+ * so reads never block on writes. Entries may optionally expire a fixed time after they were written, or after they
+ * were last read.</p>
+ */
+public class TinyLfuCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the access order queues and the frequency sketch.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedOrder = new AccessOrder<>();
+
+    private final int maxEntries;
+    private final int maxWindow;
+    private final int maxProtected;
+    private final long lifespan;
+    private final long maxIdle;
+    private final LongSupplier ticker;
+    private final RemoveCallback<K, V> removeCallback;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TinyLfuCache(int maxEntries) {
+        this(maxEntries, 0L, 0L, TimeUnit.MILLISECONDS, null);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of entries
+     * @param lifespan the time after which an entry expires once written, or 0 if entries should not expire
+     * @param maxIdle the time after which an entry expires once last read, or 0 if idle entries should not expire
+     * @param unit the unit of {@code lifespan} and {@code maxIdle}
+     * @param removeCallback invoked after an entry was removed, evicted or expired, or its value was replaced; may be null
+     */
+    public TinyLfuCache(int maxEntries, long lifespan, long maxIdle, TimeUnit unit, RemoveCallback<K, V> removeCallback) {
+        this(maxEntries, unit.toNanos(lifespan), unit.toNanos(maxIdle), System::nanoTime, removeCallback);
+    }
+
+    TinyLfuCache(int maxEntries, long lifespanNanos, long maxIdleNanos, LongSupplier ticker, RemoveCallback<K, V> removeCallback) {
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.maxWindow = Math.max(this.maxEntries / 100, 1);
+        this.maxProtected = (this.maxEntries - this.maxWindow) * 4 / 5;
+        this.sketch = new FrequencySketch(this.maxEntries);
+        this.lifespan = lifespanNanos;
+        this.maxIdle = maxIdleNanos;
+        this.ticker = ticker;
+        this.removeCallback = removeCallback;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the number of reads that found a live entry.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of reads that did not find an entry, or found an expired one.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries that were evicted for lack of capacity or that expired.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        long now = ticker.getAsLong();
+        if (isExpired(node, now)) {
+            misses.increment();
+            expire(node);
+            return null;
+        }
+        hits.increment();
+        node.accessTime = now;
+        // Skip the access order update rather than wait for a writer
+        if (lock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Node<K, V> node = data.get(key);
+        return node != null && !isExpired(node, ticker.getAsLong());
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        List<Node<K, V>> removed = new ArrayList<>(1);
+        long now = ticker.getAsLong();
+        V old = null;
+        lock.lock();
+        try {
+            expireEntries(now, removed);
+            Node<K, V> node = data.get(key);
+            if (node != null && isExpired(node, now)) {
+                data.remove(key);
+                unlink(node);
+                evictions.increment();
+                removed.add(node);
+                node = null;
+            }
+            if (node != null) {
+                old = node.value;
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                    node.writeTime = now;
+                }
+                node.accessTime = now;
+                onAccess(node);
+            } else {
+                node = new Node<>(key, value, now);
+                data.put(key, node);
+                onInsert(node, removed);
+            }
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(removed);
+        return old;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        Node<K, V> node;
+        V old;
+        lock.lock();
+        try {
+            node = data.get(key);
+            if (node == null || isExpired(node, ticker.getAsLong())) {
+                return null;
+            }
+            old = node.value;
+            replace(node, value);
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(key, old);
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node == null || !Objects.equals(node.value, oldValue) || isExpired(node, ticker.getAsLong())) {
+                return false;
+            }
+            replace(node, newValue);
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(key, oldValue);
+        return true;
+    }
+
+    private void replace(Node<K, V> node, V value) {
+        long now = ticker.getAsLong();
+        node.value = value;
+        node.writeTime = now;
+        node.accessTime = now;
+        onAccess(node);
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node;
+        lock.lock();
+        try {
+            node = data.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(node.key, node.value);
+        return node.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Node<K, V> node;
+        lock.lock();
+        try {
+            node = data.get(key);
+            if (node == null || !Objects.equals(node.value, value)) {
+                return false;
+            }
+            data.remove(key);
+            unlink(node);
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(node.key, node.value);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        List<Node<K, V>> removed;
+        lock.lock();
+        try {
+            removed = new ArrayList<>(data.values());
+            for (Node<K, V> node : removed) {
+                unlink(node);
+            }
+            data.clear();
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(removed);
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return ((lifespan > 0L) && (now - node.writeTime >= lifespan)) || ((maxIdle > 0L) && (now - node.accessTime >= maxIdle));
+    }
+
+    private void expire(Node<K, V> node) {
+        lock.lock();
+        try {
+            if (!data.remove(node.key, node)) {
+                return;
+            }
+            unlink(node);
+            evictions.increment();
+        } finally {
+            lock.unlock();
+        }
+        afterRemove(node.key, node.value);
+    }
+
+    /**
+     * Removes the expired entries at the head of each queue. Must be called while holding the lock.
+     */
+    private void expireEntries(long now, List<Node<K, V>> removed) {
+        if ((lifespan == 0L) && (maxIdle == 0L)) {
+            return;
+        }
+        expireEntries(window, now, removed);
+        expireEntries(probation, now, removed);
+        expireEntries(protectedOrder, now, removed);
+    }
+
+    private void expireEntries(AccessOrder<K, V> order, long now, List<Node<K, V>> removed) {
+        for (Node<K, V> node = order.peekFirst(); (node != null) && isExpired(node, now); node = order.peekFirst()) {
+            data.remove(node.key, node);
+            unlink(node);
+            evictions.increment();
+            removed.add(node);
+        }
+    }
+
+    /**
+     * Records an access to a cached entry. Must be called while holding the lock.
+     */
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        if (node.removed) {
+            return;
+        }
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedOrder.add(node);
+                // demote the least recently used protected entries, they get another chance in probation
+                while (protectedOrder.size > maxProtected) {
+                    Node<K, V> demoted = protectedOrder.peekFirst();
+                    protectedOrder.remove(demoted);
+                    demoted.queue = PROBATION;
+                    probation.add(demoted);
+                }
+                break;
+            default:
+                protectedOrder.moveToBack(node);
+        }
+    }
+
+    /**
+     * Adds a new entry to the admission window and evicts entries until the cache fits its bounds again.
+     * Must be called while holding the lock.
+     */
+    private void onInsert(Node<K, V> node, List<Node<K, V>> removed) {
+        sketch.increment(node.key);
+        node.queue = WINDOW;
+        window.add(node);
+
+        Node<K, V> candidate = null;
+        while (window.size > maxWindow) {
+            candidate = window.peekFirst();
+            window.remove(candidate);
+            candidate.queue = PROBATION;
+            probation.add(candidate);
+        }
+        while (window.size + probation.size + protectedOrder.size > maxEntries) {
+            Node<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedOrder.peekFirst();
+            }
+            Node<K, V> evicted = victim;
+            if ((candidate != null) && (candidate != victim) && (sketch.frequency(candidate.key) <= sketch.frequency(victim.key))) {
+                // the candidate was not used more often than the entry it would replace, reject it
+                evicted = candidate;
+                candidate = null;
+            }
+            data.remove(evicted.key, evicted);
+            unlink(evicted);
+            evictions.increment();
+            removed.add(evicted);
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.removed) {
+            return;
+        }
+        node.removed = true;
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            default:
+                protectedOrder.remove(node);
+        }
+    }
+
+    private void afterRemove(List<Node<K, V>> removed) {
+        for (Node<K, V> node : removed) {
+            afterRemove(node.key, node.value);
+        }
+    }
+
+    private void afterRemove(K key, V value) {
+        if (removeCallback != null) {
+            removeCallback.afterRemove(key, value);
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long writeTime;
+        volatile long accessTime;
+
+        // guarded by the cache lock
+        Node<K, V> previous;
+        Node<K, V> next;
+        byte queue;
+        boolean removed;
+
+        Node(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    /**
+     * A doubly linked list of entries, from least to most recently used.
+     */
+    private static final class AccessOrder<K, V> {
+        private final Node<K, V> head = new Node<>(null, null, 0L);
+        int size;
+
+        AccessOrder() {
+            head.previous = head;
+            head.next = head;
+        }
+
+        Node<K, V> peekFirst() {
+            return (head.next != head) ? head.next : null;
+        }
+
+        void add(Node<K, V> node) {
+            node.previous = head.previous;
+            node.next = head;
+            head.previous.next = node;
+            head.previous = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            remove(node);
+            add(node);
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters, estimating how often a key was accessed recently.
+     * All counters are halved once the number of recorded accesses reaches ten times the width of the sketch.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxEntries) {
+            int width = Integer.highestOneBit(Math.min(Math.max(maxEntries, 8), 1 << 24) - 1) << 1;
+            this.table = new long[width];
+            this.sampleSize = 10 * width;
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                frequency = Math.min(frequency, (int) ((table[index(hash, i)] >>> offset(hash, i)) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                int index = index(hash, i);
+                int offset = offset(hash, i);
+                long mask = 0xfL << offset;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && (++additions == sampleSize)) {
+                for (int i = 0; i < table.length; ++i) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions = sampleSize / 2;
+            }
+        }
+
+        private int index(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & (table.length - 1);
+        }
+
+        private static int offset(int hash, int i) {
+            return ((hash >>> (i << 3)) & 0xf) << 2;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            final Iterator<Node<K, V>> nodes = data.values().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Node<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    final Node<K, V> node = nodes.next();
+                    last = node;
+                    return new SimpleEntry<K, V>(node.key, node.value) {
+                        @Override
+                        public V setValue(V value) {
+                            super.setValue(value);
+                            return TinyLfuCache.this.put(node.key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException("next() not called");
+                    }
+                    TinyLfuCache.this.remove(last.key);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return TinyLfuCache.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Node<K, V> node = data.get(e.getKey());
+            return node != null && node.value.equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return TinyLfuCache.this.remove(e.getKey(), e.getValue());
+        }
+
+        @Override
+        public void clear() {
+            TinyLfuCache.this.clear();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.security.lru.TinyLfuCache;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Factory that creates frequency aware {@link TinyLfuCache}s for authentication cache.
+ * <p/>
+ * Unless specified explicitly, the bounds of the cache are read from the
+ * {@value #MAX_ENTRIES}, {@value #LIFESPAN} and {@value #MAX_IDLE} system properties.
+ */
+public class TinyLfuAuthenticationCacheFactory implements AuthenticationCacheFactory {
+
+    static final String MAX_ENTRIES = "org.jboss.as.security.tiny-lfu-cache.max-entries";
+    static final String LIFESPAN = "org.jboss.as.security.tiny-lfu-cache.lifespan";
+    static final String MAX_IDLE = "org.jboss.as.security.tiny-lfu-cache.max-idle";
+
+    private final int maxEntries;
+    private final long lifespan;
+    private final long maxIdle;
+
+    public TinyLfuAuthenticationCacheFactory() {
+        this(Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_ENTRIES, "1000")),
+                Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(LIFESPAN, "0")),
+                Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(MAX_IDLE, "0")));
+    }
+
+    /**
+     * @param maxEntries the maximum number of cached principals
+     * @param lifespan the number of milliseconds after which a cached principal expires, or 0 if it should not expire
+     * @param maxIdle the number of milliseconds after which an unused principal expires, or 0 if it should not expire
+     */
+    public TinyLfuAuthenticationCacheFactory(int maxEntries, long lifespan, long maxIdle) {
+        this.maxEntries = maxEntries;
+        this.lifespan = lifespan;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns a frequency aware cache implementation
+     *
+     * @return cache implementation
+     */
+    public TinyLfuCache<Principal, DomainInfo> getCache() {
+        return new TinyLfuCache<>(maxEntries, lifespan, maxIdle, TimeUnit.MILLISECONDS, (key, value) -> {
+            if (value != null) {
+                value.logout();
+            }
+        });
+    }
+}
@@ -22,16 +22,19 @@
 
 package org.jboss.as.security.service;
 
+import java.security.Principal;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.security.auth.login.Configuration;
 
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.TinyLfuCache;
 import org.jboss.as.security.plugins.AuthenticationCacheFactory;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
 import org.jboss.as.security.plugins.SecurityDomainContext;
+import org.jboss.as.security.plugins.TinyLfuAuthenticationCacheFactory;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
@@ -41,6 +44,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.security.ISecurityManagement;
 import org.jboss.security.JSSESecurityDomain;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 import org.jboss.security.config.ApplicationPolicy;
 import org.jboss.security.config.ApplicationPolicyRegistration;
 
@@ -67,6 +71,8 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private volatile SecurityDomainContext securityDomainContext;
 
+    private volatile TinyLfuCache<Principal, DomainInfo> authenticationCache;
+
     private final String cacheType;
 
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
@@ -92,6 +98,10 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
             cacheFactory = () -> this.cacheValue.getValue();
         } else if ("default".equals(cacheType)) {
             cacheFactory = new DefaultAuthenticationCacheFactory();
+        } else if ("tiny-lfu".equals(cacheType)) {
+            final TinyLfuCache<Principal, DomainInfo> cache = new TinyLfuAuthenticationCacheFactory().getCache();
+            this.authenticationCache = cache;
+            cacheFactory = () -> cache;
         }
         SecurityDomainContext sdc;
         try {
@@ -120,6 +130,7 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         final ApplicationPolicyRegistration applicationPolicyRegistration = (ApplicationPolicyRegistration) configurationValue
                 .getValue();
         applicationPolicyRegistration.removeApplicationPolicy(name);
+        this.authenticationCache = null;
     }
 
     /** {@inheritDoc} */
@@ -128,6 +139,15 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         return securityDomainContext;
     }
 
+    /**
+     * Returns the authentication cache of this security domain, if it is a {@code tiny-lfu} cache.
+     *
+     * @return the authentication cache, or null if this domain uses another type of cache, or no cache at all
+     */
+    public TinyLfuCache<Principal, DomainInfo> getAuthenticationCache() {
+        return authenticationCache;
+    }
+
     /**
      * Target {@code Injector}
      *
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class TinyLfuCacheTestCase {
+
+    @Test
+    public void testMaxEntries() {
+        List<Integer> removed = new ArrayList<>();
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100, 0L, 0L, System::nanoTime, (key, value) -> removed.add(key));
+        for (int i = 0; i < 1000; ++i) {
+            cache.put(i, i);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictionCount());
+        assertEquals(900, removed.size());
+        for (Integer key : removed) {
+            assertFalse(cache.containsKey(key));
+        }
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100);
+        for (int i = 0; i < 50; ++i) {
+            cache.put(i, i);
+            for (int j = 0; j < 5; ++j) {
+                assertEquals(Integer.valueOf(i), cache.get(i));
+            }
+        }
+        // keys used only once must not displace the frequently used ones
+        for (int i = 1000; i < 2000; ++i) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void testExpiration() {
+        AtomicLong time = new AtomicLong();
+        List<String> removed = new ArrayList<>();
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, 100L, 30L, time::get, (key, value) -> removed.add(key));
+
+        cache.put("idle", "idle");
+        cache.put("used", "used");
+        time.set(20L);
+        assertEquals("used", cache.get("used"));
+        time.set(40L);
+        assertNull(cache.get("idle"));
+        assertEquals("used", cache.get("used"));
+        time.set(100L);
+        assertNull(cache.get("used"));
+
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, removed.size());
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testStatistics() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+        assertNull(cache.get("key"));
+        cache.put("key", "value");
+        assertEquals("value", cache.get("key"));
+        assertEquals("value", cache.get("key"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testRemove() {
+        List<String> removed = new ArrayList<>();
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, 0L, 0L, System::nanoTime, (key, value) -> removed.add(value));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        assertEquals("1", cache.remove("a"));
+        assertFalse(cache.remove("b", "3"));
+        assertTrue(cache.remove("b", "2"));
+        assertEquals("3", cache.putIfAbsent("c", "4"));
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(3, removed.size());
+        assertTrue(removed.contains("3"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
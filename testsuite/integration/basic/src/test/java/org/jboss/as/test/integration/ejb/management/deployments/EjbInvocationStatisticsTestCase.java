@@ -214,6 +214,10 @@ public class EjbInvocationStatisticsTestCase {
             assertTrue(invocationValues.get("execution-time").asLong() >= 50L);
             assertEquals(1L, invocationValues.get("invocations").asLong());
             assertTrue(invocationValues.get("wait-time").asLong() >= 0L);
+            assertTrue(invocationValues.get("execution-time-p50").asLong() >= 50L);
+            assertTrue(invocationValues.get("execution-time-p999").asLong() >= invocationValues.get("execution-time-p50").asLong());
+            assertEquals(1L, result.get("method-signatures").asInt());
+            assertEquals("doIt()", result.get("method-signatures").asPropertyList().get(0).getName());
 
             if (type.equals(EJBComponentType.STATEFUL)) {
                 assertEquals(1L, result.get("cache-size").asLong());
@@ -62,6 +62,8 @@ class AccessLogAdd extends AbstractAddStepHandler {
         final boolean extended = AccessLogDefinition.EXTENDED.resolveModelAttribute(context, model).asBoolean();
         final ModelNode relativeToNode = AccessLogDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
+        final ModelNode maxQueueSizeNode = AccessLogDefinition.MAX_QUEUE_SIZE.resolveModelAttribute(context, model);
+        final int maxQueueSize = maxQueueSizeNode.isDefined() ? maxQueueSizeNode.asInt() : 0;
 
         Predicate predicate = null;
         ModelNode predicateNode = AccessLogDefinition.PREDICATE.resolveModelAttribute(context, model);
@@ -73,7 +75,7 @@ class AccessLogAdd extends AbstractAddStepHandler {
         if (useServerLog) {
             service = new AccessLogService(pattern, extended, predicate);
         } else {
-            service = new AccessLogService(pattern, directory, relativeTo, filePrefix, fileSuffix, rotate, extended, predicate);
+            service = new AccessLogService(pattern, directory, relativeTo, filePrefix, fileSuffix, rotate, extended, predicate, maxQueueSize);
         }
 
         final String serverName = serverAddress.getLastElement().getValue();
@@ -41,6 +41,7 @@ import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 import org.xnio.XnioWorker;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -61,6 +62,7 @@ class AccessLogService implements Service<AccessLogService> {
     private final boolean useServerLog;
     private final boolean extended;
     private final Predicate predicate;
+    private final int maxQueueSize;
     private volatile AccessLogReceiver logReceiver;
 
 
@@ -81,10 +83,11 @@ class AccessLogService implements Service<AccessLogService> {
         this.fileSuffix = null;
         this.useServerLog = true;
         this.rotate = false; //doesn't really matter
+        this.maxQueueSize = 0;
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
     }
 
-    AccessLogService(String pattern, String path, String pathRelativeTo, String filePrefix, String fileSuffix, boolean rotate, boolean extended, Predicate predicate) {
+    AccessLogService(String pattern, String path, String pathRelativeTo, String filePrefix, String fileSuffix, boolean rotate, boolean extended, Predicate predicate, int maxQueueSize) {
         this.pattern = pattern;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
@@ -94,6 +97,7 @@ class AccessLogService implements Service<AccessLogService> {
         this.extended = extended;
         this.useServerLog = false;
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
+        this.maxQueueSize = maxQueueSize;
     }
 
     @Override
@@ -113,7 +117,7 @@ class AccessLogService implements Service<AccessLogService> {
                 }
             }
             try {
-                DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.getValue())
+                DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder()
                         .setOutputDirectory(directory)
                         .setLogBaseName(filePrefix)
                         .setLogNameSuffix(fileSuffix)
@@ -124,7 +128,7 @@ class AccessLogService implements Service<AccessLogService> {
                 } else {
                     extendedPattern = null;
                 }
-                logReceiver = builder.build();
+                logReceiver = new BoundedAccessLogReceiver(builder, worker.getValue(), maxQueueSize);
             } catch (IllegalStateException e) {
                 throw new StartException(e);
             }
@@ -139,8 +143,8 @@ class AccessLogService implements Service<AccessLogService> {
             callbackHandle.remove();
             callbackHandle = null;
         }
-        if( logReceiver instanceof DefaultAccessLogReceiver ) {
-            IoUtils.safeClose((DefaultAccessLogReceiver) logReceiver);
+        if( logReceiver instanceof Closeable ) {
+            IoUtils.safeClose((Closeable) logReceiver);
         }
         logReceiver = null;
     }
@@ -170,6 +174,24 @@ class AccessLogService implements Service<AccessLogService> {
         return host;
     }
 
+    /**
+     * Returns the number of log entries waiting to be written.
+     * @return a number of entries
+     */
+    long getQueuedEntries() {
+        AccessLogReceiver receiver = logReceiver;
+        return (receiver instanceof BoundedAccessLogReceiver) ? ((BoundedAccessLogReceiver) receiver).getQueuedCount() : 0L;
+    }
+
+    /**
+     * Returns the number of log entries that were dropped, because the maximum number of queued entries was reached.
+     * @return a number of entries
+     */
+    long getDroppedEntries() {
+        AccessLogReceiver receiver = logReceiver;
+        return (receiver instanceof BoundedAccessLogReceiver) ? ((BoundedAccessLogReceiver) receiver).getDroppedCount() : 0L;
+    }
+
     boolean isRotate() {
         return rotate;
     }
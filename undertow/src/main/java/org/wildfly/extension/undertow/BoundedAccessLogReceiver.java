@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.server.handlers.accesslog.AccessLogReceiver;
+import io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver;
+import org.xnio.IoUtils;
+
+/**
+ * Access log receiver that queues log entries, and writes them on its executor via a {@link DefaultAccessLogReceiver},
+ * while counting the entries that are waiting to be written.
+ * If the number of waiting entries is bounded, entries beyond the bound are dropped, rather than accumulating without limit.
+ * <p>
+ * A single drain task at a time passes queued entries to the {@link DefaultAccessLogReceiver}, then runs its write tasks,
+ * so that an entry is only counted as written once the receiver wrote it.
+ */
+class BoundedAccessLogReceiver implements AccessLogReceiver, Closeable {
+
+    // The maximum number of entries passed to the receiver by a drain task, so that it does not hold on to its thread indefinitely
+    private static final int MAX_ENTRIES_PER_DRAIN = 1000;
+
+    private final DefaultAccessLogReceiver receiver;
+    private final Executor executor;
+    private final int maxQueueSize;
+    private final Queue<String> entries = new ConcurrentLinkedQueue<>();
+    // Write tasks of the receiver, deferred to the drain task
+    private final Queue<Runnable> writeTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queued = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed = false;
+    // Only accessed by the drain task
+    private boolean receiverClosed = false;
+
+    /**
+     * @param builder the builder of the receiver that writes the entries
+     * @param executor the executor that writes the entries
+     * @param maxQueueSize the maximum number of entries waiting to be written, or 0 if unbounded
+     */
+    BoundedAccessLogReceiver(DefaultAccessLogReceiver.Builder builder, Executor executor, int maxQueueSize) {
+        this.executor = executor;
+        this.maxQueueSize = maxQueueSize;
+        this.receiver = builder.setLogWriteExecutor(this.writeTasks::add).build();
+    }
+
+    @Override
+    public void logMessage(String message) {
+        long count;
+        do {
+            count = this.queued.get();
+            if ((this.maxQueueSize > 0) && (count >= this.maxQueueSize)) {
+                this.dropped.increment();
+                return;
+            }
+        } while (!this.queued.compareAndSet(count, count + 1));
+        this.entries.add(message);
+        this.schedule();
+    }
+
+    private void schedule() {
+        if (this.draining.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::drain);
+            } catch (RuntimeException | Error e) {
+                this.draining.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        int count = 0;
+        try {
+            String entry = this.entries.poll();
+            while (entry != null) {
+                this.receiver.logMessage(entry);
+                count += 1;
+                entry = (count < MAX_ENTRIES_PER_DRAIN) ? this.entries.poll() : null;
+            }
+            if (this.closed && !this.receiverClosed && this.entries.isEmpty()) {
+                // The receiver writes its remaining entries before closing its file
+                this.receiverClosed = true;
+                IoUtils.safeClose(this.receiver);
+            }
+            Runnable task = this.writeTasks.poll();
+            while (task != null) {
+                task.run();
+                task = this.writeTasks.poll();
+            }
+        } finally {
+            this.queued.addAndGet(-count);
+            this.draining.set(false);
+            // Entries queued, or a close requested, while draining would otherwise wait for the next entry
+            if (!this.entries.isEmpty() || (this.closed && !this.receiverClosed)) {
+                this.schedule();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries waiting to be written.
+     * @return a number of entries
+     */
+    long getQueuedCount() {
+        return this.queued.get();
+    }
+
+    /**
+     * Returns the number of entries that were dropped, because the maximum number of entries waiting to be written was reached.
+     * @return a number of entries
+     */
+    long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Writes the queued entries, then closes the log file, on the executor.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.schedule();
+    }
+}
@@ -28,13 +28,19 @@ import java.util.Collections;
 import java.util.List;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
@@ -61,6 +67,14 @@ public class BufferCacheDefinition extends PersistentResourceDefinition {
             .setAllowExpression(true)
             .setDefaultValue(new ModelNode(10))
             .build();
+    static final SimpleAttributeDefinition HIT_COUNT = new SimpleAttributeDefinitionBuilder("hit-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition MISS_COUNT = new SimpleAttributeDefinitionBuilder("miss-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
     static final BufferCacheDefinition INSTANCE = new BufferCacheDefinition();
     private static final List<SimpleAttributeDefinition> ATTRIBUTES = Collections.unmodifiableList(Arrays.asList(BUFFER_SIZE, BUFFERS_PER_REGION, MAX_REGIONS));
 
@@ -75,4 +89,31 @@ public class BufferCacheDefinition extends PersistentResourceDefinition {
     public Collection<AttributeDefinition> getAttributes() {
         return (Collection) ATTRIBUTES;
     }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(HIT_COUNT, ReadStatisticHandler.INSTANCE);
+        resourceRegistration.registerMetric(MISS_COUNT, ReadStatisticHandler.INSTANCE);
+    }
+
+    private static class ReadStatisticHandler implements OperationStepHandler {
+
+        static final ReadStatisticHandler INSTANCE = new ReadStatisticHandler();
+
+        private ReadStatisticHandler() {
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(BufferCacheService.SERVICE_NAME.append(context.getCurrentAddressValue()));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                context.getResult().set(0L);
+                return;
+            }
+            BufferCacheService service = (BufferCacheService) controller.getService();
+            String name = operation.get(ModelDescriptionConstants.NAME).asString();
+            context.getResult().set(HIT_COUNT.getName().equals(name) ? service.getHitCount() : service.getMissCount());
+        }
+    }
 }
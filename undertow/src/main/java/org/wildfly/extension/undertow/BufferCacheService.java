@@ -22,6 +22,8 @@
 
 package org.wildfly.extension.undertow;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import io.undertow.server.handlers.cache.DirectBufferCache;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
@@ -40,7 +42,7 @@ public class BufferCacheService implements Service<DirectBufferCache> {
     private final int buffersPerRegion;
     private final int maxRegions;
 
-    private volatile DirectBufferCache value;
+    private volatile StatisticsDirectBufferCache value;
 
     public BufferCacheService(final int bufferSize, final int buffersPerRegion, final int maxRegions) {
         this.bufferSize = bufferSize;
@@ -50,7 +52,7 @@ public class BufferCacheService implements Service<DirectBufferCache> {
 
     @Override
     public void start(final StartContext startContext) throws StartException {
-        value = new DirectBufferCache(bufferSize, buffersPerRegion, maxRegions * buffersPerRegion * bufferSize);
+        value = new StatisticsDirectBufferCache(bufferSize, buffersPerRegion, maxRegions * buffersPerRegion * bufferSize);
     }
 
     @Override
@@ -62,4 +64,44 @@ public class BufferCacheService implements Service<DirectBufferCache> {
     public DirectBufferCache getValue() throws IllegalStateException, IllegalArgumentException {
         return value;
     }
+
+    /**
+     * Returns the number of cache lookups that found enabled content since this cache was started.
+     */
+    public long getHitCount() {
+        StatisticsDirectBufferCache cache = this.value;
+        return (cache != null) ? cache.hits.sum() : 0L;
+    }
+
+    /**
+     * Returns the number of cache lookups that found no enabled content since this cache was started.
+     */
+    public long getMissCount() {
+        StatisticsDirectBufferCache cache = this.value;
+        return (cache != null) ? cache.misses.sum() : 0L;
+    }
+
+    /**
+     * A {@link DirectBufferCache} counting the outcome of its lookups.
+     */
+    private static class StatisticsDirectBufferCache extends DirectBufferCache {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+
+        StatisticsDirectBufferCache(int sliceSize, int slicesPerPage, int maxMemory) {
+            super(sliceSize, slicesPerPage, maxMemory);
+        }
+
+        @Override
+        public CacheEntry get(Object key) {
+            CacheEntry entry = super.get(key);
+            // An entry whose content is still being loaded is served from the underlying resource
+            if ((entry != null) && entry.enabled()) {
+                this.hits.increment();
+            } else {
+                this.misses.increment();
+            }
+            return entry;
+        }
+    }
 }
@@ -242,4 +242,5 @@ public interface Constants {
     String FILE_CACHE_MAX_FILE_SIZE = "file-cache-max-file-size";
     String FILE_CACHE_METADATA_SIZE = "file-cache-metadata-size";
     String FILE_CACHE_TIME_TO_LIVE =  "file-cache-time-to-live";
+    String MAX_QUEUE_SIZE = "max-queue-size";
 }
@@ -45,7 +45,9 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.deployment.RequestMetrics;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 import io.undertow.server.session.Session;
 import io.undertow.server.session.SessionManager;
@@ -89,6 +91,9 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        for (RequestStat stat : RequestStat.values()) {
+            resourceRegistration.registerMetric(stat.definition, RequestStatsHandler.INSTANCE);
+        }
     }
 
     @Override
@@ -140,7 +145,8 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
 
                 switch (stat) {
                     case ACTIVE_SESSIONS:
-                        result.set(sessionManager.getActiveSessions().size());
+                        // Prefer the statistics, which can count sessions without collecting their identifiers
+                        result.set((sms != null) ? (int) sms.getActiveSessionCount() : sessionManager.getActiveSessions().size());
                         break;
                     case EXPIRED_SESSIONS:
                         if(sms == null) {
@@ -196,6 +202,46 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
     }
 
 
+    static class RequestStatsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final RequestStatsHandler INSTANCE = new RequestStatsHandler();
+
+        private RequestStatsHandler() {
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = SERVER.resolveModelAttribute(context, subModel).asString();
+
+            RequestStat stat = RequestStat.getStat(operation.require(ModelDescriptionConstants.NAME).asString());
+
+            if (stat == null) {
+                context.getFailureDescription().set(UndertowLogger.ROOT_LOGGER.unknownMetric(operation.require(ModelDescriptionConstants.NAME).asString()));
+            } else {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+                if (controller == null || controller.getState() != ServiceController.State.UP) {//check if deployment is active at all
+                    return;
+                }
+                final UndertowDeploymentService deploymentService = (UndertowDeploymentService) controller.getService();
+                if (deploymentService == null || deploymentService.getDeployment() == null) { //we might be in shutdown and it is possible
+                    return;
+                }
+                // Request metrics are only collected if statistics are enabled
+                UndertowMetricsCollector collector = (UndertowMetricsCollector) deploymentService.getDeployment().getDeploymentInfo().getMetricsCollector();
+                RequestMetrics metrics = (collector != null) ? collector.getRequestMetrics() : null;
+                context.getResult().set((metrics != null) ? stat.getValue(metrics) : 0L);
+            }
+        }
+    }
+
     static class SessionInvalidateHandler extends AbstractRuntimeOnlyHandler {
 
         static SessionInvalidateHandler INSTANCE = new SessionInvalidateHandler();
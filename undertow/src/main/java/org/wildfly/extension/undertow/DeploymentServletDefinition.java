@@ -37,6 +37,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.deployment.RequestMetrics;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 
@@ -109,12 +110,48 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                 response.setEmptyList();
             }
         });
+        for (RequestStat stat : RequestStat.values()) {
+            registration.registerMetric(stat.definition, new RequestStatHandler(stat));
+        }
+    }
+
+    static class RequestStatHandler extends AbstractMetricsHandler {
+        private final RequestStat stat;
+
+        RequestStatHandler(RequestStat stat) {
+            this.stat = stat;
+        }
+
+        @Override
+        void handle(ModelNode response, String name, UndertowMetricsCollector collector, ServletInfo servlet) {
+            RequestMetrics metrics = collector.getRequestMetrics(name);
+            if (metrics == null) {
+                putDefault(response);
+            } else {
+                response.set(this.stat.getValue(metrics));
+            }
+        }
+
+        @Override
+        void handle(ModelNode response, String name, MetricsHandler.MetricResult metricResult, ServletInfo servlet) {
+            // Request stats are not provided by Undertow's metrics
+            putDefault(response);
+        }
     }
 
     abstract static class AbstractMetricsHandler implements OperationStepHandler {
 
         abstract void handle(ModelNode response, String name, MetricsHandler.MetricResult metricResult, ServletInfo infos);
 
+        void handle(ModelNode response, String name, UndertowMetricsCollector collector, ServletInfo servlet) {
+            MetricsHandler.MetricResult result = collector.getMetrics(name);
+            if (result == null) {
+                putDefault(response);
+            } else {
+                handle(response, name, result, servlet);
+            }
+        }
+
         void putDefault(ModelNode response) {
             response.set(0L);
         }
@@ -144,11 +181,10 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                     final String name = address.getLastElement().getValue();
                     final ServletInfo servlet = deploymentInfo.getServlets().get(name);
                     final ModelNode response = new ModelNode();
-                    MetricsHandler.MetricResult result = collector != null ? collector.getMetrics(name) : null;
-                    if (result == null) {
+                    if (collector == null) {
                         putDefault(response);
                     } else {
-                        handle(response, name, result, servlet);
+                        handle(response, name, collector, servlet);
                     }
                     context.getResult().set(response);
                 }
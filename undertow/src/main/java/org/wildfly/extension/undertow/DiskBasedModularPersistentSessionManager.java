@@ -21,7 +21,9 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.servlet.UndertowServletLogger;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.ByteBufferInput;
 import org.jboss.marshalling.InputStreamByteInput;
 import org.jboss.marshalling.Marshaller;
 import org.jboss.marshalling.OutputStreamByteOutput;
@@ -33,18 +35,49 @@ import org.jboss.msc.value.InjectedValue;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Persistent session manager that stores persistent session information to disk
+ * Persistent session manager that stores persistent session information to disk.
+ * <p>
+ * Sessions are streamed to disk one at a time, using a length prefixed format, so that neither the serialized form
+ * of all sessions, nor the serialized form of a whole session is ever held in memory. The format is:
+ * <pre>
+ * file := MAGIC VERSION session* false
+ * session := true id expiry attribute* false
+ * attribute := true name length value
+ * </pre>
+ * On load, the file is streamed through a buffered channel, the attributes of each non-expired session are unmarshalled one at a time,
+ * and the attributes of expired sessions are skipped.
+ * Files written by previous releases, i.e. a single marshalled map of all sessions, are still loaded.
  *
  * @author Stuart Douglas
  */
 public class DiskBasedModularPersistentSessionManager extends AbstractPersistentSessionManager {
+    private static final int MAGIC = 0xCAFE5E55;
+    private static final byte VERSION = 1;
+    private static final String TEMP_SUFFIX = ".tmp";
+
     private final String path;
     private final String pathRelativeTo;
     private File baseDir;
@@ -83,6 +116,152 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
     }
 
 
+    @Override
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+        long start = System.nanoTime();
+        File file = new File(baseDir, deploymentName);
+        // Write to a temporary file, so that a failure never leaves a truncated file behind
+        File tempFile = new File(baseDir, deploymentName + TEMP_SUFFIX);
+        try {
+            Marshaller marshaller = createMarshaller();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile, false)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                // Reused by all attributes
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                for (Map.Entry<String, PersistentSession> sessionEntry : sessionData.entrySet()) {
+                    PersistentSession session = sessionEntry.getValue();
+                    out.writeBoolean(true);
+                    writeString(out, sessionEntry.getKey());
+                    out.writeLong(session.getExpiration().getTime());
+                    for (Map.Entry<String, Object> sessionAttribute : session.getSessionData().entrySet()) {
+                        bytes.reset();
+                        try {
+                            marshaller.start(new OutputStreamByteOutput(bytes));
+                            marshaller.writeObject(sessionAttribute.getValue());
+                            marshaller.finish();
+                        } catch (Exception e) {
+                            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionEntry.getKey(), e);
+                            continue;
+                        }
+                        out.writeBoolean(true);
+                        writeString(out, sessionAttribute.getKey());
+                        out.writeInt(bytes.size());
+                        bytes.writeTo(out);
+                    }
+                    out.writeBoolean(false);
+                }
+                out.writeBoolean(false);
+            } finally {
+                marshaller.close();
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            UndertowLogger.ROOT_LOGGER.debugf("Persisted %d sessions of %s in %d ms", sessionData.size(), deploymentName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            tempFile.delete();
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        }
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
+        long start = System.nanoTime();
+        File file = new File(baseDir, deploymentName);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            Map<String, PersistentSession> result;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Byte.BYTES);
+                while (header.hasRemaining()) {
+                    if (channel.read(header) < 0) {
+                        break;
+                    }
+                }
+                header.flip();
+                if ((header.remaining() < header.capacity()) || (header.getInt() != MAGIC) || (header.get() != VERSION)) {
+                    result = null;
+                } else {
+                    // Sessions are streamed from the remainder of the file, so its size is not limited by the size of a buffer
+                    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))) {
+                        result = readSessions(in);
+                    }
+                }
+            }
+            if (result == null) {
+                // Written by a previous release
+                return super.loadSessionAttributes(deploymentName, classLoader);
+            }
+            UndertowLogger.ROOT_LOGGER.debugf("Loaded %d sessions of %s in %d ms", result.size(), deploymentName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        }
+        return null;
+    }
+
+    private Map<String, PersistentSession> readSessions(DataInputStream in) throws IOException, ClassNotFoundException {
+        long time = System.currentTimeMillis();
+        Map<String, PersistentSession> result = new HashMap<>();
+        // Reused by all attributes
+        byte[] bytes = new byte[0];
+        Unmarshaller unmarshaller = createUnmarshaller();
+        try {
+            while (in.readBoolean()) {
+                String id = readString(in);
+                long expiry = in.readLong();
+                boolean expired = expiry <= time;
+                Map<String, Object> session = expired ? null : new HashMap<>();
+                while (in.readBoolean()) {
+                    String name = readString(in);
+                    int length = in.readInt();
+                    if (expired) {
+                        // Attributes of expired sessions are skipped without being unmarshalled
+                        skipFully(in, length);
+                    } else {
+                        if (bytes.length < length) {
+                            bytes = new byte[length];
+                        }
+                        in.readFully(bytes, 0, length);
+                        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(bytes, 0, length)));
+                        session.put(name, unmarshaller.readObject());
+                        unmarshaller.finish();
+                    }
+                }
+                if (!expired) {
+                    result.put(id, new PersistentSession(new Date(expiry), session));
+                }
+            }
+        } finally {
+            unmarshaller.close();
+        }
+        return result;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipFully(DataInputStream in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
         File file = new File(baseDir, deploymentName);
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.extension.undertow.deployment.RequestMetrics;
+
+/**
+ * Request metrics of a deployment, or of a servlet of a deployment.
+ */
+enum RequestStat {
+    ACTIVE_REQUESTS(new SimpleAttributeDefinitionBuilder("active-requests", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build(), RequestMetrics::getActiveRequestCount),
+    ERROR_COUNT(new SimpleAttributeDefinitionBuilder("error-count", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build(), RequestMetrics::getErrorCount),
+    REQUEST_TIME_P50(new SimpleAttributeDefinitionBuilder("request-time-p50", ModelType.LONG).setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build(), metrics -> metrics.getRequestTimePercentile(0.5)),
+    REQUEST_TIME_P95(new SimpleAttributeDefinitionBuilder("request-time-p95", ModelType.LONG).setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build(), metrics -> metrics.getRequestTimePercentile(0.95)),
+    REQUEST_TIME_P99(new SimpleAttributeDefinitionBuilder("request-time-p99", ModelType.LONG).setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build(), metrics -> metrics.getRequestTimePercentile(0.99));
+
+    private static final Map<String, RequestStat> MAP = new HashMap<>();
+
+    static {
+        for (RequestStat stat : EnumSet.allOf(RequestStat.class)) {
+            MAP.put(stat.toString(), stat);
+        }
+    }
+
+    final AttributeDefinition definition;
+    private final ToLongFunction<RequestMetrics> value;
+
+    RequestStat(final AttributeDefinition definition, final ToLongFunction<RequestMetrics> value) {
+        this.definition = definition;
+        this.value = value;
+    }
+
+    long getValue(RequestMetrics metrics) {
+        return this.value.applyAsLong(metrics);
+    }
+
+    @Override
+    public final String toString() {
+        return definition.getName();
+    }
+
+    static RequestStat getStat(final String stringForm) {
+        return MAP.get(stringForm);
+    }
+}
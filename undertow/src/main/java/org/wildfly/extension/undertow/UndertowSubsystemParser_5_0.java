@@ -28,6 +28,7 @@ import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
 import org.jboss.as.controller.PersistentResourceXMLParser;
 import org.jboss.as.controller.operations.common.Util;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitFilter;
 import org.wildfly.extension.undertow.filters.CustomFilterDefinition;
 import org.wildfly.extension.undertow.filters.ErrorPageDefinition;
 import org.wildfly.extension.undertow.filters.ExpressionFilterDefinition;
@@ -130,7 +131,8 @@ public class UndertowSubsystemParser_5_0 extends PersistentResourceXMLParser {
                                                                 AccessLogDefinition.ROTATE,
                                                                 AccessLogDefinition.USE_SERVER_LOG,
                                                                 AccessLogDefinition.EXTENDED,
-                                                                AccessLogDefinition.PREDICATE)
+                                                                AccessLogDefinition.PREDICATE,
+                                                                AccessLogDefinition.MAX_QUEUE_SIZE)
                                         ).addChild(filterRefBuilder())
                                                 .addChild(
                                                     builder(UndertowExtension.PATH_SSO)
@@ -239,7 +241,9 @@ public class UndertowSubsystemParser_5_0 extends PersistentResourceXMLParser {
                                                         FileHandler.DIRECTORY_LISTING,
                                                         FileHandler.FOLLOW_SYMLINK,
                                                         FileHandler.SAFE_SYMLINK_PATHS,
-                                                        FileHandler.CASE_SENSITIVE
+                                                        FileHandler.CASE_SENSITIVE,
+                                                        FileHandler.BUFFER_CACHE,
+                                                        FileHandler.PRE_COMPRESSED
                                                 )
                                 )
                                 .addChild(
@@ -322,6 +326,9 @@ public class UndertowSubsystemParser_5_0 extends PersistentResourceXMLParser {
                         ).addChild(
                                 builder(RewriteFilterDefinition.INSTANCE.getPathElement())
                                         .addAttributes(RewriteFilterDefinition.TARGET, RewriteFilterDefinition.REDIRECT)
+                        ).addChild(
+                                builder(AdaptiveRequestLimitFilter.INSTANCE.getPathElement())
+                                        .addAttributes(AdaptiveRequestLimitFilter.INITIAL_LIMIT, AdaptiveRequestLimitFilter.MIN_LIMIT, AdaptiveRequestLimitFilter.MAX_LIMIT, AdaptiveRequestLimitFilter.LATENCY_TOLERANCE, AdaptiveRequestLimitFilter.PARTITION)
                         )
 
                 )
@@ -37,7 +37,9 @@ import org.jboss.as.controller.transform.description.ResourceTransformationDescr
 import org.jboss.as.controller.transform.description.TransformationDescription;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitFilter;
 import org.wildfly.extension.undertow.filters.ModClusterDefinition;
+import org.wildfly.extension.undertow.handlers.FileHandler;
 import org.wildfly.extension.undertow.handlers.ReverseProxyHandler;
 
 
@@ -73,6 +75,20 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
                 .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE)
                 .end();
 
+        subsystemBuilder
+                .addChildResource(UndertowExtension.SERVER_PATH)
+                .addChildResource(UndertowExtension.HOST_PATH)
+                .addChildResource(UndertowExtension.PATH_ACCESS_LOG)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, AccessLogDefinition.MAX_QUEUE_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, AccessLogDefinition.MAX_QUEUE_SIZE)
+                .end();
+
+        subsystemBuilder.addChildResource(UndertowExtension.PATH_FILTERS)
+                .rejectChildResource(AdaptiveRequestLimitFilter.INSTANCE.getPathElement());
+
+        addFileHandlerRules(subsystemBuilder.addChildResource(UndertowExtension.PATH_HANDLERS));
+
         TransformationDescription.Tools.register(subsystemBuilder.build(), subsystemRegistration, MODEL_VERSION_EAP7_1_0);
     }
 
@@ -134,7 +150,9 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
 
                 .end();
 
-        subsystemBuilder.addChildResource(UndertowExtension.PATH_HANDLERS)
+        final ResourceTransformationDescriptionBuilder handlersBuilder = subsystemBuilder.addChildResource(UndertowExtension.PATH_HANDLERS);
+        addFileHandlerRules(handlersBuilder);
+        handlersBuilder
                 .addChildResource(PathElement.pathElement(Constants.REVERSE_PROXY))
                 .getAttributeBuilder()
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(1L)), Constants.MAX_RETRIES)
@@ -148,7 +166,9 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
                 .setDiscard(DiscardAttributeChecker.ALWAYS, Constants.ENABLE_HTTP2) //we just discard, as older versions will just continue to use HTTP/1.1, and enabling this does not guarentee a HTTP/2 connection anyway (if the backend does not support it)
                 .end();
 
-        subsystemBuilder.addChildResource(UndertowExtension.PATH_FILTERS)
+        final ResourceTransformationDescriptionBuilder filtersBuilder = subsystemBuilder.addChildResource(UndertowExtension.PATH_FILTERS);
+        filtersBuilder.rejectChildResource(AdaptiveRequestLimitFilter.INSTANCE.getPathElement());
+        filtersBuilder
                 .addChildResource(PathElement.pathElement(Constants.MOD_CLUSTER))
                 .getAttributeBuilder()
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(ModClusterDefinition.FAILOVER_STRATEGY.getDefaultValue()), ModClusterDefinition.FAILOVER_STRATEGY)
@@ -162,11 +182,26 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
                 .end();
 
         hostBuilder.rejectChildResource(UndertowExtension.PATH_HTTP_INVOKER);
+        hostBuilder.addChildResource(UndertowExtension.PATH_ACCESS_LOG)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, AccessLogDefinition.MAX_QUEUE_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, AccessLogDefinition.MAX_QUEUE_SIZE)
+                .end();
         subsystemBuilder.rejectChildResource(UndertowExtension.PATH_APPLICATION_SECURITY_DOMAIN);
 
         TransformationDescription.Tools.register(subsystemBuilder.build(), subsystemRegistration, MODEL_VERSION_EAP7_0_0);
     }
 
+    private static void addFileHandlerRules(ResourceTransformationDescriptionBuilder handlersBuilder) {
+        handlersBuilder.addChildResource(FileHandler.INSTANCE.getPathElement())
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, FileHandler.BUFFER_CACHE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileHandler.BUFFER_CACHE)
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), FileHandler.PRE_COMPRESSED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileHandler.PRE_COMPRESSED)
+                .end();
+    }
+
     private static AttributeTransformationDescriptionBuilder addCommonListenerRules(AttributeTransformationDescriptionBuilder builder) {
         return builder
                 .addRejectCheck(new RejectAttributeChecker.SimpleRejectAttributeChecker(new ModelNode(true)), HttpListenerResourceDefinition.REQUIRE_HOST_HTTP11.getName())
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.deployment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request metrics of a servlet or of a deployment.
+ * Metrics are recorded without locking or allocating, and may be read concurrently.
+ * Request times are recorded in a histogram whose buckets grow exponentially, each power of two being split into {@value #SUB_BUCKETS} linear sub-buckets,
+ * thus reported percentiles overestimate the actual request time by at most 25%.
+ */
+public class RequestMetrics {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder activeRequests = new LongAdder();
+    // Request times, in microseconds
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    void requestStarted() {
+        this.activeRequests.increment();
+    }
+
+    void requestCompleted(long nanos, boolean error) {
+        this.activeRequests.decrement();
+        this.requests.increment();
+        if (error) {
+            this.errors.increment();
+        }
+        this.histogram.incrementAndGet(index(TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * Returns the number of completed requests.
+     * @return a number of requests
+     */
+    public long getRequestCount() {
+        return this.requests.sum();
+    }
+
+    /**
+     * Returns the number of completed requests that failed with an exception or a server error status.
+     * @return a number of requests
+     */
+    public long getErrorCount() {
+        return this.errors.sum();
+    }
+
+    /**
+     * Returns the number of requests currently being processed.
+     * @return a number of requests
+     */
+    public long getActiveRequestCount() {
+        return this.activeRequests.sum();
+    }
+
+    /**
+     * Returns the time, in microseconds, within which the specified fraction of completed requests were processed.
+     * @param fraction a fraction of requests, e.g. 0.99 for the 99th percentile
+     * @return a request time in microseconds, or 0 if no request completed yet
+     */
+    public long getRequestTimePercentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = this.histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+        long target = Math.max((long) Math.ceil(fraction * total), 1L);
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += counts[i];
+            if (count >= target) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            // Small values are recorded exactly
+            return (int) Math.max(value, 0L);
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
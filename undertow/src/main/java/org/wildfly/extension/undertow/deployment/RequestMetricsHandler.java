@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.deployment;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.servlet.handlers.ServletChain;
+import io.undertow.servlet.handlers.ServletRequestContext;
+
+/**
+ * Records the {@link RequestMetrics} of a deployment and of the servlet targeted by each request.
+ * This handler is an inner handler of the deployment, so that the target servlet was already resolved.
+ * The time of asynchronous requests is recorded until the servlet returns.
+ */
+public class RequestMetricsHandler implements HttpHandler {
+
+    private final HttpHandler next;
+    private final UndertowMetricsCollector collector;
+
+    public RequestMetricsHandler(HttpHandler next, UndertowMetricsCollector collector) {
+        this.next = next;
+        this.collector = collector;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        RequestMetrics deploymentMetrics = this.collector.getRequestMetrics();
+        ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+        ServletChain servlet = (context != null) ? context.getCurrentServlet() : null;
+        RequestMetrics servletMetrics = (servlet != null) ? this.collector.getOrCreateRequestMetrics(servlet.getManagedServlet().getServletInfo().getName()) : null;
+        deploymentMetrics.requestStarted();
+        if (servletMetrics != null) {
+            servletMetrics.requestStarted();
+        }
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            this.next.handleRequest(exchange);
+            error = exchange.getStatusCode() >= 500;
+        } finally {
+            long time = System.nanoTime() - start;
+            deploymentMetrics.requestCompleted(time, error);
+            if (servletMetrics != null) {
+                servletMetrics.requestCompleted(time, error);
+            }
+        }
+    }
+}
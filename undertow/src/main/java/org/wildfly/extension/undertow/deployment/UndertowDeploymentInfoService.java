@@ -401,7 +401,9 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             }
             deploymentInfo.setServerName(serverEnvironmentInjectedValue.getValue().getProductConfig().getPrettyVersionString());
             if (undertowService.getValue().isStatisticsEnabled()) {
-                deploymentInfo.setMetricsCollector(new UndertowMetricsCollector());
+                UndertowMetricsCollector metricsCollector = new UndertowMetricsCollector();
+                deploymentInfo.setMetricsCollector(metricsCollector);
+                deploymentInfo.addInnerHandlerChainWrapper(metricsCollector.getRequestMetricsHandlerWrapper());
             }
 
             ControlPoint controlPoint = controlPointInjectedValue.getOptionalValue();
@@ -22,9 +22,10 @@
 
 package org.wildfly.extension.undertow.deployment;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import io.undertow.server.HandlerWrapper;
 import io.undertow.server.handlers.MetricsHandler;
 import io.undertow.servlet.api.MetricsCollector;
 
@@ -32,7 +33,9 @@ import io.undertow.servlet.api.MetricsCollector;
  * @author Tomaz Cerar (c) 2014 Red Hat Inc.
  */
 public class UndertowMetricsCollector implements MetricsCollector {
-    private final Map<String, MetricsHandler> metrics = new HashMap<>();
+    private final Map<String, MetricsHandler> metrics = new ConcurrentHashMap<>();
+    private final Map<String, RequestMetrics> requestMetrics = new ConcurrentHashMap<>();
+    private final RequestMetrics deploymentRequestMetrics = new RequestMetrics();
 
     @Override
     public void registerMetric(String name, MetricsHandler handler) {
@@ -40,9 +43,38 @@ public class UndertowMetricsCollector implements MetricsCollector {
     }
 
     public MetricsHandler.MetricResult getMetrics(String name) {
-        if (metrics.containsKey(name)) {
-            return metrics.get(name).getMetrics();
-        }
-        return null;
+        MetricsHandler handler = metrics.get(name);
+        return (handler != null) ? handler.getMetrics() : null;
+    }
+
+    /**
+     * Returns the request metrics of the specified servlet.
+     * @param name a servlet name
+     * @return the request metrics of the servlet, or null if the servlet did not handle any request yet
+     */
+    public RequestMetrics getRequestMetrics(String name) {
+        return requestMetrics.get(name);
+    }
+
+    /**
+     * Returns the request metrics of the deployment.
+     * @return the request metrics of the deployment
+     */
+    public RequestMetrics getRequestMetrics() {
+        return deploymentRequestMetrics;
+    }
+
+    RequestMetrics getOrCreateRequestMetrics(String name) {
+        // Avoid computeIfAbsent(...) on the request path, which locks even if present
+        RequestMetrics metrics = requestMetrics.get(name);
+        return (metrics != null) ? metrics : requestMetrics.computeIfAbsent(name, key -> new RequestMetrics());
+    }
+
+    /**
+     * Returns a wrapper of the inner handler chain of the deployment that records its request metrics.
+     * @return a handler wrapper
+     */
+    public HandlerWrapper getRequestMetricsHandlerWrapper() {
+        return handler -> new RequestMetricsHandler(handler, this);
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A concurrency limit that adapts to the observed latency of requests, using additive increase and multiplicative decrease.
+ * The minimum latency observed within a window of requests approximates the latency of an unloaded server.
+ * A request whose latency exceeds this minimum by more than the configured tolerance indicates queuing downstream, and multiplicatively decreases the limit.
+ * The limit decreases at most once per backoff window: after a decrease, slow requests are ignored until as many requests complete as the previous limit allowed,
+ * since the requests already in flight still reflect the previous limit.
+ * Otherwise, the limit is increased by one, provided that it was actually constraining, i.e. at least half of it was in use.
+ * The limit is updated without locking, an update that loses a race is skipped.
+ */
+class AdaptiveConcurrencyLimit {
+
+    // The number of requests after which the minimum latency is re-evaluated, so that it follows durable changes in latency
+    static final int LATENCY_WINDOW = 1000;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final AtomicInteger limit;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong minLatency = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong samples = new AtomicLong();
+    // The number of samples before which the limit is not decreased again
+    private final AtomicLong backoffSamples = new AtomicLong();
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = new AtomicInteger(Math.min(Math.max(initialLimit, minLimit), maxLimit));
+    }
+
+    /**
+     * Attempts to begin a request.
+     * @return true, if the request may proceed, false if the limit was reached
+     */
+    boolean tryAcquire() {
+        int current = this.active.get();
+        while (current < this.limit.get()) {
+            if (this.active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = this.active.get();
+        }
+        return false;
+    }
+
+    /**
+     * Completes a request previously acquired via {@link #tryAcquire()}, adjusting the limit according to its latency.
+     * @param latency the latency of the request, in nanoseconds
+     */
+    void release(long latency) {
+        int active = this.active.getAndDecrement();
+        long sample = this.samples.incrementAndGet();
+        long minLatency = this.updateMinLatency(sample, latency);
+        int current = this.limit.get();
+        int next;
+        if (latency > minLatency * this.latencyTolerance) {
+            long backoffSamples = this.backoffSamples.get();
+            // Only the first slow request of a backoff window decreases the limit
+            if ((sample < backoffSamples) || !this.backoffSamples.compareAndSet(backoffSamples, sample + current)) {
+                return;
+            }
+            next = Math.max(this.minLimit, (int) (current * BACKOFF_RATIO));
+        } else if (active * 2 >= current) {
+            next = Math.min(this.maxLimit, current + 1);
+        } else {
+            return;
+        }
+        if (next != current) {
+            this.limit.compareAndSet(current, next);
+        }
+    }
+
+    private long updateMinLatency(long sample, long latency) {
+        if (sample % LATENCY_WINDOW == 0) {
+            this.minLatency.set(latency);
+            return latency;
+        }
+        long current = this.minLatency.get();
+        while (latency < current) {
+            if (this.minLatency.compareAndSet(current, latency)) {
+                return latency;
+            }
+            current = this.minLatency.get();
+        }
+        return current;
+    }
+
+    int getLimit() {
+        return this.limit.get();
+    }
+
+    int getActiveCount() {
+        return this.active.get();
+    }
+}
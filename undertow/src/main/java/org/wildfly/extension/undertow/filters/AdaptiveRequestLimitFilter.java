@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.UndertowService;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * Request limit filter whose concurrency limit adapts to the observed latency of requests, see {@link AdaptiveConcurrencyLimit}.
+ * Unlike the request-limit filter, requests beyond the limit are rejected rather than queued.
+ */
+public class AdaptiveRequestLimitFilter extends Filter {
+
+    public static final AttributeDefinition INITIAL_LIMIT = new SimpleAttributeDefinitionBuilder("initial-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(20))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MIN_LIMIT = new SimpleAttributeDefinitionBuilder("min-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MAX_LIMIT = new SimpleAttributeDefinitionBuilder("max-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1000))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition LATENCY_TOLERANCE = new SimpleAttributeDefinitionBuilder("latency-tolerance", ModelType.DOUBLE)
+            // A tolerance of at most 1 would decrease the limit on almost every request
+            .setValidator(new LatencyToleranceValidator())
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(2.0))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition PARTITION = new SimpleAttributeDefinitionBuilder("partition", ModelType.STRING)
+            .setValidator(new EnumValidator<>(RequestLimitPartition.class, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(RequestLimitPartition.NONE.name()))
+            .setRestartAllServices()
+            .build();
+
+    static final AttributeDefinition ACTIVE_REQUESTS = new SimpleAttributeDefinitionBuilder("active-requests", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition REJECTED_REQUESTS = new SimpleAttributeDefinitionBuilder("rejected-requests", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final AdaptiveRequestLimitFilter INSTANCE = new AdaptiveRequestLimitFilter();
+
+    private AdaptiveRequestLimitFilter() {
+        super("adaptive-request-limit");
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Arrays.asList(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT, LATENCY_TOLERANCE, PARTITION);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(ACTIVE_REQUESTS, ReadStatisticHandler.INSTANCE);
+        resourceRegistration.registerMetric(REJECTED_REQUESTS, ReadStatisticHandler.INSTANCE);
+    }
+
+    @Override
+    public Class<? extends HttpHandler> getHandlerClass() {
+        return AdaptiveRequestLimitHandler.class;
+    }
+
+    @Override
+    FilterService createFilterService(ModelNode model) throws OperationFailedException {
+        int initialLimit = model.get(INITIAL_LIMIT.getName()).asInt();
+        int minLimit = model.get(MIN_LIMIT.getName()).asInt();
+        int maxLimit = model.get(MAX_LIMIT.getName()).asInt();
+        if ((initialLimit < minLimit) || (initialLimit > maxLimit)) {
+            throw new OperationFailedException(UndertowLogger.ROOT_LOGGER.limitOutOfRange(INITIAL_LIMIT.getName(), initialLimit, MIN_LIMIT.getName(), minLimit, MAX_LIMIT.getName(), maxLimit));
+        }
+        return new AdaptiveRequestLimitService(this, model);
+    }
+
+    @Override
+    public HttpHandler createHttpHandler(Predicate predicate, ModelNode model, HttpHandler next) {
+        throw new IllegalStateException(); //should not be used, as the handler is constructed by the filter service
+    }
+
+    @Override
+    protected Class[] getConstructorSignature() {
+        throw new IllegalStateException(); //should not be used, as the handler is constructed by the filter service
+    }
+
+    private static class LatencyToleranceValidator extends ModelTypeValidator {
+
+        LatencyToleranceValidator() {
+            super(ModelType.DOUBLE, true, true);
+        }
+
+        @Override
+        public void validateParameter(String parameterName, ModelNode value) throws OperationFailedException {
+            super.validateParameter(parameterName, value);
+            if (value.isDefined() && value.getType() != ModelType.EXPRESSION && value.asDouble() <= 1.0) {
+                throw new OperationFailedException(UndertowLogger.ROOT_LOGGER.valueNotGreaterThan(parameterName, 1.0, value.asDouble()));
+            }
+        }
+    }
+
+    private static class ReadStatisticHandler implements OperationStepHandler {
+
+        static final ReadStatisticHandler INSTANCE = new ReadStatisticHandler();
+
+        private ReadStatisticHandler() {
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.FILTER.append(context.getCurrentAddressValue()));
+            // The filter service is only started once referenced
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                context.getResult().set(0L);
+                return;
+            }
+            AdaptiveRequestLimitService service = (AdaptiveRequestLimitService) controller.getValue();
+            if (REJECTED_REQUESTS.getName().equals(operation.get(ModelDescriptionConstants.NAME).asString())) {
+                context.getResult().set(service.getRejectedCount());
+            } else {
+                context.getResult().set((long) service.getActiveCount());
+            }
+        }
+    }
+}
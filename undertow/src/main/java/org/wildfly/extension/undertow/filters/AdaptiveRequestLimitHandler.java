@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.StatusCodes;
+
+/**
+ * Handler that rejects requests with a 503 status, once the adaptive concurrency limit of their partition was reached.
+ */
+public class AdaptiveRequestLimitHandler implements HttpHandler {
+
+    private final HttpHandler next;
+    private final AdaptiveRequestLimitService service;
+
+    AdaptiveRequestLimitHandler(HttpHandler next, AdaptiveRequestLimitService service) {
+        this.next = next;
+        this.service = service;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        AdaptiveConcurrencyLimit limit = this.service.getLimit(exchange);
+        if (!limit.tryAcquire()) {
+            this.service.rejected();
+            exchange.setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+            exchange.endExchange();
+            return;
+        }
+        long start = System.nanoTime();
+        // The latency of a request is only known once the exchange completes, which might happen asynchronously
+        exchange.addExchangeCompleteListener((completedExchange, nextListener) -> {
+            try {
+                limit.release(System.nanoTime() - start);
+            } finally {
+                nextListener.proceed();
+            }
+        });
+        this.next.handleRequest(exchange);
+    }
+}
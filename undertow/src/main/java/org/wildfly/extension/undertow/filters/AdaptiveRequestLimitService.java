@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.Handlers;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Filter service of an adaptive request limit, whose limits are shared by all references to the filter.
+ */
+class AdaptiveRequestLimitService extends FilterService {
+
+    // Partition keys are derived from requests, so their number is bounded
+    static final int MAX_PARTITIONS = 100;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final RequestLimitPartition partition;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final AdaptiveConcurrencyLimit defaultLimit;
+    private final LongAdder rejected = new LongAdder();
+
+    AdaptiveRequestLimitService(AdaptiveRequestLimitFilter filter, ModelNode model) {
+        super(filter, model);
+        this.initialLimit = model.get(AdaptiveRequestLimitFilter.INITIAL_LIMIT.getName()).asInt();
+        this.minLimit = model.get(AdaptiveRequestLimitFilter.MIN_LIMIT.getName()).asInt();
+        this.maxLimit = model.get(AdaptiveRequestLimitFilter.MAX_LIMIT.getName()).asInt();
+        this.latencyTolerance = model.get(AdaptiveRequestLimitFilter.LATENCY_TOLERANCE.getName()).asDouble();
+        this.partition = RequestLimitPartition.valueOf(model.get(AdaptiveRequestLimitFilter.PARTITION.getName()).asString());
+        this.defaultLimit = this.createLimit();
+    }
+
+    @Override
+    public HttpHandler createHttpHandler(Predicate predicate, HttpHandler next) {
+        HttpHandler handler = new AdaptiveRequestLimitHandler(next, this);
+        return (predicate != null) ? Handlers.predicate(predicate, handler, next) : handler;
+    }
+
+    AdaptiveConcurrencyLimit getLimit(HttpServerExchange exchange) {
+        if (this.partition == RequestLimitPartition.NONE) {
+            return this.defaultLimit;
+        }
+        String key = this.partition.getKey(exchange);
+        AdaptiveConcurrencyLimit limit = this.limits.get(key);
+        if (limit != null) {
+            return limit;
+        }
+        // Requests of any further partition share the default limit
+        return (this.limits.size() < MAX_PARTITIONS) ? this.limits.computeIfAbsent(key, k -> this.createLimit()) : this.defaultLimit;
+    }
+
+    private AdaptiveConcurrencyLimit createLimit() {
+        return new AdaptiveConcurrencyLimit(this.initialLimit, this.minLimit, this.maxLimit, this.latencyTolerance);
+    }
+
+    void rejected() {
+        this.rejected.increment();
+    }
+
+    long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    int getActiveCount() {
+        int count = this.defaultLimit.getActiveCount();
+        for (AdaptiveConcurrencyLimit limit : this.limits.values()) {
+            count += limit.getActiveCount();
+        }
+        return count;
+    }
+}
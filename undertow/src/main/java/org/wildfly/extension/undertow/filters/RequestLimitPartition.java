@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import io.undertow.server.HttpServerExchange;
+
+/**
+ * Determines the partition of an adaptive request limit to which a request belongs.
+ */
+public enum RequestLimitPartition {
+    /**
+     * All requests share the same limit.
+     */
+    NONE {
+        @Override
+        String getKey(HttpServerExchange exchange) {
+            return "";
+        }
+    },
+    /**
+     * Requests for each host name have their own limit.
+     */
+    HOST {
+        @Override
+        String getKey(HttpServerExchange exchange) {
+            return exchange.getHostName();
+        }
+    },
+    /**
+     * Requests for each path, i.e. the first segment of the relative path of the request, have their own limit.
+     */
+    PATH {
+        @Override
+        String getKey(HttpServerExchange exchange) {
+            String path = exchange.getRelativePath();
+            int index = path.indexOf('/', 1);
+            return (index > 0) ? path.substring(0, index) : path;
+        }
+    },
+    ;
+
+    abstract String getKey(HttpServerExchange exchange);
+}
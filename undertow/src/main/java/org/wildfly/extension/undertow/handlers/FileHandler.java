@@ -22,16 +22,23 @@
 
 package org.wildfly.extension.undertow.handlers;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.resource.CachingResourceManager;
 import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.PreCompressedResourceSupplier;
 import io.undertow.server.handlers.resource.ResourceHandler;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.server.handlers.resource.ResourceSupplier;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -40,8 +47,14 @@ import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.msc.value.Value;
+import org.wildfly.extension.undertow.BufferCacheService;
 import org.wildfly.extension.undertow.Constants;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.xnio.IoUtils;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
@@ -95,17 +108,79 @@ public class FileHandler extends Handler {
             .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
             .build();
 
+    public static final AttributeDefinition BUFFER_CACHE = new SimpleAttributeDefinitionBuilder(Constants.BUFFER_CACHE, ModelType.STRING)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .build();
+
+    public static final AttributeDefinition PRE_COMPRESSED = new SimpleAttributeDefinitionBuilder("pre-compressed", ModelType.BOOLEAN)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .build();
+
+    // Same defaults as the file cache of a servlet container serving an exploded deployment, as files may change on disk
+    private static final int CACHE_METADATA_SIZE = 100;
+    private static final long CACHE_MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final int CACHE_TIME_TO_LIVE = 2000;
+
     private FileHandler() {
         super(Constants.FILE);
     }
 
     @Override
     public Collection<AttributeDefinition> getAttributes() {
-        return Arrays.asList(PATH, CACHE_BUFFER_SIZE, CACHE_BUFFERS, DIRECTORY_LISTING, FOLLOW_SYMLINK, CASE_SENSITIVE, SAFE_SYMLINK_PATHS);
+        return Arrays.asList(PATH, CACHE_BUFFER_SIZE, CACHE_BUFFERS, DIRECTORY_LISTING, FOLLOW_SYMLINK, CASE_SENSITIVE, SAFE_SYMLINK_PATHS, BUFFER_CACHE, PRE_COMPRESSED);
     }
 
     @Override
     public HttpHandler createHandler(final OperationContext context, ModelNode model) throws OperationFailedException {
+        final boolean directoryListing = DIRECTORY_LISTING.resolveModelAttribute(context, model).asBoolean();
+        final boolean preCompressed = PRE_COMPRESSED.resolveModelAttribute(context, model).asBoolean();
+        return createHandler(createResourceManagerFactory(context, model).get(), directoryListing, preCompressed);
+    }
+
+    @Override
+    HandlerService createService(final OperationContext context, ModelNode model) throws OperationFailedException {
+        final ModelNode bufferCache = BUFFER_CACHE.resolveModelAttribute(context, model);
+        if (!bufferCache.isDefined()) {
+            return super.createService(context, model);
+        }
+        final boolean directoryListing = DIRECTORY_LISTING.resolveModelAttribute(context, model).asBoolean();
+        final boolean preCompressed = PRE_COMPRESSED.resolveModelAttribute(context, model).asBoolean();
+        final InjectedValue<DirectBufferCache> cache = new InjectedValue<>();
+        // The content of files, including pre-compressed variants, is cached in the buffer cache, once it is available
+        final CachingHandlerFactory factory = new CachingHandlerFactory(createResourceManagerFactory(context, model), cache, directoryListing, preCompressed);
+        return new HandlerService(factory, context.getCurrentAddressValue()) {
+            @Override
+            void addDependencies(ServiceBuilder<HttpHandler> builder) {
+                builder.addDependency(BufferCacheService.SERVICE_NAME.append(bufferCache.asString()), DirectBufferCache.class, cache);
+            }
+
+            @Override
+            public void stop(StopContext stopContext) {
+                super.stop(stopContext);
+                IoUtils.safeClose(factory);
+            }
+        };
+    }
+
+    private static HttpHandler createHandler(ResourceManager resourceManager, boolean directoryListing, boolean preCompressed) {
+        ResourceHandler handler = preCompressed ? new ResourceHandler(createPreCompressedResourceSupplier(resourceManager)) : new ResourceHandler(resourceManager);
+        handler.setDirectoryListingEnabled(directoryListing);
+        return handler;
+    }
+
+    /**
+     * Creates a resource supplier that serves a gzip compressed sibling of a file, e.g. style.css.gz, instead of the file itself to clients accepting it.
+     */
+    static ResourceSupplier createPreCompressedResourceSupplier(ResourceManager resourceManager) {
+        return new PreCompressedResourceSupplier(resourceManager).addEncoding("gzip", ".gz");
+    }
+
+    private static Supplier<ResourceManager> createResourceManagerFactory(final OperationContext context, ModelNode model) throws OperationFailedException {
         final String path = PATH.resolveModelAttribute(context, model).asString();
         final boolean directoryListing = DIRECTORY_LISTING.resolveModelAttribute(context, model).asBoolean();
         final boolean followSymlink = FOLLOW_SYMLINK.resolveModelAttribute(context, model).asBoolean();
@@ -122,9 +197,43 @@ public class FileHandler extends Handler {
         } catch (IOException e) {
             throw new OperationFailedException(UndertowLogger.ROOT_LOGGER.unableAddHandlerForPath(path));
         }
-        PathResourceManager resourceManager = new PathResourceManager(base, cacheBufferSize * cacheBuffers, caseSensitive, followSymlink, paths);
-        ResourceHandler handler = new ResourceHandler(resourceManager);
-        handler.setDirectoryListingEnabled(directoryListing);
-        return handler;
+        return () -> new PathResourceManager(base, cacheBufferSize * cacheBuffers, caseSensitive, followSymlink, paths);
+    }
+
+    /**
+     * Creates the handler of a file handler whose content is cached in a buffer cache.
+     * Its resource managers are created whenever the handler service starts, and closed when it stops,
+     * since the caching resource manager registers a change listener with the path resource manager, which then watches the file system.
+     */
+    static class CachingHandlerFactory implements Supplier<HttpHandler>, Closeable {
+        private final Supplier<ResourceManager> resourceManagerFactory;
+        private final Value<DirectBufferCache> cache;
+        private final boolean directoryListing;
+        private final boolean preCompressed;
+        private volatile ResourceManager resourceManager;
+
+        CachingHandlerFactory(Supplier<ResourceManager> resourceManagerFactory, Value<DirectBufferCache> cache, boolean directoryListing, boolean preCompressed) {
+            this.resourceManagerFactory = resourceManagerFactory;
+            this.cache = cache;
+            this.directoryListing = directoryListing;
+            this.preCompressed = preCompressed;
+        }
+
+        @Override
+        public HttpHandler get() {
+            ResourceManager resourceManager = new CachingResourceManager(CACHE_METADATA_SIZE, CACHE_MAX_FILE_SIZE, this.cache.getValue(), this.resourceManagerFactory.get(), CACHE_TIME_TO_LIVE);
+            this.resourceManager = resourceManager;
+            return createHandler(resourceManager, this.directoryListing, this.preCompressed);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ResourceManager resourceManager = this.resourceManager;
+            if (resourceManager != null) {
+                this.resourceManager = null;
+                // Also closes the path resource manager, and with it, its file system watcher
+                resourceManager.close();
+            }
+        }
     }
 }
@@ -80,4 +80,12 @@ abstract class Handler extends PersistentResourceDefinition {
     }
 
     abstract HttpHandler createHandler(final OperationContext context, ModelNode model) throws OperationFailedException;
+
+    /**
+     * Creates the service providing the handler of this resource.
+     * Handlers depending on other services override this to create their handler once the service starts.
+     */
+    HandlerService createService(final OperationContext context, ModelNode model) throws OperationFailedException {
+        return new HandlerService(createHandler(context, model), context.getCurrentAddressValue());
+    }
 }
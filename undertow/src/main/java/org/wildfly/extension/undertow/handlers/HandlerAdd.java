@@ -46,9 +46,7 @@ class HandlerAdd extends AbstractAddStepHandler {
 
     @Override
     protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
-        final String name = context.getCurrentAddressValue();
-
-        final HandlerService service = new HandlerService(handler.createHandler(context, model), name);
+        final HandlerService service = handler.createService(context, model);
 
         CapabilityServiceBuilder<HttpHandler> builder = context.getCapabilityServiceTarget().addCapability(Handler.CAPABILITY, service)
                 .setInitialMode(ServiceController.Mode.ON_DEMAND);
@@ -56,6 +54,7 @@ class HandlerAdd extends AbstractAddStepHandler {
         if (context.hasOptionalCapability(Capabilities.REF_REQUEST_CONTROLLER, newCapability.getName(), null)) {
             builder.addCapabilityRequirement(Capabilities.REF_REQUEST_CONTROLLER, RequestController.class, service.getRequestControllerInjectedValue());
         }
+        service.addDependencies(builder);
 
         builder.install();
     }
@@ -23,9 +23,11 @@
 package org.wildfly.extension.undertow.handlers;
 
 import java.util.Collections;
+import java.util.function.Supplier;
 
 import io.undertow.server.HttpHandler;
 import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
@@ -39,19 +41,35 @@ import org.wildfly.extension.undertow.logging.UndertowLogger;
  * @author Tomaz Cerar (c) 2013 Red Hat Inc.
  */
 public class HandlerService implements Service<HttpHandler> {
-    private final HttpHandler httpHandler;
+    private final Supplier<HttpHandler> handlerFactory;
+    private volatile HttpHandler httpHandler;
     private final InjectedValue<RequestController> requestControllerInjectedValue = new InjectedValue<>();
     private volatile ControlPoint controlPoint;
     private volatile HttpHandler realHandler;
     private final String name;
 
     public HandlerService(HttpHandler httpHandler, final String name) {
-        this.httpHandler = httpHandler;
+        this(() -> httpHandler, name);
+    }
+
+    /**
+     * @param handlerFactory creates the handler when this service starts, i.e. once its dependencies are available
+     */
+    HandlerService(Supplier<HttpHandler> handlerFactory, final String name) {
+        this.handlerFactory = handlerFactory;
         this.name = name;
     }
 
+    /**
+     * Adds the dependencies required by the handler factory of this service.
+     */
+    void addDependencies(ServiceBuilder<HttpHandler> builder) {
+        // No dependencies by default
+    }
+
     @Override
     public void start(StartContext context) throws StartException {
+        httpHandler = handlerFactory.get();
         UndertowLogger.ROOT_LOGGER.tracef("starting handler: %s", httpHandler);
         if(requestControllerInjectedValue.getOptionalValue() != null) {
             controlPoint = requestControllerInjectedValue.getValue().getControlPoint("org.wildfly.extension.undertow.handlers", name);
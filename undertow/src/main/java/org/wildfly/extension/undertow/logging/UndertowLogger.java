@@ -400,4 +400,10 @@ public interface UndertowLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 98, value = "Unexcepted Authentification Errorr: %s")
     void unexceptedAuthentificationError(String errorMessage, @Cause Throwable t);
+
+    @Message(id = 99, value = "%s must be greater than %s, but was %s")
+    String valueNotGreaterThan(String name, double bound, double value);
+
+    @Message(id = 100, value = "The %s (%d) must be between the %s (%d) and the %s (%d)")
+    String limitOutOfRange(String name, int value, String minName, int min, String maxName, int max);
 }
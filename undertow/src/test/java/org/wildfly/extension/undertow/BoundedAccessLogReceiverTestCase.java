@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BoundedAccessLogReceiver}.
+ */
+public class BoundedAccessLogReceiverTestCase {
+
+    private final Queue<Runnable> tasks = new LinkedList<>();
+    private Path directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("access-log");
+    }
+
+    @After
+    public void destroy() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Test
+    public void bounded() throws IOException {
+        BoundedAccessLogReceiver receiver = this.createReceiver(2);
+
+        receiver.logMessage("a");
+        receiver.logMessage("b");
+        // Exceeds the bound
+        receiver.logMessage("c");
+
+        assertEquals(2L, receiver.getQueuedCount());
+        assertEquals(1L, receiver.getDroppedCount());
+        // A single drain task writes all queued entries
+        assertEquals(1, this.tasks.size());
+
+        this.runTasks();
+
+        assertEquals(0L, receiver.getQueuedCount());
+        assertEquals(Arrays.asList("a", "b"), this.readEntries());
+
+        receiver.logMessage("d");
+        receiver.logMessage("e");
+        receiver.logMessage("f");
+
+        assertEquals(2L, receiver.getQueuedCount());
+        assertEquals(2L, receiver.getDroppedCount());
+
+        receiver.close();
+        this.runTasks();
+
+        // Queued entries are written on close
+        assertEquals(0L, receiver.getQueuedCount());
+        assertEquals(Arrays.asList("a", "b", "d", "e"), this.readEntries());
+    }
+
+    @Test
+    public void unbounded() throws IOException {
+        BoundedAccessLogReceiver receiver = this.createReceiver(0);
+
+        for (int i = 0; i < 2500; ++i) {
+            receiver.logMessage(Integer.toString(i));
+        }
+
+        assertEquals(2500L, receiver.getQueuedCount());
+        assertEquals(0L, receiver.getDroppedCount());
+
+        receiver.close();
+        this.runTasks();
+
+        assertEquals(0L, receiver.getQueuedCount());
+        List<String> entries = this.readEntries();
+        assertEquals(2500, entries.size());
+        assertEquals("0", entries.get(0));
+        assertEquals("2499", entries.get(2499));
+    }
+
+    private BoundedAccessLogReceiver createReceiver(int maxQueueSize) {
+        DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder()
+                .setOutputDirectory(this.directory)
+                .setLogBaseName("access.")
+                .setRotate(false);
+        return new BoundedAccessLogReceiver(builder, this.tasks::add, maxQueueSize);
+    }
+
+    private void runTasks() {
+        Runnable task = this.tasks.poll();
+        while (task != null) {
+            task.run();
+            task = this.tasks.poll();
+        }
+    }
+
+    private List<String> readEntries() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            List<Path> logs = files.collect(Collectors.toList());
+            if (logs.isEmpty()) return Collections.emptyList();
+            assertEquals(1, logs.size());
+            return Files.readAllLines(logs.get(0), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import org.jboss.msc.service.StartException;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BufferCacheService}.
+ */
+public class BufferCacheServiceTestCase {
+
+    @Test
+    public void testHitMissCount() throws StartException {
+        BufferCacheService service = new BufferCacheService(1024, 10, 10);
+        assertEquals(0L, service.getHitCount());
+        assertEquals(0L, service.getMissCount());
+
+        service.start(null);
+        DirectBufferCache cache = service.getValue();
+
+        assertNull(cache.get("a"));
+        assertEquals(0L, service.getHitCount());
+        assertEquals(1L, service.getMissCount());
+
+        // An entry whose content is not loaded yet is a miss
+        DirectBufferCache.CacheEntry entry = cache.add("a", 100);
+        assertSame(entry, cache.get("a"));
+        assertEquals(0L, service.getHitCount());
+        assertEquals(2L, service.getMissCount());
+
+        assertTrue(entry.allocate());
+        entry.enable();
+        assertSame(entry, cache.get("a"));
+        assertEquals(1L, service.getHitCount());
+        assertEquals(2L, service.getMissCount());
+    }
+}
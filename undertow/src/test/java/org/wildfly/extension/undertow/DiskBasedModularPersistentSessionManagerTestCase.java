@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DiskBasedModularPersistentSessionManager}.
+ */
+public class DiskBasedModularPersistentSessionManagerTestCase {
+
+    private static final String DEPLOYMENT = "test.war";
+
+    private final PathManager pathManager = mock(PathManager.class);
+    private final DiskBasedModularPersistentSessionManager manager = new DiskBasedModularPersistentSessionManager("sessions", null);
+    private File directory;
+
+    @Before
+    public void init() throws IOException, StartException {
+        this.directory = Files.createTempDirectory("sessions").toFile();
+        when(this.pathManager.resolveRelativePathEntry("sessions", null)).thenReturn(this.directory.getPath());
+        this.manager.getPathManager().inject(this.pathManager);
+        this.manager.getModuleLoaderInjectedValue().inject(mock(ModuleLoader.class));
+        this.manager.start(mock(StartContext.class));
+    }
+
+    @After
+    public void destroy() {
+        this.manager.stop(mock(StopContext.class));
+        for (File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Date expiry = new Date(System.currentTimeMillis() + 60000);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("string", "value");
+        attributes.put("integer", 1);
+        attributes.put("date", expiry);
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        sessions.put("a", new PersistentSession(expiry, attributes));
+        sessions.put("b", new PersistentSession(expiry, Collections.emptyMap()));
+
+        this.manager.persistSessions(DEPLOYMENT, sessions);
+        // a previously persisted file is replaced
+        this.manager.persistSessions(DEPLOYMENT, sessions);
+
+        assertFalse(new File(this.directory, DEPLOYMENT + ".tmp").exists());
+
+        Map<String, PersistentSession> result = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+
+        assertEquals(2, result.size());
+        assertEquals(expiry, result.get("a").getExpiration());
+        assertEquals(attributes, result.get("a").getSessionData());
+        assertEquals(expiry, result.get("b").getExpiration());
+        assertTrue(result.get("b").getSessionData().isEmpty());
+    }
+
+    @Test
+    public void testExpiredSessionsSkipped() {
+        Date expiry = new Date(System.currentTimeMillis() + 60000);
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        sessions.put("expired", new PersistentSession(new Date(System.currentTimeMillis() - 60000), Collections.singletonMap("name", "expired")));
+        sessions.put("valid", new PersistentSession(expiry, Collections.singletonMap("name", "valid")));
+
+        this.manager.persistSessions(DEPLOYMENT, sessions);
+
+        Map<String, PersistentSession> result = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+
+        assertEquals(Collections.singleton("valid"), result.keySet());
+        assertEquals(Collections.singletonMap("name", "valid"), result.get("valid").getSessionData());
+    }
+
+    @Test
+    public void testLegacyFormat() throws IOException {
+        Date expiry = new Date(System.currentTimeMillis() + 60000);
+        // Format written by previous releases
+        Map<String, AbstractPersistentSessionManager.SessionEntry> sessions = new HashMap<>();
+        sessions.put("a", new AbstractPersistentSessionManager.SessionEntry(expiry, Collections.singletonMap("name", this.marshal("value"))));
+        sessions.put("expired", new AbstractPersistentSessionManager.SessionEntry(new Date(System.currentTimeMillis() - 60000), Collections.singletonMap("name", this.marshal("expired"))));
+
+        this.manager.persistSerializedSessions(DEPLOYMENT, sessions);
+
+        Map<String, PersistentSession> result = this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+
+        assertEquals(Collections.singleton("a"), result.keySet());
+        assertEquals(expiry, result.get("a").getExpiration());
+        assertEquals(Collections.singletonMap("name", "value"), result.get("a").getSessionData());
+    }
+
+    @Test
+    public void testMissingFile() {
+        assertNull(this.manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader()));
+    }
+
+    private byte[] marshal(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Marshaller marshaller = this.manager.createMarshaller();
+        try {
+            marshaller.start(new OutputStreamByteOutput(out));
+            marshaller.writeObject(value);
+            marshaller.finish();
+        } finally {
+            marshaller.close();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.deployment;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestMetricsTestCase {
+
+    @Test
+    public void buckets() {
+        int previous = -1;
+        for (long value = 0; value < 100_000; ++value) {
+            int index = RequestMetrics.index(value);
+            // Buckets are contiguous
+            Assert.assertTrue(index == previous || index == previous + 1);
+            long upperBound = RequestMetrics.upperBound(index);
+            Assert.assertTrue(upperBound >= value);
+            Assert.assertTrue(upperBound <= value + (value / 4));
+            previous = index;
+        }
+        Assert.assertEquals(Long.MAX_VALUE, RequestMetrics.upperBound(RequestMetrics.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void metrics() {
+        RequestMetrics metrics = new RequestMetrics();
+        Assert.assertEquals(0L, metrics.getRequestTimePercentile(0.5));
+
+        for (int i = 1; i <= 100; ++i) {
+            metrics.requestStarted();
+            metrics.requestCompleted(TimeUnit.MILLISECONDS.toNanos(i), i > 95);
+        }
+        metrics.requestStarted();
+
+        Assert.assertEquals(100L, metrics.getRequestCount());
+        Assert.assertEquals(5L, metrics.getErrorCount());
+        Assert.assertEquals(1L, metrics.getActiveRequestCount());
+
+        long median = metrics.getRequestTimePercentile(0.5);
+        Assert.assertTrue(Long.toString(median), median >= 50_000L && median <= 62_500L);
+        long p99 = metrics.getRequestTimePercentile(0.99);
+        Assert.assertTrue(Long.toString(p99), p99 >= 99_000L && p99 <= 123_750L);
+        Assert.assertTrue(metrics.getRequestTimePercentile(1) >= 100_000L);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimitTestCase {
+
+    @Test
+    public void acquire() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0);
+        Assert.assertTrue(limit.tryAcquire());
+        Assert.assertTrue(limit.tryAcquire());
+        Assert.assertFalse(limit.tryAcquire());
+        Assert.assertEquals(2, limit.getActiveCount());
+
+        limit.release(100);
+        Assert.assertEquals(1, limit.getActiveCount());
+        Assert.assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void increase() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 3, 2.0);
+        for (int i = 0; i < 2; ++i) {
+            Assert.assertTrue(limit.tryAcquire());
+        }
+        // Limit was fully used, and latency is within tolerance
+        limit.release(100);
+        Assert.assertEquals(3, limit.getLimit());
+        limit.release(100);
+        // Limit does not exceed its maximum
+        Assert.assertEquals(3, limit.getLimit());
+
+        // Limit is not increased if it was not constraining
+        limit = new AdaptiveConcurrencyLimit(10, 1, 20, 2.0);
+        Assert.assertTrue(limit.tryAcquire());
+        limit.release(100);
+        Assert.assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void decrease() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 8, 20, 2.0);
+        Assert.assertTrue(limit.tryAcquire());
+        limit.release(100);
+        Assert.assertEquals(10, limit.getLimit());
+
+        // Latency within tolerance of the minimum latency
+        Assert.assertTrue(limit.tryAcquire());
+        limit.release(200);
+        Assert.assertEquals(10, limit.getLimit());
+
+        Assert.assertTrue(limit.tryAcquire());
+        limit.release(201);
+        Assert.assertEquals(9, limit.getLimit());
+
+        // The limit decreases at most once per backoff window, i.e. while as many requests complete as the previous limit allowed
+        for (int i = 1; i < 10; ++i) {
+            Assert.assertTrue(limit.tryAcquire());
+            limit.release(1000);
+            Assert.assertEquals(9, limit.getLimit());
+        }
+
+        Assert.assertTrue(limit.tryAcquire());
+        limit.release(1000);
+        Assert.assertEquals(8, limit.getLimit());
+
+        // Limit does not drop below its minimum
+        for (int i = 0; i < 10; ++i) {
+            Assert.assertTrue(limit.tryAcquire());
+            limit.release(1000);
+            Assert.assertEquals(8, limit.getLimit());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.resource.PathResourceManager;
+import io.undertow.server.handlers.resource.ResourceHandler;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.server.handlers.resource.ResourceSupplier;
+import io.undertow.util.Headers;
+import org.jboss.msc.value.ImmediateValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link FileHandler}.
+ */
+public class FileHandlerTestCase {
+
+    private Path directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("files");
+        Files.write(this.directory.resolve("style.css"), "body {}".getBytes(StandardCharsets.UTF_8));
+        Files.write(this.directory.resolve("style.css.gz"), new byte[] { 0x1f, (byte) 0x8b });
+        Files.write(this.directory.resolve("script.js"), "var x;".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void destroy() {
+        for (File file : this.directory.toFile().listFiles()) {
+            file.delete();
+        }
+        this.directory.toFile().delete();
+    }
+
+    @Test
+    public void testPreCompressed() throws IOException {
+        try (ResourceManager manager = new PathResourceManager(this.directory, 1024)) {
+            ResourceSupplier supplier = FileHandler.createPreCompressedResourceSupplier(manager);
+
+            HttpServerExchange exchange = new HttpServerExchange(null);
+            exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, "deflate, gzip");
+            assertNotNull(supplier.getResource(exchange, "/style.css"));
+            assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+
+            // Client does not accept gzip
+            exchange = new HttpServerExchange(null);
+            exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, "deflate");
+            assertNotNull(supplier.getResource(exchange, "/style.css"));
+            assertNull(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+
+            // No pre-compressed variant
+            exchange = new HttpServerExchange(null);
+            exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, "gzip");
+            assertNotNull(supplier.getResource(exchange, "/script.js"));
+            assertNull(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        }
+    }
+
+    @Test
+    public void testCachingHandlerFactory() throws IOException {
+        DirectBufferCache cache = new DirectBufferCache(1024, 10, 10240);
+        try (FileHandler.CachingHandlerFactory factory = new FileHandler.CachingHandlerFactory(() -> new PathResourceManager(this.directory, 1024), new ImmediateValue<>(cache), false, false)) {
+            HttpHandler handler = factory.get();
+            assertTrue(handler instanceof ResourceHandler);
+            assertNotNull(((ResourceHandler) handler).getResourceManager().getResource("/style.css"));
+            // Closes the resource managers of a stopped service
+            factory.close();
+            factory.close();
+            // A restarted service creates new resource managers
+            handler = factory.get();
+            assertNotNull(((ResourceHandler) handler).getResourceManager().getResource("/script.js"));
+        }
+    }
+}